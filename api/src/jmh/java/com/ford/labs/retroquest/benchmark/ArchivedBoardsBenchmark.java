@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.board.Board;
+import com.ford.labs.retroquest.board.BoardExportFormat;
+import com.ford.labs.retroquest.board.BoardExportService;
+import com.ford.labs.retroquest.board.BoardRepository;
+import com.ford.labs.retroquest.board.BoardService;
+import com.ford.labs.retroquest.board.BoardSummary;
+import com.ford.labs.retroquest.column.ColumnService;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchivedBoardsBenchmark {
+
+    private static final int BOARDS = 500;
+    private static final int THOUGHTS_PER_BOARD = 100;
+    private static final int BOARDS_PER_TRANSACTION = 50;
+    private static final int PAGE_SIZE = 30;
+
+    private ConfigurableApplicationContext context;
+    private BoardService boardService;
+    private BoardExportService boardExportService;
+    private String teamId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        boardService = context.getBean(BoardService.class);
+        boardExportService = context.getBean(BoardExportService.class);
+
+        teamId = BenchmarkApplication.createTeam(context, "Benchmark Archive").getUri();
+        var columnId = context.getBean(ColumnService.class).getColumns(teamId).get(0).getId();
+        var boardRepository = context.getBean(BoardRepository.class);
+        var thoughtRepository = context.getBean(ThoughtRepository.class);
+        var transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int i = 0; i < BOARDS; i += BOARDS_PER_TRANSACTION) {
+            var firstBoard = i;
+            transactionTemplate.executeWithoutResult(status -> {
+                var boards = boardRepository.saveAll(IntStream.range(firstBoard, firstBoard + BOARDS_PER_TRANSACTION)
+                    .mapToObj(day -> Board.builder().teamId(teamId).dateCreated(LocalDate.now().minusDays(day)).build())
+                    .toList());
+                for (var board : boards) {
+                    thoughtRepository.saveAll(BenchmarkApplication.thoughts(teamId, columnId, board.getId(), THOUGHTS_PER_BOARD));
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BoardSummary> getPaginatedBoardListByDate() {
+        return boardService.getPaginatedBoardList(teamId, 0, PAGE_SIZE, "dateCreated", "DESC");
+    }
+
+    @Benchmark
+    public List<BoardSummary> getPaginatedBoardListByThoughtCount() {
+        return boardService.getPaginatedBoardList(teamId, 0, PAGE_SIZE, "thoughtCount", "DESC");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void exportCsv(ExportedBytes exportedBytes) throws IOException {
+        export(BoardExportFormat.CSV, exportedBytes);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void exportNdjson(ExportedBytes exportedBytes) throws IOException {
+        export(BoardExportFormat.NDJSON, exportedBytes);
+    }
+
+    private void export(BoardExportFormat format, ExportedBytes exportedBytes) throws IOException {
+        var out = new CountingOutputStream();
+        boardExportService.exportBoards(teamId, format, 0L, 0L, out);
+        exportedBytes.gzippedMegabytes += out.count / 1_000_000.0;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ExportedBytes {
+
+        public double gzippedMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gzippedMegabytes = 0;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.MainApplication;
+import com.ford.labs.retroquest.team.CreateTeamRequest;
+import com.ford.labs.retroquest.team.Team;
+import com.ford.labs.retroquest.team.TeamService;
+import com.ford.labs.retroquest.thought.Thought;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+final class BenchmarkApplication {
+
+    static final String PASSWORD = "Benchmark1";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(MainApplication.class)
+            .profiles("local")
+            .properties(Stream.concat(
+                Stream.of(
+                    "server.port=0",
+                    "spring.main.banner-mode=off",
+                    "logging.level.root=warn",
+                    "retroquest.security.login-rate-limit.enabled=false"
+                ),
+                Stream.of(properties)
+            ).toArray(String[]::new))
+            .run();
+    }
+
+    static Team createTeam(ConfigurableApplicationContext context, String name) {
+        return context.getBean(TeamService.class).createNewTeam(CreateTeamRequest.builder()
+            .name(name)
+            .password(PASSWORD)
+            .email("benchmark@example.com")
+            .build());
+    }
+
+    static List<Thought> thoughts(String teamId, Long columnId, Long boardId, int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> Thought.builder()
+                .message("Thought " + i)
+                .hearts(i % 7)
+                .discussed(i % 2 == 0)
+                .teamId(teamId)
+                .columnId(columnId)
+                .boardId(boardId)
+                .build())
+            .toList();
+    }
+}
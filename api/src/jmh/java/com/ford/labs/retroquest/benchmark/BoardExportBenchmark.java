@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.board.Board;
+import com.ford.labs.retroquest.board.Retro;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.team.CsvFile;
+import com.ford.labs.retroquest.thought.Thought;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardExportBenchmark {
+
+    private static final String TEAM_ID = "benchmark-team";
+
+    @Param({"50", "1000"})
+    private int thoughtCount;
+
+    private List<Column> columns;
+    private List<Thought> thoughts;
+    private List<ActionItem> actionItems;
+    private Board board;
+
+    @Setup
+    public void createBoard() {
+        columns = List.of(
+            new Column(3L, "unhappy", "Sad", TEAM_ID),
+            new Column(1L, "happy", "Happy", TEAM_ID),
+            new Column(2L, "confused", "Confused", TEAM_ID)
+        );
+        thoughts = LongStream.range(0, thoughtCount)
+            .mapToObj(id -> Thought.builder()
+                .id(id)
+                .message("Thought number " + id + ", with \"quotes\" and commas")
+                .hearts((int) (id % 7))
+                .discussed(id % 2 == 0)
+                .teamId(TEAM_ID)
+                .columnId(id % 3 + 1)
+                .build())
+            .toList();
+        actionItems = LongStream.range(0, Math.max(1, thoughtCount / 10))
+            .mapToObj(id -> ActionItem.builder()
+                .id(id)
+                .task("Action item " + id)
+                .completed(id % 2 == 0)
+                .teamId(TEAM_ID)
+                .assignee(id % 3 == 0 ? null : "Assignee " + id)
+                .dateCreated(new Date())
+                .build())
+            .toList();
+        board = Board.builder()
+            .id(1L)
+            .teamId(TEAM_ID)
+            .dateCreated(LocalDate.now())
+            .thoughts(thoughts)
+            .build();
+    }
+
+    @Benchmark
+    public String csvFileGetCsvString() throws IOException {
+        return new CsvFile("Benchmark Team", thoughts.stream(), actionItems.stream(), columns).getCsvString();
+    }
+
+    @Benchmark
+    public Retro retroFrom() {
+        return Retro.from(board, columns);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.column.ColumnService;
+import com.ford.labs.retroquest.thought.CreateThoughtRequest;
+import com.ford.labs.retroquest.thought.HeartCounter;
+import com.ford.labs.retroquest.thought.ThoughtHearts;
+import com.ford.labs.retroquest.thought.ThoughtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class HeartsBenchmark {
+
+    private static final int HOT_THOUGHTS = 4;
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    private ConfigurableApplicationContext context;
+    private ThoughtService thoughtService;
+    private HeartCounter heartCounter;
+    private String teamId;
+    private Long[] thoughtIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("retroquest.hearts.write-behind.enabled=" + writeBehind);
+        thoughtService = context.getBean(ThoughtService.class);
+        heartCounter = context.getBean(HeartCounter.class);
+
+        var team = BenchmarkApplication.createTeam(context, "Benchmark Hearts");
+        teamId = team.getUri();
+        var columnId = context.getBean(ColumnService.class).getColumns(teamId).get(0).getId();
+        thoughtIds = IntStream.range(0, HOT_THOUGHTS)
+            .mapToObj(i -> thoughtService.createThought(teamId, new CreateThoughtRequest("Hot thought " + i, columnId)).getId())
+            .toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Iteration)
+    public void flushHearts() {
+        heartCounter.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ThoughtHearts likeThought() {
+        return thoughtService.likeThought(teamId, thoughtIds[ThreadLocalRandom.current().nextInt(HOT_THOUGHTS)]);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.security.JwtAuthentication;
+import com.ford.labs.retroquest.security.JwtBuilder;
+import com.ford.labs.retroquest.security.JwtClaimsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SIGNING_SECRET = "BENCHMARKSECRET";
+
+    private String jwt;
+    private JwtClaimsCache claimsCache;
+
+    @Setup
+    public void createToken() {
+        jwt = new JwtBuilder(SIGNING_SECRET).buildJwt("benchmark-team");
+        claimsCache = new JwtClaimsCache(SIGNING_SECRET, 1000, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Object getPrincipalVerifyingEveryToken() {
+        return new JwtAuthentication(jwt, false, SIGNING_SECRET).getPrincipal();
+    }
+
+    @Benchmark
+    public Object getPrincipalWithClaimsCache() {
+        return new JwtAuthentication(jwt, false, claimsCache).getPrincipal();
+    }
+}
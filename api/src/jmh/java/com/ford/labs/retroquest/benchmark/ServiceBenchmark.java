@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.actionitem.ActionItemService;
+import com.ford.labs.retroquest.actionitem.CreateActionItemRequest;
+import com.ford.labs.retroquest.board.BoardService;
+import com.ford.labs.retroquest.board.BoardState;
+import com.ford.labs.retroquest.board.EndRetroResult;
+import com.ford.labs.retroquest.column.ColumnService;
+import com.ford.labs.retroquest.security.LoginRateLimiter;
+import com.ford.labs.retroquest.team.LoginRequest;
+import com.ford.labs.retroquest.team.Team;
+import com.ford.labs.retroquest.team.TeamService;
+import com.ford.labs.retroquest.thought.CreateThoughtRequest;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtHearts;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import com.ford.labs.retroquest.thought.ThoughtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    @Param({"50"})
+    private int thoughtsPerBoard;
+
+    private ConfigurableApplicationContext context;
+    private BoardService boardService;
+    private ColumnService columnService;
+    private ThoughtService thoughtService;
+    private ActionItemService actionItemService;
+    private TeamService teamService;
+    private LoginRateLimiter loginRateLimiter;
+    private ThoughtRepository thoughtRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    private Team readTeam;
+    private Team writeTeam;
+    private Team retroTeam;
+    private Team insertTeam;
+    private Long likedThoughtId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        boardService = context.getBean(BoardService.class);
+        columnService = context.getBean(ColumnService.class);
+        thoughtService = context.getBean(ThoughtService.class);
+        actionItemService = context.getBean(ActionItemService.class);
+        teamService = context.getBean(TeamService.class);
+        loginRateLimiter = context.getBean(LoginRateLimiter.class);
+        thoughtRepository = context.getBean(ThoughtRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        readTeam = BenchmarkApplication.createTeam(context, "Benchmark Reads");
+        writeTeam = BenchmarkApplication.createTeam(context, "Benchmark Writes");
+        retroTeam = BenchmarkApplication.createTeam(context, "Benchmark Retros");
+        insertTeam = BenchmarkApplication.createTeam(context, "Benchmark Inserts");
+
+        var columnId = firstColumnId(readTeam);
+        for (int i = 0; i < thoughtsPerBoard; i++) {
+            thoughtService.createThought(readTeam.getUri(), new CreateThoughtRequest("Thought " + i, columnId));
+        }
+        for (int i = 0; i < thoughtsPerBoard / 5; i++) {
+            actionItemService.createActionItem(readTeam.getUri(), new CreateActionItemRequest("Action " + i, false, "Someone", new Date(), false));
+        }
+        likedThoughtId = thoughtService.createThought(writeTeam.getUri(), new CreateThoughtRequest("Liked", firstColumnId(writeTeam))).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public BoardState getBoardState() {
+        return boardService.getBoardState(readTeam.getUri());
+    }
+
+    @Benchmark
+    public void getBoardWithSeparateCalls(Blackhole blackhole) {
+        var teamId = readTeam.getUri();
+        blackhole.consume(teamService.getTeamByUri(teamId));
+        blackhole.consume(columnService.getColumns(teamId));
+        blackhole.consume(thoughtService.fetchAllActiveThoughts(teamId));
+        blackhole.consume(actionItemService.getActionItems(teamId, Optional.of(false)));
+    }
+
+    @Benchmark
+    public Thought createThought() {
+        return thoughtService.createThought(writeTeam.getUri(), new CreateThoughtRequest("A new thought", firstColumnId(writeTeam)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(INSERT_BATCH_SIZE)
+    public List<Thought> insertThoughts(InsertedThoughts insertedThoughts) {
+        var thoughts = BenchmarkApplication.thoughts(insertTeam.getUri(), insertedThoughts.columnId, null, INSERT_BATCH_SIZE);
+        return transactionTemplate.execute(status -> thoughtRepository.saveAll(thoughts));
+    }
+
+    @Benchmark
+    public ThoughtHearts likeThought() {
+        return thoughtService.likeThought(writeTeam.getUri(), likedThoughtId);
+    }
+
+    @Benchmark
+    public EndRetroResult endRetro(ActiveRetro activeRetro) {
+        return transactionTemplate.execute(status -> boardService.endRetro(retroTeam.getUri()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Team login() {
+        return teamService.login(new LoginRequest(readTeam.getName(), BenchmarkApplication.PASSWORD), loginRateLimiter.checkAllowed(readTeam.getName(), "127.0.0.1"));
+    }
+
+    private Long firstColumnId(Team team) {
+        return columnService.getColumns(team.getUri()).get(0).getId();
+    }
+
+    @State(Scope.Thread)
+    public static class ActiveRetro {
+
+        @Param({"50", "2000"})
+        private int retroThoughts;
+
+        @Setup(Level.Invocation)
+        public void addThoughts(ServiceBenchmark benchmark) {
+            var thoughts = BenchmarkApplication.thoughts(benchmark.retroTeam.getUri(), benchmark.firstColumnId(benchmark.retroTeam), null, retroThoughts);
+            benchmark.transactionTemplate.execute(status -> benchmark.thoughtRepository.saveAll(thoughts));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class InsertedThoughts {
+
+        private Long columnId;
+
+        @Setup(Level.Trial)
+        public void findColumn(ServiceBenchmark benchmark) {
+            columnId = benchmark.firstColumnId(benchmark.insertTeam);
+        }
+
+        @TearDown(Level.Iteration)
+        public void deleteThoughts(ServiceBenchmark benchmark) {
+            benchmark.jdbcTemplate.update("delete from thought where team_id = ?", benchmark.insertTeam.getUri());
+        }
+    }
+}
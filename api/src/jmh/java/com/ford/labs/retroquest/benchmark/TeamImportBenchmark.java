@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.ford.labs.retroquest.column.ColumnService;
+import com.ford.labs.retroquest.team.ImportResult;
+import com.ford.labs.retroquest.team.TeamImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TeamImportBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private TeamImportService teamImportService;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private String teamId;
+    private byte[] csv;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        teamImportService = context.getBean(TeamImportService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        teamId = BenchmarkApplication.createTeam(context, "Benchmark Imports").getUri();
+        var column = context.getBean(ColumnService.class).getColumns(teamId).get(0);
+        csv = IntStream.range(0, ROWS)
+            .mapToObj(i -> i % 10 == 0
+                ? "action item,Imported action " + i + ",,no,Someone"
+                : column.getTitle() + ",Imported thought " + i + "," + i % 7 + ",yes,")
+            .collect(Collectors.joining("\n", "Column,Message,Likes,Completed,Assigned To\n", "\n"))
+            .getBytes(StandardCharsets.UTF_8);
+        ndjson = IntStream.range(0, ROWS)
+            .mapToObj(i -> i % 10 == 0
+                ? "{\"type\":\"actionItem\",\"task\":\"Imported action " + i + "\",\"completed\":false,\"assignee\":\"Someone\"}"
+                : "{\"type\":\"thought\",\"columnId\":" + column.getId() + ",\"message\":\"Imported thought " + i + "\",\"hearts\":" + i % 7 + ",\"discussed\":true}")
+            .collect(Collectors.joining("\n", "", "\n"))
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteImportedRows() {
+        jdbcTemplate.update("delete from thought where team_id = ?", teamId);
+        jdbcTemplate.update("delete from action_item where team_id = ?", teamId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportResult importCsv() {
+        return transactionTemplate.execute(status -> {
+            try {
+                return teamImportService.importCsv(teamId, new ByteArrayInputStream(csv));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public ImportResult importNdjson() {
+        return transactionTemplate.execute(status -> {
+            try {
+                return teamImportService.importNdjson(teamId, new ByteArrayInputStream(ndjson));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.metrics.OperationTimings;
+import com.ford.labs.retroquest.metrics.TeamActivityTracker;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.websocket.ChangeLog;
+import com.ford.labs.retroquest.websocket.WebsocketService;
+import com.ford.labs.retroquest.websocket.events.WebsocketEventType;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebsocketPublishBenchmark {
+
+    @Param({"20", "2000"})
+    private int messageLength;
+
+    private WebsocketService websocketService;
+    private WebsocketThoughtEvent event;
+    private byte[] lastPayload;
+
+    @Setup
+    public void createService() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        websocketService = new WebsocketService(
+            (route, payload) -> lastPayload = payload,
+            objectMapper,
+            new ChangeLog(500, 1000, new SimpleMeterRegistry()),
+            new OperationTimings(15, new SimpleMeterRegistry()),
+            new TeamActivityTracker(100, new SimpleMeterRegistry()),
+            new SimpleMeterRegistry(),
+            false,
+            50
+        );
+        event = new WebsocketThoughtEvent("benchmark-team", WebsocketEventType.UPDATE, Thought.builder()
+            .id(42L)
+            .message("x".repeat(messageLength))
+            .hearts(3)
+            .teamId("benchmark-team")
+            .columnId(7L)
+            .build());
+    }
+
+    @Benchmark
+    public byte[] publishEvent() {
+        websocketService.publishEvent(event);
+        return lastPayload;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.loadtest.RetroQuestClient.Team;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+class BoardSubscribers implements AutoCloseable {
+
+    private static final List<String> TOPICS = List.of("thoughts", "action-items", EventTracker.END_RETRO_TOPIC);
+    private static final int INBOUND_MESSAGE_SIZE_LIMIT = 1024 * 1024;
+
+    private final String websocketUrl;
+    private final EventTracker eventTracker;
+    private final WebSocketStompClient stompClient;
+    private final List<StompSession> sessions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger subscriberIds = new AtomicInteger();
+    private final LongAdder failedConnections = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder receivedFrames = new LongAdder();
+
+    BoardSubscribers(String baseUrl, ObjectMapper objectMapper, EventTracker eventTracker) {
+        this.websocketUrl = baseUrl + "/websocket";
+        this.eventTracker = eventTracker;
+
+        var converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        this.stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        this.stompClient.setMessageConverter(converter);
+        this.stompClient.setInboundMessageSizeLimit(INBOUND_MESSAGE_SIZE_LIMIT);
+    }
+
+    int subscribe(Team team, int subscribers) throws InterruptedException {
+        var connected = 0;
+        for (int i = 0; i < subscribers; i++) {
+            var connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + team.jwt());
+            var subscriberId = subscriberIds.incrementAndGet();
+            try {
+                var session = stompClient.connect(websocketUrl, new WebSocketHttpHeaders(), connectHeaders, new SessionHandler())
+                    .get(30, TimeUnit.SECONDS);
+                TOPICS.forEach(topic -> session.subscribe("/topic/" + team.id() + "/" + topic, new EventHandler(subscriberId, team.id(), topic)));
+                sessions.add(session);
+                connected++;
+            } catch (ExecutionException | TimeoutException e) {
+                failedConnections.increment();
+            }
+        }
+        return connected;
+    }
+
+    int getConnectedSessions() {
+        return (int) sessions.stream().filter(StompSession::isConnected).count();
+    }
+
+    long getFailedConnections() {
+        return failedConnections.sum();
+    }
+
+    long getTransportErrors() {
+        return transportErrors.sum();
+    }
+
+    long getReceivedFrames() {
+        return receivedFrames.sum();
+    }
+
+    @Override
+    public void close() {
+        sessions.stream().filter(StompSession::isConnected).forEach(StompSession::disconnect);
+        stompClient.stop();
+    }
+
+    private class SessionHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+            transportErrors.increment();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            transportErrors.increment();
+        }
+    }
+
+    private class EventHandler implements StompFrameHandler {
+        private final int subscriberId;
+        private final String teamId;
+        private final String topic;
+
+        EventHandler(int subscriberId, String teamId, String topic) {
+            this.subscriberId = subscriberId;
+            this.teamId = teamId;
+            this.topic = topic;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            var receivedAt = System.nanoTime();
+            receivedFrames.increment();
+            var frame = (JsonNode) payload;
+            if (frame.isArray()) {
+                frame.forEach(event -> eventTracker.delivered(subscriberId, teamId, topic, event, receivedAt));
+            } else {
+                eventTracker.delivered(subscriberId, teamId, topic, frame, receivedAt);
+            }
+        }
+    }
+}
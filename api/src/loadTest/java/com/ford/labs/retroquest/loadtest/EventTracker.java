@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class EventTracker {
+
+    static final String END_RETRO_TOPIC = "end-retro";
+
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final LatencyRecorder propagation = new LatencyRecorder();
+    private final LongAdder deliveredEvents = new LongAdder();
+    private final LongAdder untrackedWrites = new LongAdder();
+
+    static String messageKey(String message) {
+        return "message:" + message;
+    }
+
+    static String heartKey(long thoughtId) {
+        return "heart:" + thoughtId;
+    }
+
+    static String updateKey(long thoughtId) {
+        return "put:" + thoughtId;
+    }
+
+    static String endRetroKey() {
+        return END_RETRO_TOPIC;
+    }
+
+    void expect(String teamId, String key, int subscribers) {
+        if (subscribers == 0) {
+            return;
+        }
+        var write = new PendingWrite(System.nanoTime(), subscribers, ConcurrentHashMap.newKeySet());
+        if (pendingWrites.putIfAbsent(teamId + '|' + key, write) != null) {
+            untrackedWrites.increment();
+        }
+    }
+
+    void delivered(int subscriberId, String teamId, String topic, JsonNode event, long receivedAt) {
+        deliveredEvents.increment();
+        if (END_RETRO_TOPIC.equals(topic)) {
+            complete(subscriberId, teamId, endRetroKey(), receivedAt);
+            return;
+        }
+
+        var payload = event.path("payload");
+        var thoughtId = payload.path("id").asLong();
+        complete(subscriberId, teamId, heartKey(thoughtId), receivedAt);
+        if ("put".equals(event.path("type").asText())) {
+            complete(subscriberId, teamId, updateKey(thoughtId), receivedAt);
+            complete(subscriberId, teamId, messageKey(payload.path("message").asText()), receivedAt);
+        }
+    }
+
+    LatencyRecorder.Summary getPropagation() {
+        return propagation.summarize();
+    }
+
+    long getDeliveredEvents() {
+        return deliveredEvents.sum();
+    }
+
+    long getUntrackedWrites() {
+        return untrackedWrites.sum();
+    }
+
+    long getMissedDeliveries() {
+        return pendingWrites.values().stream().mapToLong(write -> write.subscribers() - write.deliveredTo().size()).sum();
+    }
+
+    private void complete(int subscriberId, String teamId, String key, long receivedAt) {
+        var pendingKey = teamId + '|' + key;
+        var write = pendingWrites.get(pendingKey);
+        if (write == null || !write.deliveredTo().add(subscriberId)) {
+            return;
+        }
+        propagation.record(receivedAt - write.sentAt());
+        if (write.deliveredTo().size() >= write.subscribers()) {
+            pendingWrites.remove(pendingKey, write);
+        }
+    }
+
+    private record PendingWrite(long sentAt, int subscribers, Set<Integer> deliveredTo) {
+    }
+}
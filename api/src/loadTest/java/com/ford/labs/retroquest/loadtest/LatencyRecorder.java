@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class LatencyRecorder {
+
+    static final int TRANSPORT_FAILURE = 0;
+
+    private final Map<Integer, Long> statusCounts = new TreeMap<>();
+    private long[] samples = new long[1024];
+    private int count;
+
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    synchronized void record(long nanos, int status) {
+        record(nanos);
+        statusCounts.merge(status, 1L, Long::sum);
+    }
+
+    synchronized void failed() {
+        statusCounts.merge(TRANSPORT_FAILURE, 1L, Long::sum);
+    }
+
+    synchronized Summary summarize() {
+        var sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(
+            count,
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.99),
+            sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]),
+            new TreeMap<>(statusCounts)
+        );
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return toMillis(sorted[(int) Math.ceil(percentile * sorted.length) - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Summary(int count, double p50Millis, double p99Millis, double maxMillis, Map<Integer, Long> statusCounts) {
+        long errors() {
+            return statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() == TRANSPORT_FAILURE || entry.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        }
+    }
+}
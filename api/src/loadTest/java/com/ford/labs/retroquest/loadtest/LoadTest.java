@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.loadtest.RetroQuestClient.Team;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+public final class LoadTest {
+
+    private static final String PASSWORD = "LoadTest1";
+    private static final String WRONG_PASSWORD = "NotThePassword1";
+    private static final int HEART_STORM_THOUGHTS = 3;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.parse(args);
+        var objectMapper = new ObjectMapper();
+        var client = new RetroQuestClient(config.baseUrl(), objectMapper);
+
+        var teams = createTeams(config, client);
+        if (teams.isEmpty()) {
+            throw new IllegalStateException("Could not create any teams on " + config.baseUrl());
+        }
+        System.out.printf("Created %d teams on %s, running the %s scenario for %ds%n",
+            teams.size(), config.baseUrl(), config.scenario(), config.duration().toSeconds());
+
+        switch (config.scenario()) {
+            case "board" -> runBoardScenario(config, client, objectMapper, teams, LoadTest::driveTeam);
+            case "hearts" -> runBoardScenario(config, client, objectMapper, teams, LoadTest::driveHearts);
+            case "logins" -> runLoginScenario(config, client, teams, "login", PASSWORD);
+            case "bad-logins" -> runLoginScenario(config, client, teams, "bad-login", WRONG_PASSWORD);
+            case "capacity" -> runCapacityScenario(config, client, teams);
+            default -> throw new IllegalArgumentException("Unknown scenario " + config.scenario() + ", expected board, hearts, logins, bad-logins or capacity");
+        }
+    }
+
+    private static List<Team> createTeams(LoadTestConfig config, RetroQuestClient client) {
+        var runId = Long.toString(System.currentTimeMillis(), 36);
+        var teams = new ArrayList<Team>();
+        for (int i = 0; i < config.teams(); i++) {
+            client.createTeam("Load Test " + runId + " " + i, PASSWORD).ifPresent(teams::add);
+        }
+        return teams;
+    }
+
+    private static void runBoardScenario(
+        LoadTestConfig config,
+        RetroQuestClient client,
+        ObjectMapper objectMapper,
+        List<Team> teams,
+        TeamDriver driver
+    ) throws Exception {
+        var eventTracker = new EventTracker();
+        try (var subscribers = new BoardSubscribers(config.baseUrl(), objectMapper, eventTracker)) {
+            var subscriberCounts = new HashMap<String, Integer>();
+            for (var team : teams) {
+                subscriberCounts.put(team.id(), subscribers.subscribe(team, config.subscribersPerTeam()));
+            }
+            TimeUnit.SECONDS.sleep(1);
+
+            var elapsedNanos = runFor(config.duration(), teams.size(), worker -> {
+                var team = teams.get(worker);
+                return () -> driver.drive(config, client, eventTracker, team, subscriberCounts.get(team.id()));
+            });
+            TimeUnit.MILLISECONDS.sleep(config.drain().toMillis());
+
+            printRestLatencies(client, elapsedNanos);
+            var propagation = eventTracker.getPropagation();
+            System.out.printf("%nEvent propagation (write sent to event delivered, per subscriber)%n");
+            System.out.printf("sessions connected %d of %d, failed connections %d, transport errors %d%n",
+                subscribers.getConnectedSessions(), teams.size() * config.subscribersPerTeam(),
+                subscribers.getFailedConnections(), subscribers.getTransportErrors());
+            System.out.printf("events delivered %d (%.1f/s), tracked deliveries %d, missed deliveries %d, untracked writes %d%n",
+                eventTracker.getDeliveredEvents(), perSecond(eventTracker.getDeliveredEvents(), elapsedNanos),
+                propagation.count(), eventTracker.getMissedDeliveries(), eventTracker.getUntrackedWrites());
+            System.out.printf("frames received %d (%.1f/s), %.2f events per frame%n",
+                subscribers.getReceivedFrames(), perSecond(subscribers.getReceivedFrames(), elapsedNanos),
+                subscribers.getReceivedFrames() == 0 ? 0.0 : (double) eventTracker.getDeliveredEvents() / subscribers.getReceivedFrames());
+            System.out.printf("p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", propagation.p50Millis(), propagation.p99Millis(), propagation.maxMillis());
+        }
+    }
+
+    private static void driveTeam(LoadTestConfig config, RetroQuestClient client, EventTracker eventTracker, Team team, int subscribers) {
+        var random = ThreadLocalRandom.current();
+        var columnIds = client.getColumnIds(team);
+        if (columnIds.isEmpty()) {
+            return;
+        }
+        var thoughtIds = new ArrayList<Long>();
+        var thoughtsCreated = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            var roll = random.nextInt(100);
+            if (thoughtIds.isEmpty() || roll < 40) {
+                var message = "Load test thought " + team.id() + " " + thoughtsCreated++;
+                eventTracker.expect(team.id(), EventTracker.messageKey(message), subscribers);
+                client.createThought(team, message, pick(columnIds)).ifPresent(thoughtIds::add);
+            } else if (roll < 70) {
+                var thoughtId = pick(thoughtIds);
+                eventTracker.expect(team.id(), EventTracker.heartKey(thoughtId), subscribers);
+                client.likeThought(team, thoughtId);
+            } else if (roll < 80) {
+                var thoughtId = pick(thoughtIds);
+                eventTracker.expect(team.id(), EventTracker.updateKey(thoughtId), subscribers);
+                client.moveThought(team, thoughtId, pick(columnIds));
+            } else if (roll < 98) {
+                var thoughtId = pick(thoughtIds);
+                eventTracker.expect(team.id(), EventTracker.updateKey(thoughtId), subscribers);
+                client.discussThought(team, thoughtId, random.nextBoolean());
+            } else {
+                eventTracker.expect(team.id(), EventTracker.endRetroKey(), subscribers);
+                client.endRetro(team);
+                thoughtIds.clear();
+            }
+            LockSupport.parkNanos(config.thinkTime().toNanos());
+        }
+    }
+
+    private static void driveHearts(LoadTestConfig config, RetroQuestClient client, EventTracker eventTracker, Team team, int subscribers) {
+        var columnIds = client.getColumnIds(team);
+        if (columnIds.isEmpty()) {
+            return;
+        }
+        var thoughtIds = new ArrayList<Long>();
+        for (int i = 0; i < HEART_STORM_THOUGHTS; i++) {
+            client.createThought(team, "Heart storm " + team.id() + " " + i, pick(columnIds)).ifPresent(thoughtIds::add);
+        }
+        if (thoughtIds.isEmpty()) {
+            return;
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            var thoughtId = pick(thoughtIds);
+            eventTracker.expect(team.id(), EventTracker.heartKey(thoughtId), subscribers);
+            client.likeThought(team, thoughtId);
+            LockSupport.parkNanos(config.thinkTime().toNanos());
+        }
+    }
+
+    private static void runLoginScenario(LoadTestConfig config, RetroQuestClient client, List<Team> teams, String operation, String password) throws Exception {
+        var threads = config.loginThreads();
+        var intervalNanos = "bad-login".equals(operation) && config.badLoginsPerSecond() > 0
+            ? TimeUnit.SECONDS.toNanos(threads) / config.badLoginsPerSecond()
+            : 0;
+
+        var elapsedNanos = runFor(config.duration(), threads, worker -> () -> {
+            var random = ThreadLocalRandom.current();
+            var nextAttempt = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                client.login(operation, teams.get(random.nextInt(teams.size())).name(), password);
+                if (intervalNanos > 0) {
+                    nextAttempt += intervalNanos;
+                    LockSupport.parkNanos(nextAttempt - System.nanoTime());
+                }
+            }
+        });
+
+        printRestLatencies(client, elapsedNanos);
+    }
+
+    private static void runCapacityScenario(LoadTestConfig config, RetroQuestClient client, List<Team> teams) throws Exception {
+        var heapMax = serverMetric(config, client, "jvm.memory.max", "area:heap");
+        System.out.printf("%nBoard reads per concurrency step, %ds each, server heap max %s%n",
+            config.stepDuration().toSeconds(),
+            heapMax.map(bytes -> String.format("%.0f MB", toMegabytes(bytes))).orElse("unknown (pass --actuator-password to sample the server)"));
+        System.out.printf("%11s %10s %10s %10s %10s %9s %9s %12s %12s%n",
+            "concurrency", "per sec", "p50 ms", "p99 ms", "max ms", "errors", "503s", "max heap MB", "max threads");
+
+        for (var concurrency : config.concurrencySteps()) {
+            var operation = "board-state " + concurrency;
+            var maxHeapUsed = new DoubleAccumulator(Math::max, 0);
+            var maxLiveThreads = new DoubleAccumulator(Math::max, 0);
+            var sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                serverMetric(config, client, "jvm.memory.used", "area:heap").ifPresent(maxHeapUsed::accumulate);
+                serverMetric(config, client, "jvm.threads.live", "").ifPresent(maxLiveThreads::accumulate);
+            }, 0, 1, TimeUnit.SECONDS);
+
+            var elapsedNanos = runFor(config.stepDuration(), concurrency, worker -> {
+                var team = teams.get(worker % teams.size());
+                return () -> {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        client.getBoardState(team, operation);
+                        LockSupport.parkNanos(config.thinkTime().toNanos());
+                    }
+                };
+            });
+            sampler.shutdownNow();
+
+            var summary = client.getLatencies().getOrDefault(operation, new LatencyRecorder()).summarize();
+            System.out.printf("%11d %10.1f %10.1f %10.1f %10.1f %9d %9d %12s %12s%n",
+                concurrency, perSecond(summary.count(), elapsedNanos),
+                summary.p50Millis(), summary.p99Millis(), summary.maxMillis(),
+                summary.errors(), summary.statusCounts().getOrDefault(503, 0L),
+                heapMax.isPresent() ? String.format("%.0f", toMegabytes(maxHeapUsed.get())) : "-",
+                heapMax.isPresent() ? String.format("%.0f", maxLiveThreads.get()) : "-");
+        }
+    }
+
+    private static Optional<Double> serverMetric(LoadTestConfig config, RetroQuestClient client, String name, String tag) {
+        if (config.actuatorPassword().isEmpty()) {
+            return Optional.empty();
+        }
+        return client.getServerMetric(name, tag, config.actuatorUser(), config.actuatorPassword());
+    }
+
+    private static double toMegabytes(double bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    private static long runFor(Duration duration, int workers, WorkerFactory workerFactory) throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(workers);
+        var start = System.nanoTime();
+        var tasks = new ArrayList<Future<?>>();
+        for (int worker = 0; worker < workers; worker++) {
+            tasks.add(executor.submit(workerFactory.create(worker)));
+        }
+        TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        var elapsedNanos = System.nanoTime() - start;
+        for (var task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                System.err.println("A load test worker failed: " + e.getCause());
+            } catch (CancellationException e) {
+                System.err.println("A load test worker did not start before the run ended");
+            }
+        }
+        return elapsedNanos;
+    }
+
+    private static void printRestLatencies(RetroQuestClient client, long elapsedNanos) {
+        System.out.printf("%nREST latency%n");
+        System.out.printf("%-16s %9s %9s %10s %10s %10s %10s  %s%n", "operation", "count", "errors", "per sec", "p50 ms", "p99 ms", "max ms", "statuses");
+        client.getLatencies().forEach((operation, recorder) -> {
+            var summary = recorder.summarize();
+            System.out.printf("%-16s %9d %9d %10.1f %10.1f %10.1f %10.1f  %s%n",
+                operation, summary.count(), summary.errors(), perSecond(summary.count(), elapsedNanos),
+                summary.p50Millis(), summary.p99Millis(), summary.maxMillis(), formatStatuses(summary.statusCounts()));
+        });
+    }
+
+    private static String formatStatuses(Map<Integer, Long> statusCounts) {
+        return statusCounts.entrySet().stream()
+            .map(entry -> (entry.getKey() == LatencyRecorder.TRANSPORT_FAILURE ? "failed" : entry.getKey()) + "=" + entry.getValue())
+            .collect(Collectors.joining(" "));
+    }
+
+    private static double perSecond(long count, long elapsedNanos) {
+        return count / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    private static <T> T pick(List<T> items) {
+        return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+    }
+
+    @FunctionalInterface
+    private interface TeamDriver {
+        void drive(LoadTestConfig config, RetroQuestClient client, EventTracker eventTracker, Team team, int subscribers);
+    }
+
+    @FunctionalInterface
+    private interface WorkerFactory {
+        Runnable create(int worker);
+    }
+}
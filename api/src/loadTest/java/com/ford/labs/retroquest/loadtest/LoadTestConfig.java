@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+record LoadTestConfig(
+    String baseUrl,
+    String scenario,
+    int teams,
+    int subscribersPerTeam,
+    Duration duration,
+    Duration thinkTime,
+    Duration drain,
+    int loginThreads,
+    int badLoginsPerSecond,
+    List<Integer> concurrencySteps,
+    Duration stepDuration,
+    String actuatorUser,
+    String actuatorPassword
+) {
+
+    static LoadTestConfig parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        var config = new LoadTestConfig(
+            take(options, "base-url", "http://localhost:8080"),
+            take(options, "scenario", "board"),
+            Integer.parseInt(take(options, "teams", "10")),
+            Integer.parseInt(take(options, "subscribers", "5")),
+            Duration.ofSeconds(Long.parseLong(take(options, "duration-seconds", "60"))),
+            Duration.ofMillis(Long.parseLong(take(options, "think-time-ms", "100"))),
+            Duration.ofSeconds(Long.parseLong(take(options, "drain-seconds", "5"))),
+            Integer.parseInt(take(options, "login-threads", "32")),
+            Integer.parseInt(take(options, "bad-logins-per-second", "10000")),
+            Arrays.stream(take(options, "concurrency-steps", "50,100,200,400,800").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList(),
+            Duration.ofSeconds(Long.parseLong(take(options, "step-seconds", "30"))),
+            take(options, "actuator-user", "actuator"),
+            take(options, "actuator-password", "")
+        );
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+        return config;
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        var value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+class RetroQuestClient {
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final Map<String, LatencyRecorder> latencies = new ConcurrentSkipListMap<>();
+
+    RetroQuestClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    Optional<Team> createTeam(String name, String password) {
+        var response = send("create-team", post("/api/team", Map.of("name", name, "password", password, "email", "loadtest@example.com")));
+        if (!isSuccessful(response)) {
+            return Optional.empty();
+        }
+        return response.headers().firstValue("Location").map(teamId -> new Team(teamId, name, response.body()));
+    }
+
+    Optional<String> login(String operation, String name, String password) {
+        var response = send(operation, post("/api/team/login", Map.of("name", name, "password", password)));
+        return isSuccessful(response) ? Optional.of(response.body()) : Optional.empty();
+    }
+
+    List<Long> getColumnIds(Team team) {
+        var response = send("get-columns", request(team, "/columns").GET());
+        var columnIds = new ArrayList<Long>();
+        if (isSuccessful(response)) {
+            try {
+                objectMapper.readTree(response.body()).forEach(column -> columnIds.add(column.path("id").asLong()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unexpected columns response: " + response.body(), e);
+            }
+        }
+        return columnIds;
+    }
+
+    Optional<Long> createThought(Team team, String message, long columnId) {
+        var response = send("create-thought", authorized(team, post("/api/team/" + team.id() + "/thought", Map.of("message", message, "columnId", columnId))));
+        if (!isSuccessful(response)) {
+            return Optional.empty();
+        }
+        return response.headers().firstValue("Location")
+            .map(location -> Long.parseLong(location.substring(location.lastIndexOf('/') + 1)));
+    }
+
+    void likeThought(Team team, long thoughtId) {
+        send("heart-thought", request(team, "/thought/" + thoughtId + "/heart").PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    void moveThought(Team team, long thoughtId, long columnId) {
+        send("move-thought", request(team, "/thought/" + thoughtId + "/column-id").PUT(json(Map.of("columnId", columnId))));
+    }
+
+    void discussThought(Team team, long thoughtId, boolean discussed) {
+        send("discuss-thought", request(team, "/thought/" + thoughtId + "/discuss").PUT(json(Map.of("discussed", discussed))));
+    }
+
+    void endRetro(Team team) {
+        send("end-retro", request(team, "/end-retro").PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    void getBoardState(Team team, String operation) {
+        send(operation, request(team, "/board-state").GET());
+    }
+
+    Optional<Double> getServerMetric(String name, String tag, String user, String password) {
+        var credentials = Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name + (tag.isEmpty() ? "" : "?tag=" + tag)))
+            .header("Authorization", "Basic " + credentials)
+            .timeout(Duration.ofSeconds(10))
+            .GET()
+            .build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (!isSuccessful(response)) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asDouble());
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    Map<String, LatencyRecorder> getLatencies() {
+        return latencies;
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest.Builder request) {
+        var recorder = latencies.computeIfAbsent(operation, name -> new LatencyRecorder());
+        var start = System.nanoTime();
+        try {
+            var response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            recorder.failed();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(Team team, String path) {
+        return authorized(team, HttpRequest.newBuilder(URI.create(baseUrl + "/api/team/" + team.id() + path)))
+            .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(json(body));
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static HttpRequest.Builder authorized(Team team, HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + team.jwt());
+    }
+
+    private static boolean isSuccessful(HttpResponse<String> response) {
+        return response != null && response.statusCode() < 400;
+    }
+
+    record Team(String id, String name, String jwt) {
+    }
+}
@@ -18,18 +18,35 @@
 package com.ford.labs.retroquest.actionitem;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ActionItemRepository extends JpaRepository<ActionItem, Long>{
     Optional<ActionItem> findByTeamIdAndId(String teamId, Long actionItemId);
     List<ActionItem> findAllByTeamId(String teamId);
     List<ActionItem> findAllByTeamIdAndArchived(String teamId, boolean archived);
-    List<ActionItem> findAllByTeamIdAndArchivedIsFalseAndCompletedIsTrue(String teamId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<ActionItem> streamAllByTeamIdAndArchived(String teamId, boolean archived);
+
+    List<ActionItem> findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc(String teamId, Long afterActionItemId);
+
+    @Modifying
+    @Query("UPDATE ActionItem item set item.archived = true where item.teamId = :teamId and item.completed = true and item.archived = false")
+    int archiveCompletedActionItems(@Param("teamId") String teamId);
 
     @Transactional
     void deleteActionItemByTeamIdAndId(String teamId, Long id);
@@ -17,6 +17,7 @@
 
 package com.ford.labs.retroquest.actionitem;
 
+import com.ford.labs.retroquest.board.ActiveBoardCache;
 import com.ford.labs.retroquest.exception.ActionItemDoesNotExistException;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketActionItemEvent;
@@ -32,21 +33,25 @@ import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDAT
 public class ActionItemService {
     private final ActionItemRepository actionItemRepository;
     private final WebsocketService websocketService;
+    private final ActiveBoardCache activeBoardCache;
 
-    public ActionItemService(ActionItemRepository actionItemRepository, WebsocketService websocketService) {
+    public ActionItemService(ActionItemRepository actionItemRepository, WebsocketService websocketService, ActiveBoardCache activeBoardCache) {
         this.actionItemRepository = actionItemRepository;
         this.websocketService = websocketService;
+        this.activeBoardCache = activeBoardCache;
     }
 
     public ActionItem createActionItem(String teamId, CreateActionItemRequest request) {
         var actionItem = request.toActionItem();
         actionItem.setTeamId(teamId);
         var savedActionItem = actionItemRepository.save(actionItem);
+        activeBoardCache.actionItemSaved(savedActionItem);
         websocketService.publishEvent(new WebsocketActionItemEvent(teamId, UPDATE, savedActionItem));
         return savedActionItem;
     }
 
     public List<ActionItem> getActionItems(String teamId, Optional<Boolean> archived) {
+        if(archived.isPresent() && !archived.get()) return activeBoardCache.getActiveActionItems(teamId);
         if(archived.isPresent()) return actionItemRepository.findAllByTeamIdAndArchived(teamId, archived.get());
         else return actionItemRepository.findAllByTeamId(teamId);
     }
@@ -55,6 +60,7 @@ public class ActionItemService {
         var savedActionItem = fetchActionItem(teamId, actionItemId);
         savedActionItem.setCompleted(request.completed());
         var updatedActionItem = actionItemRepository.save(savedActionItem);
+        activeBoardCache.actionItemSaved(updatedActionItem);
         websocketService.publishEvent(new WebsocketActionItemEvent(teamId, UPDATE, updatedActionItem));
     }
 
@@ -62,6 +68,7 @@ public class ActionItemService {
         var savedActionItem = fetchActionItem(teamId, actionItemId);
         savedActionItem.setTask(request.task());
         var updatedActionItem = actionItemRepository.save(savedActionItem);
+        activeBoardCache.actionItemSaved(updatedActionItem);
         websocketService.publishEvent(new WebsocketActionItemEvent(teamId, UPDATE, updatedActionItem));
         return updatedActionItem;
     }
@@ -70,6 +77,7 @@ public class ActionItemService {
         var savedActionItem = fetchActionItem(teamId, actionItemId);
         savedActionItem.setAssignee(request.assignee());
         var updatedActionItem = actionItemRepository.save(savedActionItem);
+        activeBoardCache.actionItemSaved(updatedActionItem);
         websocketService.publishEvent(new WebsocketActionItemEvent(teamId, UPDATE, updatedActionItem));
         return updatedActionItem;
     }
@@ -78,22 +86,23 @@ public class ActionItemService {
         var savedActionItem = fetchActionItem(teamId, actionItemId);
         savedActionItem.setArchived(request.archived());
         var updatedActionItem = actionItemRepository.save(savedActionItem);
+        activeBoardCache.actionItemSaved(updatedActionItem);
         websocketService.publishEvent(new WebsocketActionItemEvent(teamId, UPDATE, updatedActionItem));
     }
 
     public void deleteOneActionItem(String teamId, Long actionItemId) {
         actionItemRepository.deleteActionItemByTeamIdAndId(teamId, actionItemId);
+        activeBoardCache.actionItemsDeleted(teamId, List.of(actionItemId));
         websocketService.publishEvent(new WebsocketActionItemEvent(teamId, DELETE, ActionItem.builder().id(actionItemId).build()));
     }
 
     public void deleteMultipleActionItems(String teamId, List<Long> actionItemIds) {
         actionItemRepository.deleteActionItemByTeamIdAndIdIn(teamId, actionItemIds);
+        activeBoardCache.actionItemsDeleted(teamId, actionItemIds);
     }
 
-    public void archiveCompletedActionItems(String teamId) {
-        var itemsToUpdate = actionItemRepository.findAllByTeamIdAndArchivedIsFalseAndCompletedIsTrue(teamId);
-        itemsToUpdate.forEach(item -> item.setArchived(true));
-        actionItemRepository.saveAll(itemsToUpdate);
+    public int archiveCompletedActionItems(String teamId) {
+        return actionItemRepository.archiveCompletedActionItems(teamId);
     }
 
     private ActionItem fetchActionItem(String teamId, Long actionItemId) {
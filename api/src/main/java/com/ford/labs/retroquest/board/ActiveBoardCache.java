@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.board;
+
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtHearts;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+@Component
+public class ActiveBoardCache {
+    private static final Logger log = LoggerFactory.getLogger(ActiveBoardCache.class);
+
+    private final ThoughtRepository thoughtRepository;
+    private final ActionItemRepository actionItemRepository;
+    private final ColumnRepository columnRepository;
+    private final boolean enabled;
+    private final boolean singleNode;
+    private final int maximumTeams;
+    private final long idleTimeoutNanos;
+    private final Map<String, TeamEntry> entries = new ConcurrentHashMap<>();
+    private final String versionEpoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+    private final Counter evictions;
+
+    public ActiveBoardCache(
+        ThoughtRepository thoughtRepository,
+        ActionItemRepository actionItemRepository,
+        ColumnRepository columnRepository,
+        MeterRegistry meterRegistry,
+        @Value("${retroquest.board-cache.enabled}") boolean enabled,
+        @Value("${retroquest.board-cache.maximum-teams}") int maximumTeams,
+        @Value("${retroquest.board-cache.idle-timeout-ms}") long idleTimeoutMillis,
+        @Value("${retroquest.websocket.broker.mode}") String brokerMode
+    ) {
+        this.thoughtRepository = thoughtRepository;
+        this.actionItemRepository = actionItemRepository;
+        this.columnRepository = columnRepository;
+        this.singleNode = "simple".equals(brokerMode);
+        this.enabled = enabled && singleNode;
+        if (enabled && !singleNode) {
+            log.warn("The active board cache is disabled because the {} broker mode runs more than one instance", brokerMode);
+        }
+        this.maximumTeams = maximumTeams;
+        this.idleTimeoutNanos = Duration.ofMillis(idleTimeoutMillis).toNanos();
+        this.hits = meterRegistry.counter("retroquest.board.cache.hits");
+        this.misses = meterRegistry.counter("retroquest.board.cache.misses");
+        this.refreshes = meterRegistry.counter("retroquest.board.cache.refreshes");
+        this.evictions = meterRegistry.counter("retroquest.board.cache.evictions");
+        Gauge.builder("retroquest.board.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public List<Thought> getActiveThoughts(String teamId) {
+        if (!enabled) {
+            return thoughtRepository.findAllByTeamIdAndBoardIdIsNull(teamId);
+        }
+        return getSnapshot(teamId).thoughts().values().stream().map(ActiveBoardCache::copyOf).toList();
+    }
+
+    public List<ActionItem> getActiveActionItems(String teamId) {
+        if (!enabled) {
+            return actionItemRepository.findAllByTeamIdAndArchived(teamId, false);
+        }
+        return getSnapshot(teamId).actionItems().values().stream().map(ActiveBoardCache::copyOf).toList();
+    }
+
+    public List<Column> getColumns(String teamId) {
+        if (!enabled) {
+            return columnRepository.findAllByTeamId(teamId).stream().sorted().toList();
+        }
+        return getSnapshot(teamId).columns().stream().map(ActiveBoardCache::copyOf).toList();
+    }
+
+    public void thoughtSaved(Thought thought) {
+        afterCommit(thought.getTeamId(), entry -> entry.staleThoughts.add(thought.getId()));
+    }
+
+    public void heartsChanged(String teamId, ThoughtHearts thoughtHearts) {
+        afterCommit(teamId, entry -> entry.update(snapshot -> snapshot.withThoughts(thoughts -> thoughts.computeIfPresent(
+            thoughtHearts.id(),
+            (id, thought) -> thought.getHearts() >= thoughtHearts.hearts()
+                ? thought
+                : thought.toBuilder().hearts(thoughtHearts.hearts()).build()
+        ))));
+    }
+
+    public void thoughtDeleted(String teamId, Long thoughtId) {
+        afterCommit(teamId, entry -> entry.staleThoughts.add(thoughtId));
+    }
+
+    public void actionItemSaved(ActionItem actionItem) {
+        afterCommit(actionItem.getTeamId(), entry -> entry.staleActionItems.add(actionItem.getId()));
+    }
+
+    public void actionItemsDeleted(String teamId, Collection<Long> actionItemIds) {
+        var deletedIds = List.copyOf(actionItemIds);
+        afterCommit(teamId, entry -> entry.staleActionItems.addAll(deletedIds));
+    }
+
+    public void columnSaved(Column column) {
+        afterCommit(column.getTeamId(), entry -> entry.staleColumns = true);
+    }
+
+    public void retroEnded(String teamId) {
+        afterCommit(teamId, entry -> entry.update(snapshot -> new ActiveBoard(
+            Map.of(),
+            without(snapshot.actionItems(), ActionItem::isCompleted),
+            snapshot.columns()
+        )));
+    }
+
+    public void evict(String teamId) {
+        runAfterCommit(() -> {
+            if (entries.remove(teamId) != null) {
+                evictions.increment();
+            }
+            bumpVersion(teamId);
+        });
+    }
+
+    public String getVersion(String teamId) {
+        if (!singleNode) {
+            return null;
+        }
+        return versionEpoch + "-" + versions.computeIfAbsent(teamId, id -> versionSequence.get());
+    }
+
+    @Scheduled(fixedDelayString = "${retroquest.board-cache.sweep-interval-ms}")
+    public void evictIdleTeams() {
+        var now = System.nanoTime();
+        entries.forEach((teamId, entry) -> {
+            if (now - entry.lastAccessed >= idleTimeoutNanos && entries.remove(teamId, entry)) {
+                evictions.increment();
+            }
+        });
+        if (versions.size() > maximumTeams) {
+            versions.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private ActiveBoard getSnapshot(String teamId) {
+        var entry = entries.get(teamId);
+        if (entry == null) {
+            makeRoomForNewTeam();
+            entry = entries.computeIfAbsent(teamId, TeamEntry::new);
+        }
+        entry.lastAccessed = System.nanoTime();
+
+        var snapshot = entry.snapshot;
+        if (snapshot != null && !entry.isStale()) {
+            hits.increment();
+            return snapshot;
+        }
+        return entry.load();
+    }
+
+    private ActiveBoard loadSnapshot(String teamId) {
+        misses.increment();
+        return new ActiveBoard(
+            byId(thoughtRepository.findAllByTeamIdAndBoardIdIsNull(teamId), Thought::getId),
+            byId(actionItemRepository.findAllByTeamIdAndArchived(teamId, false), ActionItem::getId),
+            loadColumns(teamId)
+        );
+    }
+
+    private List<Column> loadColumns(String teamId) {
+        return columnRepository.findAllByTeamId(teamId).stream().sorted().map(ActiveBoardCache::copyOf).toList();
+    }
+
+    private void makeRoomForNewTeam() {
+        while (entries.size() >= maximumTeams) {
+            var leastRecentlyUsed = entries.values().stream().min(Comparator.comparingLong(entry -> entry.lastAccessed));
+            if (leastRecentlyUsed.isEmpty()) {
+                return;
+            }
+            if (entries.remove(leastRecentlyUsed.get().teamId, leastRecentlyUsed.get())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void afterCommit(String teamId, Consumer<TeamEntry> change) {
+        runAfterCommit(() -> {
+            var entry = enabled ? entries.get(teamId) : null;
+            if (entry != null) {
+                change.accept(entry);
+            }
+            bumpVersion(teamId);
+        });
+    }
+
+    private void bumpVersion(String teamId) {
+        versions.merge(teamId, versionSequence.incrementAndGet(), Math::max);
+    }
+
+    private static void runAfterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    private static Thought copyOf(Thought thought) {
+        return thought.toBuilder().build();
+    }
+
+    private static ActionItem copyOf(ActionItem actionItem) {
+        return actionItem.toBuilder().build();
+    }
+
+    private static Column copyOf(Column column) {
+        return new Column(column.getId(), column.getTopic(), column.getTitle(), column.getTeamId());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> id) {
+        var itemsById = new LinkedHashMap<Long, T>();
+        items.forEach(item -> itemsById.put(id.apply(item), item));
+        return itemsById;
+    }
+
+    private static <T> Map<Long, T> refreshed(Map<Long, T> items, List<Long> staleIds, List<T> current, Function<T, Long> id) {
+        if (staleIds.isEmpty()) {
+            return items;
+        }
+        var currentById = byId(current, id);
+        var refreshedItems = new LinkedHashMap<>(items);
+        for (var staleId : staleIds) {
+            var item = currentById.get(staleId);
+            if (item != null) {
+                refreshedItems.put(staleId, item);
+            } else {
+                refreshedItems.remove(staleId);
+            }
+        }
+        return refreshedItems;
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        var drained = List.copyOf(ids);
+        ids.removeAll(drained);
+        return drained;
+    }
+
+    private static <T> Map<Long, T> without(Map<Long, T> items, Predicate<T> shouldRemove) {
+        var remainingItems = new LinkedHashMap<>(items);
+        remainingItems.values().removeIf(shouldRemove);
+        return remainingItems;
+    }
+
+    record ActiveBoard(Map<Long, Thought> thoughts, Map<Long, ActionItem> actionItems, List<Column> columns) {
+        ActiveBoard withThoughts(Consumer<Map<Long, Thought>> change) {
+            var changedThoughts = new LinkedHashMap<>(thoughts);
+            change.accept(changedThoughts);
+            return new ActiveBoard(changedThoughts, actionItems, columns);
+        }
+    }
+
+    private class TeamEntry {
+        private final String teamId;
+        private final Set<Long> staleThoughts = ConcurrentHashMap.newKeySet();
+        private final Set<Long> staleActionItems = ConcurrentHashMap.newKeySet();
+        private volatile boolean staleColumns;
+        private volatile ActiveBoard snapshot;
+        private volatile long lastAccessed = System.nanoTime();
+
+        TeamEntry(String teamId) {
+            this.teamId = teamId;
+        }
+
+        boolean isStale() {
+            return staleColumns || !staleThoughts.isEmpty() || !staleActionItems.isEmpty();
+        }
+
+        synchronized ActiveBoard load() {
+            if (snapshot == null) {
+                staleColumns = false;
+                staleThoughts.clear();
+                staleActionItems.clear();
+                snapshot = loadSnapshot(teamId);
+            } else if (isStale()) {
+                snapshot = refresh(snapshot);
+            } else {
+                hits.increment();
+            }
+            return snapshot;
+        }
+
+        synchronized void update(UnaryOperator<ActiveBoard> change) {
+            if (snapshot != null) {
+                snapshot = change.apply(snapshot);
+            }
+        }
+
+        // Ids are drained before the rows are read, so every write marked stale so far committed before this read.
+        private ActiveBoard refresh(ActiveBoard current) {
+            refreshes.increment();
+            var refreshColumns = staleColumns;
+            staleColumns = false;
+            var thoughtIds = drain(staleThoughts);
+            var actionItemIds = drain(staleActionItems);
+
+            return new ActiveBoard(
+                refreshed(
+                    current.thoughts(),
+                    thoughtIds,
+                    thoughtIds.isEmpty() ? List.of() : thoughtRepository.findAllById(thoughtIds).stream()
+                        .filter(thought -> teamId.equals(thought.getTeamId()) && thought.getBoardId() == null)
+                        .toList(),
+                    Thought::getId
+                ),
+                refreshed(
+                    current.actionItems(),
+                    actionItemIds,
+                    actionItemIds.isEmpty() ? List.of() : actionItemRepository.findAllById(actionItemIds).stream()
+                        .filter(actionItem -> teamId.equals(actionItem.getTeamId()) && !actionItem.isArchived())
+                        .toList(),
+                    ActionItem::getId
+                ),
+                refreshColumns ? loadColumns(teamId) : current.columns()
+            );
+        }
+    }
+}
@@ -36,7 +36,8 @@ import java.util.List;
 public class Board {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_seq")
+    @SequenceGenerator(name = "board_seq", sequenceName = "board_seq", allocationSize = 50)
     private Long id;
 
     private String teamId;
@@ -44,6 +45,6 @@ public class Board {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "YYYY-MM-dd")
     private LocalDate dateCreated;
 
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "boardId", orphanRemoval = true, cascade = CascadeType.ALL)
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "boardId", orphanRemoval = true, cascade = CascadeType.ALL)
     private List<Thought> thoughts;
 }
@@ -21,10 +21,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.transaction.Transactional;
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -35,10 +41,14 @@ import java.util.List;
 @Tag(name = "Board Controller", description = "The controller that manages the retro board")
 public class BoardController {
 
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
     private final BoardService boardService;
+    private final BoardExportService boardExportService;
 
-    public BoardController(BoardService boardService) {
+    public BoardController(BoardService boardService, BoardExportService boardExportService) {
         this.boardService = boardService;
+        this.boardExportService = boardExportService;
     }
 
     @PostMapping("/team/{teamId}/board")
@@ -51,11 +61,37 @@ public class BoardController {
         return ResponseEntity.created(uri).build();
     }
 
+    @GetMapping("/team/{teamId}/board-state")
+    @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
+    @Operation(summary = "Gets the columns, active thoughts and unarchived action items for a team in one response", description = "getBoardState")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "304", description = "Not Modified")
+    })
+    public ResponseEntity<BoardState> getBoardState(@PathVariable("teamId") String teamId, WebRequest request) {
+        var eTag = boardService.getBoardStateETag(teamId);
+        if (request.checkNotModified(eTag)) {
+            boardService.boardStateNotModified();
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .body(boardService.getBoardState(teamId));
+    }
+
+    @GetMapping("/team/{teamId}/changes")
+    @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
+    @Operation(summary = "Gets the websocket events for a team after a sequence number, or a full board snapshot when they are no longer retained", description = "getChanges")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
+    public BoardChanges getChanges(@PathVariable("teamId") String teamId, @RequestParam("since") long since) {
+        return boardService.getChangesSince(teamId, since);
+    }
+
     @GetMapping("/team/{teamId}/boards")
     @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
     @Operation(summary = "Gets a retro board metadata list given a team id and page index", description = "getBoardsForTeamId")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-    public ResponseEntity<List<Board>> getBoards(
+    public ResponseEntity<List<BoardSummary>> getBoards(
             @PathVariable("teamId") String teamId,
             @RequestParam(value = "pageIndex", defaultValue = "0") Integer pageIndex,
             @RequestParam(value = "pageSize", defaultValue = "30") Integer pageSize,
@@ -65,6 +101,29 @@ public class BoardController {
         return this.boardService.getPaginatedBoardListWithHeaders(teamId, pageIndex, pageSize, sortBy, sortOrder);
     }
 
+    @GetMapping("/team/{teamId}/boards/export")
+    @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
+    @Operation(
+        summary = "Exports every archived board, thought, column and archived action item for a team as a gzipped CSV or NDJSON file. " +
+            "Boards are written first and archived action items last, each in id order. To resume an interrupted download, pass " +
+            "after=<last board id received> and actionItemsAfter=<last action item id received, or 0 if none arrived>; " +
+            "only NDJSON action item lines carry their id",
+        description = "exportBoards"
+    )
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
+    public ResponseEntity<StreamingResponseBody> exportBoards(
+            @PathVariable("teamId") String teamId,
+            @RequestParam(value = "format", defaultValue = "CSV") BoardExportFormat format,
+            @RequestParam(value = "after", defaultValue = "0") Long afterBoardId,
+            @RequestParam(value = "actionItemsAfter", defaultValue = "0") Long afterActionItemId
+    ) {
+        StreamingResponseBody body = outputStream -> boardExportService.exportBoards(teamId, format, afterBoardId, afterActionItemId, outputStream);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + format.getFileName(teamId))
+            .contentType(GZIP)
+            .body(body);
+    }
+
     @GetMapping("/team/{teamId}/boards/{boardId}")
     @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
     @Operation(summary = "Gets a single retro board given a team id and board id", description = "getBoardsForTeamId")
@@ -86,11 +145,12 @@ public class BoardController {
         this.boardService.deleteBoards(teamId, request.boardIds());
     }
 
+    @Transactional
     @PutMapping("/team/{teamId}/end-retro")
     @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
     @Operation(summary = "Ends a retro for a given team", description = "endTeamRetro")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-    public void endRetro(@PathVariable("teamId") String teamId) {
-        this.boardService.endRetro(teamId);
+    public EndRetroResult endRetro(@PathVariable("teamId") String teamId) {
+        return this.boardService.endRetro(teamId);
     }
 }
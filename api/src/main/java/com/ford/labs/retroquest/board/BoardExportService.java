@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.board;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class BoardExportService {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final BoardRepository boardRepository;
+    private final ThoughtRepository thoughtRepository;
+    private final ActionItemRepository actionItemRepository;
+    private final ColumnRepository columnRepository;
+    private final ObjectMapper objectMapper;
+
+    public BoardExportService(
+        BoardRepository boardRepository,
+        ThoughtRepository thoughtRepository,
+        ActionItemRepository actionItemRepository,
+        ColumnRepository columnRepository,
+        ObjectMapper objectMapper
+    ) {
+        this.boardRepository = boardRepository;
+        this.thoughtRepository = thoughtRepository;
+        this.actionItemRepository = actionItemRepository;
+        this.columnRepository = columnRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportBoards(String teamId, BoardExportFormat format, long afterBoardId, long afterActionItemId, OutputStream outputStream) throws IOException {
+        var gzip = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+        var writer = createWriter(format, gzip, columnRepository.findAllByTeamId(teamId));
+
+        var boards = boardRepository.findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc(teamId, afterBoardId);
+        while (!boards.isEmpty()) {
+            var thoughtsByBoard = thoughtRepository
+                .findAllByTeamIdAndBoardIdInOrderByBoardIdAscIdAsc(teamId, boards.stream().map(Board::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(Thought::getBoardId));
+            for (var board : boards) {
+                writer.writeBoard(board, thoughtsByBoard.getOrDefault(board.getId(), List.of()));
+            }
+            var lastBoardId = boards.get(boards.size() - 1).getId();
+            boards = boardRepository.findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc(teamId, lastBoardId);
+        }
+
+        var actionItems = actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc(teamId, afterActionItemId);
+        while (!actionItems.isEmpty()) {
+            for (var actionItem : actionItems) {
+                writer.writeActionItem(actionItem);
+            }
+            var lastActionItemId = actionItems.get(actionItems.size() - 1).getId();
+            actionItems = actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc(teamId, lastActionItemId);
+        }
+
+        writer.finish();
+        gzip.finish();
+    }
+
+    private BoardExportWriter createWriter(BoardExportFormat format, OutputStream out, List<Column> columns) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvBoardExportWriter(out, columns);
+            case NDJSON -> new NdjsonBoardExportWriter(out, objectMapper, columns);
+        };
+    }
+}
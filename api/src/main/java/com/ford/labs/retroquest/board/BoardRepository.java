@@ -19,8 +19,11 @@ package com.ford.labs.retroquest.board;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
@@ -29,10 +32,27 @@ import java.util.List;
 @Repository
 public interface BoardRepository extends JpaRepository<Board, Long>, PagingAndSortingRepository<Board, Long> {
     List<Board> findAllByTeamIdOrderByDateCreatedDesc(String teamId, Pageable pageable);
+    @EntityGraph(attributePaths = "thoughts")
     List<Board> findAllByTeamId(String teamId);
-    Page<Board> findAllByTeamId(String teamId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "thoughts")
     Board findByIdAndTeamId(Long boardId, String teamId);
 
+    List<Board> findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc(String teamId, Long afterBoardId);
+
+    @Query(
+        value = "select new com.ford.labs.retroquest.board.BoardSummary(" +
+            "b.id, b.teamId, b.dateCreated, count(t.id), " +
+            "(select min(topThought.message) from Thought topThought where topThought.boardId = b.id " +
+            "and topThought.hearts = (select max(mostHearted.hearts) from Thought mostHearted where mostHearted.boardId = b.id)), " +
+            "max(t.hearts)) " +
+            "from Board b left join Thought t on t.boardId = b.id " +
+            "where b.teamId = :teamId " +
+            "group by b.id, b.teamId, b.dateCreated",
+        countQuery = "select count(b) from Board b where b.teamId = :teamId"
+    )
+    Page<BoardSummary> findSummariesByTeamId(@Param("teamId") String teamId, Pageable pageable);
+
     @Transactional
     void deleteBoardByTeamIdAndId(String teamId, Long boardId);
 
@@ -21,12 +21,17 @@ import com.ford.labs.retroquest.actionitem.ActionItemService;
 import com.ford.labs.retroquest.column.Column;
 import com.ford.labs.retroquest.column.ColumnService;
 import com.ford.labs.retroquest.thought.ThoughtService;
+import com.ford.labs.retroquest.websocket.ChangeLog;
+import com.ford.labs.retroquest.websocket.WebsocketChange;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketEndRetroEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -34,6 +39,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class BoardService {
@@ -42,28 +48,34 @@ public class BoardService {
     private final ThoughtService thoughtService;
     private final ActionItemService actionItemService;
     private final WebsocketService websocketService;
+    private final ActiveBoardCache activeBoardCache;
+    private final ChangeLog changeLog;
+    private final Counter boardStateResponses;
+    private final Counter boardStateNotModifiedResponses;
 
     public BoardService(
         BoardRepository boardRepository,
         ColumnService columnService,
         ThoughtService thoughtService,
         ActionItemService actionItemService,
-        WebsocketService websocketService
+        WebsocketService websocketService,
+        ActiveBoardCache activeBoardCache,
+        ChangeLog changeLog,
+        MeterRegistry meterRegistry
     ) {
         this.boardRepository = boardRepository;
         this.columnService = columnService;
         this.thoughtService = thoughtService;
         this.actionItemService = actionItemService;
         this.websocketService = websocketService;
+        this.activeBoardCache = activeBoardCache;
+        this.changeLog = changeLog;
+        this.boardStateResponses = meterRegistry.counter("retroquest.board.state.responses", "status", "200");
+        this.boardStateNotModifiedResponses = meterRegistry.counter("retroquest.board.state.responses", "status", "304");
     }
 
-    public List<Board> getPaginatedBoardList(String teamId, Integer pageIndex, Integer pageSize, String sortBy, String sortOrder) {
-        Sort.Direction orderBy = Sort.DEFAULT_DIRECTION;
-        if ("ASC".equals(sortOrder)) orderBy = Sort.Direction.ASC;
-        if ("DESC".equals(sortOrder)) orderBy = Sort.Direction.DESC;
-        Pageable pageable = PageRequest.of(pageIndex, pageSize, Sort.by(orderBy, sortBy));
-
-        Page<Board> pagedResult = this.boardRepository.findAllByTeamId(teamId, pageable);
+    public List<BoardSummary> getPaginatedBoardList(String teamId, Integer pageIndex, Integer pageSize, String sortBy, String sortOrder) {
+        Page<BoardSummary> pagedResult = getBoardSummaryPage(teamId, pageIndex, pageSize, sortBy, sortOrder);
 
         if(pagedResult.hasContent()) {
             return pagedResult.getContent();
@@ -72,9 +84,10 @@ public class BoardService {
         }
     }
 
-    public ResponseEntity<List<Board>> getPaginatedBoardListWithHeaders(String teamId, Integer pageIndex, Integer pageSize, String sortBy, String sortOrder) {
-        List<Board> pageOfBoards = this.getPaginatedBoardList(teamId, pageIndex, pageSize, sortBy, sortOrder);
-        Integer totalBoardCount = this.boardRepository.findAllByTeamId(teamId).size();
+    public ResponseEntity<List<BoardSummary>> getPaginatedBoardListWithHeaders(String teamId, Integer pageIndex, Integer pageSize, String sortBy, String sortOrder) {
+        Page<BoardSummary> pagedResult = getBoardSummaryPage(teamId, pageIndex, pageSize, sortBy, sortOrder);
+        List<BoardSummary> pageOfBoards = pagedResult.getContent();
+        long totalBoardCount = pagedResult.getTotalElements();
 
         var headers = new HttpHeaders();
         headers.add(
@@ -98,6 +111,47 @@ public class BoardService {
                 .body(pageOfBoards);
     }
 
+    private Page<BoardSummary> getBoardSummaryPage(String teamId, Integer pageIndex, Integer pageSize, String sortBy, String sortOrder) {
+        Sort.Direction orderBy = Sort.DEFAULT_DIRECTION;
+        if ("ASC".equals(sortOrder)) orderBy = Sort.Direction.ASC;
+        if ("DESC".equals(sortOrder)) orderBy = Sort.Direction.DESC;
+        Sort sort = "thoughtCount".equals(sortBy) ? JpaSort.unsafe(orderBy, "count(t.id)") : Sort.by(orderBy, sortBy);
+        Pageable pageable = PageRequest.of(pageIndex, pageSize, sort);
+
+        return this.boardRepository.findSummariesByTeamId(teamId, pageable);
+    }
+
+    public String getBoardStateETag(String teamId) {
+        return activeBoardCache.getVersion(teamId);
+    }
+
+    public BoardState getBoardState(String teamId) {
+        boardStateResponses.increment();
+        return loadBoardState(teamId);
+    }
+
+    public void boardStateNotModified() {
+        boardStateNotModifiedResponses.increment();
+    }
+
+    public BoardChanges getChangesSince(String teamId, long since) {
+        return changeLog.getEventsSince(teamId, since)
+            .map(events -> new BoardChanges(
+                events.isEmpty() ? since : events.get(events.size() - 1).getSequence(),
+                events.stream().map(WebsocketChange::from).toList(),
+                null
+            ))
+            .orElseGet(() -> new BoardChanges(changeLog.getLatestSequence(), null, loadBoardState(teamId)));
+    }
+
+    private BoardState loadBoardState(String teamId) {
+        return new BoardState(
+            columnService.getColumns(teamId),
+            thoughtService.fetchAllActiveThoughts(teamId),
+            actionItemService.getActionItems(teamId, Optional.of(false))
+        );
+    }
+
     public Retro getArchivedRetroForTeam(String teamId, Long boardId) {
         List<Column> columns = columnService.getColumns(teamId);
         Board board = this.boardRepository.findByIdAndTeamId(boardId, teamId);
@@ -111,16 +165,17 @@ public class BoardService {
         return this.boardRepository.save(board);
     }
 
-    public void endRetro(String teamId) {
-        if (this.thoughtService.fetchAllActiveThoughts(teamId).size() > 0) {
-            var createdBoard = createBoard(teamId);
-            var thoughts = this.thoughtService.fetchAllActiveThoughts(teamId);
-            thoughts.forEach(thought -> thought.setBoardId(createdBoard.getId()));
-            createdBoard.setThoughts(thoughts);
-            this.boardRepository.save(createdBoard);
+    public EndRetroResult endRetro(String teamId) {
+        Long boardId = null;
+        var archivedThoughtCount = 0;
+        if (this.thoughtService.hasActiveThoughts(teamId)) {
+            boardId = createBoard(teamId).getId();
+            archivedThoughtCount = this.thoughtService.archiveActiveThoughts(teamId, boardId);
         }
-        actionItemService.archiveCompletedActionItems(teamId);
+        var archivedActionItemCount = actionItemService.archiveCompletedActionItems(teamId);
+        activeBoardCache.retroEnded(teamId);
         websocketService.publishEvent(new WebsocketEndRetroEvent(teamId));
+        return new EndRetroResult(boardId, archivedThoughtCount, archivedActionItemCount);
     }
 
     public void deleteBoard(String teamId, Long boardId) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.board;
+
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.thought.Thought;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+class CsvBoardExportWriter implements BoardExportWriter {
+
+    private final CSVPrinter csvPrinter;
+    private final Map<Long, String> columnTitles;
+
+    CsvBoardExportWriter(OutputStream out, List<Column> columns) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(
+            "Board Id", "Date", "Column", "Message", "Likes", "Completed", "Assigned To"
+        ));
+        this.columnTitles = columns.stream().collect(Collectors.toMap(Column::getId, Column::getTitle));
+    }
+
+    @Override
+    public void writeBoard(Board board, List<Thought> thoughts) throws IOException {
+        if (thoughts.isEmpty()) {
+            csvPrinter.printRecord(board.getId(), board.getDateCreated(), "", "", "", "", "");
+        }
+        for (var thought : thoughts) {
+            csvPrinter.printRecord(
+                board.getId(),
+                board.getDateCreated(),
+                Objects.toString(columnTitles.get(thought.getColumnId()), ""),
+                thought.getMessage(),
+                thought.getHearts(),
+                getBooleanString(thought.isDiscussed()),
+                ""
+            );
+        }
+    }
+
+    @Override
+    public void writeActionItem(ActionItem actionItem) throws IOException {
+        csvPrinter.printRecord(
+            "",
+            Objects.toString(actionItem.getDateCreated(), ""),
+            "action item",
+            actionItem.getTask(),
+            "",
+            getBooleanString(actionItem.isCompleted()),
+            Objects.toString(actionItem.getAssignee(), "")
+        );
+    }
+
+    @Override
+    public void finish() throws IOException {
+        csvPrinter.flush();
+    }
+
+    private String getBooleanString(boolean booleanToConvert) {
+        return booleanToConvert ? "yes" : "no";
+    }
+}
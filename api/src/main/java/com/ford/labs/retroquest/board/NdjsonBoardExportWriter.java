@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.board;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.thought.Thought;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+class NdjsonBoardExportWriter implements BoardExportWriter {
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+
+    NdjsonBoardExportWriter(OutputStream out, ObjectMapper objectMapper, List<Column> columns) throws IOException {
+        this.out = new BufferedOutputStream(out);
+        this.objectMapper = objectMapper;
+        for (var column : columns) {
+            writeLine(new ColumnLine("column", column.getId(), column.getTopic(), column.getTitle()));
+        }
+    }
+
+    @Override
+    public void writeBoard(Board board, List<Thought> thoughts) throws IOException {
+        writeLine(new BoardLine(
+            "board",
+            board.getId(),
+            board.getDateCreated(),
+            thoughts.stream()
+                .map(thought -> new ThoughtLine(
+                    thought.getId(),
+                    thought.getColumnId(),
+                    thought.getMessage(),
+                    thought.getHearts(),
+                    thought.isDiscussed()
+                ))
+                .toList()
+        ));
+    }
+
+    @Override
+    public void writeActionItem(ActionItem actionItem) throws IOException {
+        writeLine(new ActionItemLine(
+            "actionItem",
+            actionItem.getId(),
+            actionItem.getTask(),
+            actionItem.isCompleted(),
+            actionItem.getAssignee(),
+            actionItem.getDateCreated() != null ? actionItem.getDateCreated().toLocalDate() : null
+        ));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void writeLine(Object line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+
+    private record ColumnLine(String type, Long id, String topic, String title) {}
+
+    private record BoardLine(String type, Long id, LocalDate dateCreated, List<ThoughtLine> thoughts) {}
+
+    private record ThoughtLine(Long id, Long columnId, String message, int hearts, boolean discussed) {}
+
+    private record ActionItemLine(String type, Long id, String task, boolean completed, String assignee, LocalDate dateCreated) {}
+}
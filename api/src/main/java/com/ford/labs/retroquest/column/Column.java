@@ -26,6 +26,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import java.io.Serializable;
 
 @Data
@@ -35,7 +36,8 @@ import java.io.Serializable;
 public class Column implements Serializable, Comparable<Column> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rq_column_seq")
+    @SequenceGenerator(name = "rq_column_seq", sequenceName = "rq_column_seq", allocationSize = 50)
     private Long id;
 
     private String topic;
@@ -17,6 +17,7 @@
 
 package com.ford.labs.retroquest.column;
 
+import com.ford.labs.retroquest.board.ActiveBoardCache;
 import com.ford.labs.retroquest.exception.ColumnNotFoundException;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketColumnEvent;
@@ -32,15 +33,17 @@ public class ColumnService {
     private final ColumnRepository columnRepository;
     private final MeterRegistry meterRegistry;
     private final WebsocketService websocketService;
+    private final ActiveBoardCache activeBoardCache;
 
-    public ColumnService(ColumnRepository columnRepository, MeterRegistry meterRegistry, WebsocketService websocketService) {
+    public ColumnService(ColumnRepository columnRepository, MeterRegistry meterRegistry, WebsocketService websocketService, ActiveBoardCache activeBoardCache) {
         this.columnRepository = columnRepository;
         this.meterRegistry = meterRegistry;
         this.websocketService = websocketService;
+        this.activeBoardCache = activeBoardCache;
     }
 
     public List<Column> getColumns(String teamId) {
-        return columnRepository.findAllByTeamId(teamId).stream().sorted().toList();
+        return activeBoardCache.getColumns(teamId);
     }
 
     public Column editTitle(Long columnId, String title, String teamId) {
@@ -48,6 +51,7 @@ public class ColumnService {
         existingColumn.setTitle(title);
 
         Column newColumn = columnRepository.save(existingColumn);
+        activeBoardCache.columnSaved(newColumn);
 
         websocketService.publishEvent(new WebsocketColumnEvent(teamId, WebsocketEventType.UPDATE, newColumn));
 
@@ -76,6 +76,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ErrorDetails("Incorrect team name or password. Please try again.");
     }
 
+    @ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ErrorDetails tooManyLoginAttemptsExceptionHandler() {
+        return new ErrorDetails("Too many failed login attempts. Please wait a few minutes and try again.");
+    }
+
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ErrorDetails passwordHashingUnavailableExceptionHandler() {
+        return new ErrorDetails("Too many teams are logging in right now. Please try again in a moment.");
+    }
+
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     @ExceptionHandler(BadResetTokenException.class)
     public ErrorDetails badPasswordResetTokenExceptionHandler() {
@@ -123,6 +135,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(thoughtNotFoundException.getMessage());
     }
 
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidImportException.class)
+    public ErrorDetails invalidImportExceptionHandler(InvalidImportException invalidImportException) {
+        return new ErrorDetails(invalidImportException.getMessage());
+    }
+
     @ResponseStatus(value = HttpStatus.NOT_FOUND)
     @ExceptionHandler(ActionItemDoesNotExistException.class)
     public ErrorDetails actionItemDoesNotExistExceptionHandler() {
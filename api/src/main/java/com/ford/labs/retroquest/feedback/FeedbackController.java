@@ -17,6 +17,7 @@
 
 package com.ford.labs.retroquest.feedback;
 
+import com.ford.labs.retroquest.metrics.MetricsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -39,9 +40,11 @@ public class FeedbackController {
     private static final Logger log = LoggerFactory.getLogger(FeedbackController.class);
 
     private final FeedbackRepository feedbackRepository;
+    private final MetricsService metricsService;
 
-    public FeedbackController(FeedbackRepository feedbackRepository) {
+    public FeedbackController(FeedbackRepository feedbackRepository, MetricsService metricsService) {
         this.feedbackRepository = feedbackRepository;
+        this.metricsService = metricsService;
     }
 
     @PostMapping
@@ -59,6 +62,7 @@ public class FeedbackController {
             );
         }
         feedback = feedbackRepository.save(feedback);
+        metricsService.feedbackSaved(feedback.getStars());
         return ResponseEntity.created(new URI("/api/feedback/" + feedback.getId())).build();
     }
 }
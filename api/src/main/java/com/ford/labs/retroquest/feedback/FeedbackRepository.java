@@ -31,4 +31,9 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
 
     @Query("select coalesce(avg(f.stars), 0.0) from Feedback f where f.stars > 0")
     double getAverageRating();
+
+    long countByStarsGreaterThan(int stars);
+
+    @Query("select coalesce(sum(f.stars), 0) from Feedback f where f.stars > 0")
+    long getTotalRating();
 }
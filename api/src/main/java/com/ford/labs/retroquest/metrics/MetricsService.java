@@ -19,40 +19,146 @@ package com.ford.labs.retroquest.metrics;
 
 import com.ford.labs.retroquest.feedback.FeedbackRepository;
 import com.ford.labs.retroquest.team.TeamRepository;
-import org.springframework.jmx.export.annotation.ManagedAttribute;
-import org.springframework.jmx.export.annotation.ManagedResource;
-import org.springframework.stereotype.Component;
+import com.ford.labs.retroquest.team.TeamsByLastLoginDate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 public class MetricsService {
+    private static final Period ACTIVE_TEAM_PERIOD = Period.ofMonths(3);
+
     private final TeamRepository teamRepository;
     private final FeedbackRepository feedbackRepository;
+    private final Counter corrections;
+
+    private final AtomicLong teamCount = new AtomicLong();
+    private final AtomicLong feedbackCount = new AtomicLong();
+    private final AtomicLong ratedFeedbackCount = new AtomicLong();
+    private final AtomicLong totalRating = new AtomicLong();
+    private volatile ConcurrentSkipListMap<LocalDate, AtomicLong> teamsByLastLoginDate = new ConcurrentSkipListMap<>();
 
-    public MetricsService(TeamRepository teamRepository, FeedbackRepository feedbackRepository) {
+    public MetricsService(TeamRepository teamRepository, FeedbackRepository feedbackRepository, MeterRegistry meterRegistry) {
         this.teamRepository = teamRepository;
         this.feedbackRepository = feedbackRepository;
+        this.corrections = meterRegistry.counter("retroquest.metrics.reconciliation.corrections");
     }
 
     public long getTeamCount() {
-        return teamRepository.count();
+        return teamCount.get();
     }
 
     public long getFeedbackCount() {
-        return feedbackRepository.count();
+        return feedbackCount.get();
     }
 
     public double getAverageRating() {
-        return feedbackRepository.getAverageRating();
+        var rated = ratedFeedbackCount.get();
+        return rated == 0 ? 0.0 : (double) totalRating.get() / rated;
     }
 
     public long getActiveTeams() {
-        return teamRepository.countByLastLoginDateBetween(
-            LocalDate.now().minus(Period.ofMonths(3)),
-            LocalDate.now()
-        );
+        var today = LocalDate.now();
+        return teamsByLastLoginDate.subMap(today.minus(ACTIVE_TEAM_PERIOD), true, today, true).values().stream()
+            .mapToLong(AtomicLong::get)
+            .sum();
+    }
+
+    public void teamCreated() {
+        runAfterCommit(teamCount::incrementAndGet);
+    }
+
+    public void feedbackSaved(int stars) {
+        runAfterCommit(() -> {
+            feedbackCount.incrementAndGet();
+            if (stars > 0) {
+                totalRating.addAndGet(stars);
+                ratedFeedbackCount.incrementAndGet();
+            }
+        });
+    }
+
+    public void teamLoggedIn(LocalDate previousLastLoginDate, LocalDate lastLoginDate) {
+        if (Objects.equals(previousLastLoginDate, lastLoginDate)) {
+            return;
+        }
+        runAfterCommit(() -> {
+            var loginDates = teamsByLastLoginDate;
+            if (previousLastLoginDate != null) {
+                loginDates.computeIfAbsent(previousLastLoginDate, date -> new AtomicLong()).decrementAndGet();
+            }
+            loginDates.computeIfAbsent(lastLoginDate, date -> new AtomicLong()).incrementAndGet();
+        });
+    }
+
+    @PostConstruct
+    void seed() {
+        refresh();
+    }
+
+    @Scheduled(
+        initialDelayString = "${retroquest.metrics.reconciliation-interval-ms}",
+        fixedDelayString = "${retroquest.metrics.reconciliation-interval-ms}"
+    )
+    public void reconcile() {
+        if (refresh()) {
+            corrections.increment();
+        }
+    }
+
+    private boolean refresh() {
+        var loginDates = teamRepository.countTeamsByLastLoginDate().stream().collect(Collectors.toMap(
+            TeamsByLastLoginDate::getLastLoginDate,
+            teams -> new AtomicLong(teams.getTeams()),
+            (first, second) -> first,
+            ConcurrentSkipListMap::new
+        ));
+        var drifted = reset(teamCount, teamRepository.count())
+            | reset(feedbackCount, feedbackRepository.count())
+            | reset(ratedFeedbackCount, feedbackRepository.countByStarsGreaterThan(0))
+            | reset(totalRating, feedbackRepository.getTotalRating())
+            | !countsOf(teamsByLastLoginDate).equals(countsOf(loginDates));
+        teamsByLastLoginDate = loginDates;
+        return drifted;
+    }
+
+    private static boolean reset(AtomicLong value, long actual) {
+        return value.getAndSet(actual) != actual;
+    }
+
+    private static Map<LocalDate, Long> countsOf(Map<LocalDate, AtomicLong> loginDates) {
+        var counts = new HashMap<LocalDate, Long>();
+        loginDates.forEach((date, teams) -> {
+            if (teams.get() != 0) {
+                counts.put(date, teams.get());
+            }
+        });
+        return counts;
+    }
+
+    private static void runAfterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+@Component
+public class OperationTimings {
+
+    public static final String SERVICE_OPERATIONS = "retroquest.service.operations";
+    public static final String REPOSITORY_OPERATIONS = "retroquest.repository.operations";
+    public static final String WEBSOCKET_PUBLISH = "retroquest.websocket.publish";
+
+    private static final long MILLIS_PER_MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final int retainedMinutes;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, OperationWindow> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OperationTimings(
+        @Value("${retroquest.metrics.slow-operations.retained-minutes}") int retainedMinutes,
+        MeterRegistry meterRegistry
+    ) {
+        this(retainedMinutes, meterRegistry, System::currentTimeMillis);
+    }
+
+    OperationTimings(int retainedMinutes, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.retainedMinutes = retainedMinutes;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public void record(String meterName, String operation, long durationNanos) {
+        var key = meterName + ' ' + operation;
+        timers.computeIfAbsent(key, k -> Timer.builder(meterName)
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+        ).record(durationNanos, TimeUnit.NANOSECONDS);
+        windows.computeIfAbsent(key, k -> new OperationWindow(meterName, operation, retainedMinutes))
+            .record(currentMinute(), durationNanos);
+    }
+
+    public List<OperationTiming> getSlowestOperations(int lastMinutes, int limit) {
+        var minutes = Math.max(1, Math.min(lastMinutes, retainedMinutes));
+        var currentMinute = currentMinute();
+        return windows.values().stream()
+            .map(window -> window.summarize(currentMinute, minutes))
+            .flatMap(Optional::stream)
+            .sorted(Comparator.comparingDouble(OperationTiming::maxMillis).reversed())
+            .limit(Math.max(0, limit))
+            .toList();
+    }
+
+    public int getRetainedMinutes() {
+        return retainedMinutes;
+    }
+
+    private long currentMinute() {
+        return clock.getAsLong() / MILLIS_PER_MINUTE;
+    }
+
+    public record OperationTiming(String meter, String operation, long count, double meanMillis, double maxMillis) {
+    }
+
+    private static final class OperationWindow {
+        private final String meterName;
+        private final String operation;
+        private final long[] minutes;
+        private final long[] counts;
+        private final long[] totalNanos;
+        private final long[] maxNanos;
+
+        OperationWindow(String meterName, String operation, int retainedMinutes) {
+            this.meterName = meterName;
+            this.operation = operation;
+            this.minutes = new long[retainedMinutes];
+            this.counts = new long[retainedMinutes];
+            this.totalNanos = new long[retainedMinutes];
+            this.maxNanos = new long[retainedMinutes];
+        }
+
+        synchronized void record(long minute, long durationNanos) {
+            var index = (int) (minute % minutes.length);
+            if (minutes[index] != minute) {
+                minutes[index] = minute;
+                counts[index] = 0;
+                totalNanos[index] = 0;
+                maxNanos[index] = 0;
+            }
+            counts[index]++;
+            totalNanos[index] += durationNanos;
+            maxNanos[index] = Math.max(maxNanos[index], durationNanos);
+        }
+
+        synchronized Optional<OperationTiming> summarize(long currentMinute, int lastMinutes) {
+            long count = 0;
+            long total = 0;
+            long max = 0;
+            for (var index = 0; index < minutes.length; index++) {
+                var age = currentMinute - minutes[index];
+                if (age >= 0 && age < lastMinutes) {
+                    count += counts[index];
+                    total += totalNanos[index];
+                    max = Math.max(max, maxNanos[index]);
+                }
+            }
+            if (count == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new OperationTiming(meterName, operation, count, toMillis(total / (double) count), toMillis(max)));
+        }
+
+        private static double toMillis(double nanos) {
+            return nanos / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import static com.ford.labs.retroquest.metrics.OperationTimings.SERVICE_OPERATIONS;
+
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    private final OperationTimings operationTimings;
+
+    public ServiceTimingAspect(OperationTimings operationTimings) {
+        this.operationTimings = operationTimings;
+    }
+
+    @Around("execution(public * *(..)) && ("
+        + "within(com.ford.labs.retroquest.thought.ThoughtService)"
+        + " || within(com.ford.labs.retroquest.actionitem.ActionItemService)"
+        + " || within(com.ford.labs.retroquest.board.BoardService)"
+        + " || within(com.ford.labs.retroquest.column.ColumnService)"
+        + " || within(com.ford.labs.retroquest.team.TeamService))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        var start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            var signature = joinPoint.getSignature();
+            operationTimings.record(
+                SERVICE_OPERATIONS,
+                signature.getDeclaringType().getSimpleName() + "." + signature.getName(),
+                System.nanoTime() - start
+            );
+        }
+    }
+}
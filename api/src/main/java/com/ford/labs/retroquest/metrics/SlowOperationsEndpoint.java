@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import com.ford.labs.retroquest.metrics.OperationTimings.OperationTiming;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "slowoperations")
+public class SlowOperationsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final OperationTimings operationTimings;
+
+    public SlowOperationsEndpoint(OperationTimings operationTimings) {
+        this.operationTimings = operationTimings;
+    }
+
+    @ReadOperation
+    public List<OperationTiming> slowestOperations(@Nullable Integer minutes, @Nullable Integer limit) {
+        return operationTimings.getSlowestOperations(
+            minutes != null ? minutes : operationTimings.getRetainedMinutes(),
+            limit != null ? limit : DEFAULT_LIMIT
+        );
+    }
+}
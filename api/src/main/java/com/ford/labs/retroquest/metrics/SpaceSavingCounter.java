@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SpaceSavingCounter {
+
+    private final int capacity;
+    private final Map<String, Entry> entries;
+
+    SpaceSavingCounter(int capacity) {
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void add(String key, long amount) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.size() < capacity ? new Entry(0) : new Entry(removeSmallest().count);
+            entries.put(key, entry);
+        }
+        entry.count += amount;
+    }
+
+    synchronized void subtract(String key, long amount) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.count -= amount;
+        if (entry.count <= 0) {
+            entries.remove(key);
+        }
+    }
+
+    synchronized List<Estimate> estimates() {
+        return entries.entrySet().stream()
+            .map(entry -> new Estimate(entry.getKey(), entry.getValue().count, entry.getValue().error))
+            .sorted(Comparator.comparingLong(Estimate::count).reversed())
+            .toList();
+    }
+
+    private Entry removeSmallest() {
+        var smallest = entries.entrySet().stream()
+            .min(Comparator.comparingLong(entry -> entry.getValue().count))
+            .orElseThrow();
+        entries.remove(smallest.getKey());
+        return smallest.getValue();
+    }
+
+    record Estimate(String key, long count, long error) {
+    }
+
+    private static final class Entry {
+        private final long error;
+        private long count;
+
+        Entry(long error) {
+            this.error = error;
+            this.count = error;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import com.ford.labs.retroquest.metrics.SpaceSavingCounter.Estimate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Component
+public class TeamActivityTracker {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+    private static final String HEARTBEAT_TOPIC = "heartbeat";
+    private static final String SUBSCRIBED_TEAM_ATTRIBUTE = TeamActivityTracker.class.getName() + ".subscribedTeam";
+    private static final long MILLIS_PER_MINUTE = 60_000;
+    private static final Comparator<TeamCount> BY_COUNT = Comparator.comparingLong(TeamCount::count).reversed()
+        .thenComparing(TeamCount::teamId);
+
+    private final int topK;
+    private final LongSupplier clock;
+    private final MinuteWindow mutations;
+    private final MinuteWindow payloadBytes;
+    private final SpaceSavingCounter subscribers;
+    private final Set<String> connectedSessions = ConcurrentHashMap.newKeySet();
+
+    public TeamActivityTracker(
+        @Value("${retroquest.metrics.team-activity.top-k}") int topK,
+        MeterRegistry meterRegistry
+    ) {
+        this(topK, meterRegistry, System::currentTimeMillis);
+    }
+
+    TeamActivityTracker(int topK, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.topK = topK;
+        this.clock = clock;
+        this.mutations = new MinuteWindow();
+        this.payloadBytes = new MinuteWindow();
+        this.subscribers = new SpaceSavingCounter(topK);
+        Gauge.builder("retroquest.websocket.sessions.connected", connectedSessions, Set::size).register(meterRegistry);
+    }
+
+    public void mutationPublished(String route) {
+        teamIdOf(route).ifPresent(teamId -> mutations.add(teamId, 1));
+    }
+
+    public void payloadPublished(String route, int bytes) {
+        teamIdOf(route).ifPresent(teamId -> payloadBytes.add(teamId, bytes));
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        var sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            connectedSessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSessionSubscribe(SessionSubscribeEvent event) {
+        var headers = event.getMessage().getHeaders();
+        var sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(headers);
+        if (sessionAttributes == null) {
+            return;
+        }
+        teamIdOf(SimpMessageHeaderAccessor.getDestination(headers)).ifPresent(teamId -> {
+            if (sessionAttributes.putIfAbsent(SUBSCRIBED_TEAM_ATTRIBUTE, teamId) == null) {
+                subscribers.add(teamId, 1);
+            }
+        });
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        connectedSessions.remove(event.getSessionId());
+        var sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(event.getMessage().getHeaders());
+        if (sessionAttributes != null && sessionAttributes.remove(SUBSCRIBED_TEAM_ATTRIBUTE) instanceof String teamId) {
+            subscribers.subtract(teamId, 1);
+        }
+    }
+
+    public TeamActivity getTeamActivity(int limit) {
+        var boundedLimit = Math.max(0, Math.min(limit, topK));
+        return new TeamActivity(
+            connectedSessions.size(),
+            mutations.top(boundedLimit),
+            payloadBytes.top(boundedLimit),
+            topSubscribedTeams(boundedLimit)
+        );
+    }
+
+    private List<TeamCount> topSubscribedTeams(int limit) {
+        return subscribers.estimates().stream()
+            .map(estimate -> new TeamCount(estimate.key(), estimate.count(), estimate.error()))
+            .sorted(BY_COUNT)
+            .limit(limit)
+            .toList();
+    }
+
+    static Optional<String> teamIdOf(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return Optional.empty();
+        }
+        var end = destination.indexOf('/', TOPIC_PREFIX.length());
+        var teamId = end < 0 ? destination.substring(TOPIC_PREFIX.length()) : destination.substring(TOPIC_PREFIX.length(), end);
+        if (teamId.isEmpty() || teamId.equals(HEARTBEAT_TOPIC)) {
+            return Optional.empty();
+        }
+        return Optional.of(teamId);
+    }
+
+    public record TeamActivity(
+        int connectedSessions,
+        List<TeamCount> mutationsPerMinute,
+        List<TeamCount> payloadBytesPerMinute,
+        List<TeamCount> subscribers
+    ) {
+    }
+
+    public record TeamCount(String teamId, long count, long maxOverestimate) {
+    }
+
+    private record Rate(double count, double error) {
+        Rate plus(Rate other) {
+            return new Rate(count + other.count, error + other.error);
+        }
+    }
+
+    private final class MinuteWindow {
+        private long currentMinute = clock.getAsLong() / MILLIS_PER_MINUTE;
+        private SpaceSavingCounter previous = new SpaceSavingCounter(topK);
+        private SpaceSavingCounter current = new SpaceSavingCounter(topK);
+
+        void add(String teamId, long amount) {
+            counterFor(clock.getAsLong()).add(teamId, amount);
+        }
+
+        List<TeamCount> top(int limit) {
+            var now = clock.getAsLong();
+            SpaceSavingCounter previousCounter;
+            SpaceSavingCounter currentCounter;
+            synchronized (this) {
+                currentCounter = counterFor(now);
+                previousCounter = previous;
+            }
+
+            var previousWeight = 1 - (now % MILLIS_PER_MINUTE) / (double) MILLIS_PER_MINUTE;
+            var rates = new HashMap<String, Rate>();
+            for (Estimate estimate : previousCounter.estimates()) {
+                rates.merge(estimate.key(), new Rate(estimate.count() * previousWeight, estimate.error() * previousWeight), Rate::plus);
+            }
+            for (Estimate estimate : currentCounter.estimates()) {
+                rates.merge(estimate.key(), new Rate(estimate.count(), estimate.error()), Rate::plus);
+            }
+            return rates.entrySet().stream()
+                .map(entry -> new TeamCount(entry.getKey(), Math.round(entry.getValue().count()), Math.round(entry.getValue().error())))
+                .filter(teamCount -> teamCount.count() > 0)
+                .sorted(BY_COUNT)
+                .limit(limit)
+                .toList();
+        }
+
+        private synchronized SpaceSavingCounter counterFor(long now) {
+            var minute = now / MILLIS_PER_MINUTE;
+            if (minute > currentMinute) {
+                previous = minute == currentMinute + 1 ? current : new SpaceSavingCounter(topK);
+                current = new SpaceSavingCounter(topK);
+                currentMinute = minute;
+            }
+            return current;
+        }
+    }
+}
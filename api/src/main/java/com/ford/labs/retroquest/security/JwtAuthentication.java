@@ -17,24 +17,33 @@
 
 package com.ford.labs.retroquest.security;
 
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 public class JwtAuthentication implements Authentication {
 
     private final String jwt;
     private boolean isAuthenticated;
-    private final String signingKey;
+    private final UnaryOperator<String> subjectResolver;
+    private String subject;
 
     public JwtAuthentication(String jwt, boolean isAuthenticated, String signingKey) {
+        this(jwt, isAuthenticated, token -> Jwts.parser().setSigningKey(signingKey.getBytes()).parseClaimsJws(token).getBody().getSubject());
+    }
+
+    public JwtAuthentication(String jwt, boolean isAuthenticated, JwtClaimsCache claimsCache) {
+        this(jwt, isAuthenticated, claimsCache::getSubject);
+    }
+
+    private JwtAuthentication(String jwt, boolean isAuthenticated, UnaryOperator<String> subjectResolver) {
         this.jwt = jwt;
         this.isAuthenticated = isAuthenticated;
-        this.signingKey = signingKey;
+        this.subjectResolver = subjectResolver;
     }
 
     @Override
@@ -54,8 +63,10 @@ public class JwtAuthentication implements Authentication {
 
     @Override
     public Object getPrincipal() {
-        Claims parsedJwt = Jwts.parser().setSigningKey(signingKey.getBytes()).parseClaimsJws(jwt).getBody();
-        return parsedJwt.getSubject();
+        if (subject == null) {
+            subject = subjectResolver.apply(jwt);
+        }
+        return subject;
     }
 
     @Override
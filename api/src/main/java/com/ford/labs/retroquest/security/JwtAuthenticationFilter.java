@@ -17,7 +17,6 @@
 
 package com.ford.labs.retroquest.security;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -31,10 +30,10 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final String jwtSecret;
+    private final JwtClaimsCache jwtClaimsCache;
 
-    public JwtAuthenticationFilter(@Value("${retroquest.security.jwt-signing-secret}") String jwtSecret) {
-        this.jwtSecret = jwtSecret;
+    public JwtAuthenticationFilter(JwtClaimsCache jwtClaimsCache) {
+        this.jwtClaimsCache = jwtClaimsCache;
     }
 
     @Override
@@ -47,7 +46,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && !authHeader.contains("Basic")) {
             String token = authHeader.replace("Bearer ", "");
             if (!token.isEmpty()) {
-                SecurityContextHolder.getContext().setAuthentication(new JwtAuthentication(token, false, jwtSecret));
+                SecurityContextHolder.getContext().setAuthentication(new JwtAuthentication(token, false, jwtClaimsCache));
             }
         }
 
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class JwtClaimsCache {
+
+    private final byte[] signingKey;
+    private final int maximumSize;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public JwtClaimsCache(
+        @Value("${retroquest.security.jwt-signing-secret}") String jwtSecret,
+        @Value("${retroquest.security.jwt-cache.maximum-size}") int maximumSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.signingKey = jwtSecret.getBytes();
+        this.maximumSize = maximumSize;
+        this.hits = meterRegistry.counter("retroquest.jwt.cache.hits");
+        this.misses = meterRegistry.counter("retroquest.jwt.cache.misses");
+        this.evictions = meterRegistry.counter("retroquest.jwt.cache.evictions");
+        Gauge.builder("retroquest.jwt.cache.size", verifiedTokens, Map::size).register(meterRegistry);
+    }
+
+    public String getSubject(String jwt) {
+        if (!StringUtils.hasText(jwt)) {
+            return parse(jwt).getSubject();
+        }
+
+        var key = digest(jwt);
+        var cachedToken = verifiedTokens.get(key);
+        if (cachedToken != null) {
+            if (!cachedToken.isExpiredAt(Instant.now())) {
+                hits.increment();
+                return cachedToken.subject();
+            }
+            evict(key, cachedToken);
+        }
+
+        misses.increment();
+        var claims = parse(jwt);
+        makeRoomForNewToken();
+        verifiedTokens.put(key, new VerifiedToken(claims.getSubject(), expirationOf(claims)));
+        return claims.getSubject();
+    }
+
+    @Scheduled(fixedDelayString = "${retroquest.security.jwt-cache.sweep-interval-ms}")
+    public void evictExpiredTokens() {
+        var now = Instant.now();
+        verifiedTokens.forEach((key, token) -> {
+            if (token.isExpiredAt(now)) {
+                evict(key, token);
+            }
+        });
+    }
+
+    public int size() {
+        return verifiedTokens.size();
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parser().setSigningKey(signingKey).parseClaimsJws(jwt).getBody();
+    }
+
+    private void makeRoomForNewToken() {
+        if (verifiedTokens.size() < maximumSize) {
+            return;
+        }
+
+        evictExpiredTokens();
+        var iterator = verifiedTokens.entrySet().iterator();
+        while (verifiedTokens.size() >= maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private void evict(String key, VerifiedToken token) {
+        if (verifiedTokens.remove(key, token)) {
+            evictions.increment();
+        }
+    }
+
+    private static Instant expirationOf(Claims claims) {
+        return claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.MAX;
+    }
+
+    private static String digest(String jwt) {
+        try {
+            var sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(jwt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) {
+        boolean isExpiredAt(Instant instant) {
+            return !instant.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.security;
+
+import com.ford.labs.retroquest.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Component
+public class LoginRateLimiter {
+
+    private static final int BUCKETS = 10;
+    private static final int REJECTED = -1;
+    private static final int UNTRACKED = 0;
+
+    private final boolean enabled;
+    private final int maxFailuresPerTeamAndAddress;
+    private final int maxFailuresPerAddress;
+    private final long bucketMillis;
+    private final int maximumEntries;
+    private final LongSupplier clock;
+    private final Map<String, SlidingWindow> failuresByTeamAndAddress = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindow> failuresByAddress = new ConcurrentHashMap<>();
+
+    private final Counter failures;
+    private final Counter rejections;
+    private final Counter untracked;
+
+    @Autowired
+    public LoginRateLimiter(
+        @Value("${retroquest.security.login-rate-limit.enabled}") boolean enabled,
+        @Value("${retroquest.security.login-rate-limit.max-failures-per-team-and-address}") int maxFailuresPerTeamAndAddress,
+        @Value("${retroquest.security.login-rate-limit.max-failures-per-address}") int maxFailuresPerAddress,
+        @Value("${retroquest.security.login-rate-limit.window-ms}") long windowMillis,
+        @Value("${retroquest.security.login-rate-limit.maximum-entries}") int maximumEntries,
+        MeterRegistry meterRegistry
+    ) {
+        this(enabled, maxFailuresPerTeamAndAddress, maxFailuresPerAddress, windowMillis, maximumEntries, meterRegistry, System::currentTimeMillis);
+    }
+
+    LoginRateLimiter(
+        boolean enabled,
+        int maxFailuresPerTeamAndAddress,
+        int maxFailuresPerAddress,
+        long windowMillis,
+        int maximumEntries,
+        MeterRegistry meterRegistry,
+        LongSupplier clock
+    ) {
+        this.enabled = enabled;
+        this.maxFailuresPerTeamAndAddress = maxFailuresPerTeamAndAddress;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.bucketMillis = Math.max(1, windowMillis / BUCKETS);
+        this.maximumEntries = maximumEntries;
+        this.clock = clock;
+        this.failures = meterRegistry.counter("retroquest.login.failures");
+        this.rejections = meterRegistry.counter("retroquest.login.rate-limit.rejected");
+        this.untracked = meterRegistry.counter("retroquest.login.rate-limit.untracked");
+        Gauge.builder("retroquest.login.rate-limit.tracked", this, LoginRateLimiter::size).register(meterRegistry);
+    }
+
+    public LoginAttempt checkAllowed(String teamName, String clientAddress) {
+        var bucket = currentBucket();
+        if (!enabled) {
+            return new LoginAttempt(teamName, clientAddress, bucket, false);
+        }
+        if (reserve(failuresByAddress, clientAddress, bucket, maxFailuresPerAddress) == REJECTED) {
+            throw reject();
+        }
+        var reserved = reserve(failuresByTeamAndAddress, teamAndAddress(teamName, clientAddress), bucket, maxFailuresPerTeamAndAddress);
+        if (reserved == REJECTED) {
+            refund(failuresByAddress, clientAddress, bucket);
+            throw reject();
+        }
+        return new LoginAttempt(teamName, clientAddress, bucket, reserved == maxFailuresPerTeamAndAddress);
+    }
+
+    public boolean recordFailure(LoginAttempt attempt) {
+        failures.increment();
+        return enabled && attempt.reachesLimit();
+    }
+
+    public void recordSuccess(LoginAttempt attempt) {
+        failuresByTeamAndAddress.remove(teamAndAddress(attempt.teamName(), attempt.clientAddress()));
+        refund(failuresByAddress, attempt.clientAddress(), attempt.bucket());
+    }
+
+    public void cancel(LoginAttempt attempt) {
+        refund(failuresByTeamAndAddress, teamAndAddress(attempt.teamName(), attempt.clientAddress()), attempt.bucket());
+        refund(failuresByAddress, attempt.clientAddress(), attempt.bucket());
+    }
+
+    public int getMaxFailuresPerTeamAndAddress() {
+        return maxFailuresPerTeamAndAddress;
+    }
+
+    @Scheduled(fixedDelayString = "${retroquest.security.login-rate-limit.sweep-interval-ms}")
+    public void evictExpiredWindows() {
+        var bucket = currentBucket();
+        failuresByTeamAndAddress.values().removeIf(window -> window.countAt(bucket) == 0);
+        failuresByAddress.values().removeIf(window -> window.countAt(bucket) == 0);
+    }
+
+    public int size() {
+        return failuresByTeamAndAddress.size() + failuresByAddress.size();
+    }
+
+    private int reserve(Map<String, SlidingWindow> windows, String key, long bucket, int limit) {
+        var window = windows.get(key);
+        if (window == null) {
+            if (size() >= maximumEntries) {
+                evictExpiredWindows();
+            }
+            if (size() >= maximumEntries) {
+                untracked.increment();
+                return UNTRACKED;
+            }
+            window = windows.computeIfAbsent(key, k -> new SlidingWindow());
+        }
+        return window.reserve(bucket, limit);
+    }
+
+    private static void refund(Map<String, SlidingWindow> windows, String key, long bucket) {
+        var window = windows.get(key);
+        if (window != null) {
+            window.refund(bucket);
+        }
+    }
+
+    private TooManyLoginAttemptsException reject() {
+        rejections.increment();
+        return new TooManyLoginAttemptsException();
+    }
+
+    private long currentBucket() {
+        return clock.getAsLong() / bucketMillis;
+    }
+
+    private static String teamAndAddress(String teamName, String clientAddress) {
+        return String.valueOf(teamName).trim().toLowerCase(Locale.ROOT) + '|' + clientAddress;
+    }
+
+    public record LoginAttempt(String teamName, String clientAddress, long bucket, boolean reachesLimit) {
+    }
+
+    // Reserving checks the whole window and then bumps one slot, so it takes the window's lock: a compare-and-set on the
+    // slot alone would let two attempts on either side of a bucket boundary both pass the limit.
+    private static final class SlidingWindow {
+        private static final int COUNT_BITS = 20;
+        private static final long MAX_COUNT = (1L << COUNT_BITS) - 1;
+
+        private final long[] slots = new long[BUCKETS];
+
+        synchronized int reserve(long bucket, int limit) {
+            var count = countAt(bucket);
+            if (count >= limit) {
+                return REJECTED;
+            }
+            var index = (int) (bucket % BUCKETS);
+            var slot = slots[index];
+            var slotCount = bucketOf(slot) == bucket ? countOf(slot) : 0;
+            slots[index] = (bucket << COUNT_BITS) | Math.min(slotCount + 1, MAX_COUNT);
+            return count + 1;
+        }
+
+        synchronized void refund(long bucket) {
+            var index = (int) (bucket % BUCKETS);
+            var slot = slots[index];
+            if (bucketOf(slot) == bucket && countOf(slot) > 0) {
+                slots[index] = slot - 1;
+            }
+        }
+
+        synchronized int countAt(long bucket) {
+            var total = 0L;
+            for (var index = 0; index < BUCKETS; index++) {
+                var slot = slots[index];
+                var age = bucket - bucketOf(slot);
+                if (age >= 0 && age < BUCKETS) {
+                    total += countOf(slot);
+                }
+            }
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        }
+
+        private static long bucketOf(long slot) {
+            return slot >>> COUNT_BITS;
+        }
+
+        private static long countOf(long slot) {
+            return slot & MAX_COUNT;
+        }
+    }
+}
@@ -19,6 +19,8 @@ package com.ford.labs.retroquest.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -39,25 +41,36 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
+    private static final String ACTUATOR_ROLE = "ACTUATOR";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationProvider jwtAuthenticationProvider;
 
     private final boolean requireHttps;
+    private final int bcryptStrength;
+    private final String actuatorUsername;
+    private final String actuatorPassword;
 
     @Autowired
     public WebSecurityConfig(
         JwtAuthenticationFilter jwtAuthenticationFilter,
         JwtAuthenticationProvider jwtAuthenticationProvider,
-        @Value("${retroquest.security.require-https}") boolean requireHttps
+        @Value("${retroquest.security.require-https}") boolean requireHttps,
+        @Value("${retroquest.security.password-hashing.bcrypt-strength}") int bcryptStrength,
+        @Value("${retroquest.security.actuator.username}") String actuatorUsername,
+        @Value("${retroquest.security.actuator.password:}") String actuatorPassword
     ) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.jwtAuthenticationProvider = jwtAuthenticationProvider;
         this.requireHttps = requireHttps;
+        this.bcryptStrength = bcryptStrength;
+        this.actuatorUsername = actuatorUsername;
+        this.actuatorPassword = actuatorPassword;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Override
@@ -69,6 +82,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         httpSecurity
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             .and().authorizeRequests()
+            .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+            .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole(ACTUATOR_ROLE)
             .antMatchers("/**").permitAll()
             .anyRequest().authenticated()
             .and().exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(UNAUTHORIZED)))
@@ -82,6 +97,13 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     public void configure(AuthenticationManagerBuilder auth) throws Exception {
         auth.authenticationProvider(jwtAuthenticationProvider);
+        if (!actuatorPassword.isBlank()) {
+            auth.inMemoryAuthentication()
+                .passwordEncoder(passwordEncoder())
+                .withUser(actuatorUsername)
+                .password(passwordEncoder().encode(actuatorPassword))
+                .roles(ACTUATOR_ROLE);
+        }
     }
 
     private void displayH2ConsoleToDevs(HttpSecurity httpSecurity) throws Exception {
@@ -21,52 +21,61 @@ import com.ford.labs.retroquest.actionitem.ActionItem;
 import com.ford.labs.retroquest.column.Column;
 import com.ford.labs.retroquest.thought.Thought;
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@Data
+@Getter
 @AllArgsConstructor
-@NoArgsConstructor
 public class CsvFile {
 
-    private String teamName;
-    private List<Thought> thoughts;
-    private List<ActionItem> actionItems;
-    private List<Column> columns;
+    private final String teamName;
+    private final Stream<Thought> thoughts;
+    private final Stream<ActionItem> actionItems;
+    private final List<Column> columns;
 
-    public String getFileName() {
+    public static String getFileName(String teamName) {
         var today = LocalDate.now();
         return String.format("\"%s-retro-%d-%d-%d.csv\"", teamName, today.getMonthValue(), today.getDayOfMonth(), today.getYear());
     }
 
+    public String getFileName() {
+        return getFileName(teamName);
+    }
+
     public String getCsvString() throws IOException {
         var out = new ByteArrayOutputStream();
-        var writer = new BufferedWriter(new OutputStreamWriter(out));
+        writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
 
         var csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader("Column", "Message", "Likes", "Completed", "Assigned To"));
         Map<Long, String> columnNameMap = columns.stream().collect(Collectors.toMap(Column::getId, Column::getTitle));
-        for (var thought : thoughts) {
+        for (var thought : iterable(thoughts)) {
             csvPrinter.printRecord(getFieldsFrom(thought, columnNameMap));
         }
 
-        for (var actionItem : actionItems) {
+        for (var actionItem : iterable(actionItems)) {
             csvPrinter.printRecord(getFieldsFrom(actionItem));
         }
 
         csvPrinter.flush();
-        return out.toString();
     }
 
     private List<String> getFieldsFrom(Thought thought, Map<Long, String> columnNameMap) {
@@ -96,4 +105,8 @@ public class CsvFile {
         return Objects.toString(stringToConvert, "");
     }
 
+    private static <T> Iterable<T> iterable(Stream<T> stream) {
+        return stream::iterator;
+    }
+
 }
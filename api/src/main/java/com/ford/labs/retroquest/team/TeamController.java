@@ -20,7 +20,10 @@ package com.ford.labs.retroquest.team;
 import com.ford.labs.retroquest.email_reset_token.EmailResetToken;
 import com.ford.labs.retroquest.email_reset_token.EmailResetTokenRepository;
 import com.ford.labs.retroquest.exception.BadResetTokenException;
+import com.ford.labs.retroquest.exception.PasswordHashingUnavailableException;
 import com.ford.labs.retroquest.security.JwtBuilder;
+import com.ford.labs.retroquest.security.LoginRateLimiter;
+import com.ford.labs.retroquest.security.PasswordHashingExecutor;
 import com.ford.labs.retroquest.password_reset_token.PasswordResetToken;
 import com.ford.labs.retroquest.password_reset_token.PasswordResetTokenRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,11 +36,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.transaction.Transactional;
 import javax.validation.Valid;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.OK;
@@ -48,23 +55,32 @@ import static org.springframework.http.HttpStatus.OK;
 public class TeamController {
 
     private final TeamService teamService;
+    private final TeamImportService teamImportService;
     private final JwtBuilder jwtBuilder;
     private final PasswordResetTokenRepository passwordResetRepository;
 
     private final EmailResetTokenRepository emailResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginRateLimiter loginRateLimiter;
 
     public TeamController(
             TeamService teamService,
+            TeamImportService teamImportService,
             JwtBuilder jwtBuilder,
             PasswordResetTokenRepository passwordResetRepository,
-            EmailResetTokenRepository emailResetTokenRepository, PasswordEncoder passwordEncoder
+            EmailResetTokenRepository emailResetTokenRepository, PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor passwordHashingExecutor,
+            LoginRateLimiter loginRateLimiter
     ) {
         this.teamService = teamService;
+        this.teamImportService = teamImportService;
         this.jwtBuilder = jwtBuilder;
         this.passwordResetRepository = passwordResetRepository;
         this.emailResetTokenRepository = emailResetTokenRepository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping
@@ -132,12 +148,30 @@ public class TeamController {
     @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
     @Operation(description = "downloads a team board")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-    public ResponseEntity<byte[]> downloadTeamBoard(@PathVariable("teamId") String teamId) throws IOException {
-        var file = teamService.buildCsvFileFromTeam(teamId);
+    public ResponseEntity<StreamingResponseBody> downloadTeamBoard(@PathVariable("teamId") String teamId) {
+        StreamingResponseBody body = outputStream -> teamService.writeCsvFileForTeam(teamId, outputStream);
         return ResponseEntity.ok()
-            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.getFileName())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + CsvFile.getFileName(teamId))
             .contentType(MediaType.parseMediaType("text/csv"))
-            .body(file.getCsvString().getBytes());
+            .body(body);
+    }
+
+    @PostMapping(value = "/{teamId}/import", consumes = "text/csv")
+    @Transactional(rollbackOn = IOException.class)
+    @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
+    @Operation(description = "Imports thoughts and action items from a CSV file in the same shape as the team board download")
+    @ApiResponses(value = {@ApiResponse(responseCode = "201", description = "Created")})
+    public ResponseEntity<ImportResult> importCsv(@PathVariable("teamId") String teamId, InputStream body) throws IOException {
+        return new ResponseEntity<>(teamImportService.importCsv(teamId, body), CREATED);
+    }
+
+    @PostMapping(value = "/{teamId}/import", consumes = "application/x-ndjson")
+    @Transactional(rollbackOn = IOException.class)
+    @PreAuthorize("@teamAuthorization.requestIsAuthorized(authentication, #teamId)")
+    @Operation(description = "Imports thoughts and action items from newline-delimited JSON")
+    @ApiResponses(value = {@ApiResponse(responseCode = "201", description = "Created")})
+    public ResponseEntity<ImportResult> importNdjson(@PathVariable("teamId") String teamId, InputStream body) throws IOException {
+        return new ResponseEntity<>(teamImportService.importNdjson(teamId, body), CREATED);
     }
 
     @GetMapping(value = "/{teamId}/validate")
@@ -150,15 +184,27 @@ public class TeamController {
 
     @PostMapping("/login")
     @Operation(description = "Logs in a user given a login request")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-    public ResponseEntity<String> login(@RequestBody @Valid LoginRequest team) {
-        var savedTeamEntity = teamService.login(team);
-        var teamId = savedTeamEntity.getUri();
-        var jwt = jwtBuilder.buildJwt(teamId);
-
-        var headers = new HttpHeaders();
-        headers.add(HttpHeaders.LOCATION, teamId);
-
-        return new ResponseEntity<>(jwt, headers, OK);
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "429", description = "Too many failed login attempts")
+    })
+    public CompletableFuture<ResponseEntity<String>> login(@RequestBody @Valid LoginRequest team, HttpServletRequest request) {
+        var attempt = loginRateLimiter.checkAllowed(team.getName(), request.getRemoteAddr());
+        CompletableFuture<Team> login;
+        try {
+            login = passwordHashingExecutor.submit(() -> teamService.login(team, attempt));
+        } catch (PasswordHashingUnavailableException e) {
+            loginRateLimiter.cancel(attempt);
+            throw e;
+        }
+        return login.thenApply(savedTeamEntity -> {
+            var teamId = savedTeamEntity.getUri();
+            var jwt = jwtBuilder.buildJwt(teamId);
+
+            var headers = new HttpHeaders();
+            headers.add(HttpHeaders.LOCATION, teamId);
+
+            return new ResponseEntity<>(jwt, headers, OK);
+        });
     }
 }
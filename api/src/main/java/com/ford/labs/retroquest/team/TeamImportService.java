@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.team;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.board.ActiveBoardCache;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.exception.InvalidImportException;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import com.ford.labs.retroquest.websocket.WebsocketService;
+import com.ford.labs.retroquest.websocket.events.WebsocketImportEvent;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class TeamImportService {
+    private static final int FLUSH_SIZE = 500;
+    private static final String ACTION_ITEM_COLUMN = "action item";
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ThoughtRepository thoughtRepository;
+    private final ActionItemRepository actionItemRepository;
+    private final ColumnRepository columnRepository;
+    private final WebsocketService websocketService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ActiveBoardCache activeBoardCache;
+
+    public TeamImportService(
+        ThoughtRepository thoughtRepository,
+        ActionItemRepository actionItemRepository,
+        ColumnRepository columnRepository,
+        WebsocketService websocketService,
+        EntityManager entityManager,
+        ObjectMapper objectMapper,
+        ActiveBoardCache activeBoardCache
+    ) {
+        this.thoughtRepository = thoughtRepository;
+        this.actionItemRepository = actionItemRepository;
+        this.columnRepository = columnRepository;
+        this.websocketService = websocketService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.activeBoardCache = activeBoardCache;
+    }
+
+    public ImportResult importCsv(String teamId, InputStream input) throws IOException {
+        var columns = columnRepository.findAllByTeamId(teamId);
+        Map<String, Long> columnIdsByTitle = columns.stream()
+            .collect(Collectors.toMap(column -> column.getTitle().toLowerCase(), Column::getId, (first, second) -> first));
+        var batch = new ImportBatch(teamId);
+
+        var parser = CSVFormat.DEFAULT.withFirstRecordAsHeader()
+            .parse(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        for (var record : parser) {
+            var lineNumber = parser.getCurrentLineNumber();
+            var columnTitle = field(record, 0);
+            if (ACTION_ITEM_COLUMN.equalsIgnoreCase(columnTitle)) {
+                batch.add(actionItem(lineNumber, teamId, field(record, 1), "yes".equalsIgnoreCase(field(record, 3)), field(record, 4)));
+            } else {
+                var columnId = columnIdsByTitle.get(columnTitle.toLowerCase());
+                if (columnId == null) {
+                    throw new InvalidImportException(lineNumber, "unknown column \"" + columnTitle + "\"");
+                }
+                batch.add(thought(lineNumber, teamId, columnId, field(record, 1), parseHearts(lineNumber, field(record, 2)), "yes".equalsIgnoreCase(field(record, 3))));
+            }
+        }
+        return batch.finish();
+    }
+
+    public ImportResult importNdjson(String teamId, InputStream input) throws IOException {
+        Set<Long> columnIds = columnRepository.findAllByTeamId(teamId).stream()
+            .map(Column::getId)
+            .collect(Collectors.toSet());
+        var batch = new ImportBatch(teamId);
+
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            var importLine = parseLine(lineNumber, line);
+            if ("thought".equals(importLine.type())) {
+                if (!columnIds.contains(importLine.columnId())) {
+                    throw new InvalidImportException(lineNumber, "unknown column id " + importLine.columnId());
+                }
+                var hearts = importLine.hearts() != null ? importLine.hearts() : 0;
+                batch.add(thought(lineNumber, teamId, importLine.columnId(), importLine.message(), hearts, Boolean.TRUE.equals(importLine.discussed())));
+            } else if ("actionItem".equals(importLine.type())) {
+                batch.add(actionItem(lineNumber, teamId, importLine.task(), Boolean.TRUE.equals(importLine.completed()), importLine.assignee()));
+            } else {
+                throw new InvalidImportException(lineNumber, "type must be \"thought\" or \"actionItem\"");
+            }
+        }
+        return batch.finish();
+    }
+
+    private ImportLine parseLine(long lineNumber, String line) {
+        try {
+            return objectMapper.readValue(line, ImportLine.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException(lineNumber, "not a JSON object");
+        }
+    }
+
+    private static Thought thought(long lineNumber, String teamId, Long columnId, String message, int hearts, boolean discussed) {
+        if (message == null || message.isBlank()) {
+            throw new InvalidImportException(lineNumber, "message is required");
+        }
+        checkLength(lineNumber, "message", message);
+        return Thought.builder()
+            .teamId(teamId)
+            .columnId(columnId)
+            .message(message)
+            .hearts(hearts)
+            .discussed(discussed)
+            .build();
+    }
+
+    private static ActionItem actionItem(long lineNumber, String teamId, String task, boolean completed, String assignee) {
+        if (task == null || task.isBlank()) {
+            throw new InvalidImportException(lineNumber, "task is required");
+        }
+        checkLength(lineNumber, "task", task);
+        checkLength(lineNumber, "assignee", assignee);
+        return ActionItem.builder()
+            .teamId(teamId)
+            .task(task)
+            .completed(completed)
+            .assignee(assignee == null || assignee.isBlank() ? null : assignee)
+            .dateCreated(Date.valueOf(LocalDate.now()))
+            .build();
+    }
+
+    private static void checkLength(long lineNumber, String field, String value) {
+        if (value != null && value.codePointCount(0, value.length()) > MAX_TEXT_LENGTH) {
+            throw new InvalidImportException(lineNumber, field + " cannot be longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private static int parseHearts(long lineNumber, String hearts) {
+        if (hearts.isBlank()) {
+            return 0;
+        }
+        try {
+            var parsedHearts = Integer.parseInt(hearts.trim());
+            if (parsedHearts < 0) {
+                throw new InvalidImportException(lineNumber, "likes cannot be negative");
+            }
+            return parsedHearts;
+        } catch (NumberFormatException e) {
+            throw new InvalidImportException(lineNumber, "likes must be a number");
+        }
+    }
+
+    private static String field(CSVRecord record, int index) {
+        return index < record.size() ? record.get(index) : "";
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record ImportLine(
+        String type,
+        Long columnId,
+        String message,
+        Integer hearts,
+        Boolean discussed,
+        String task,
+        Boolean completed,
+        String assignee
+    ) {}
+
+    private class ImportBatch {
+        private final String teamId;
+        private final List<Thought> thoughts = new ArrayList<>();
+        private final List<ActionItem> actionItems = new ArrayList<>();
+        private int thoughtCount;
+        private int actionItemCount;
+
+        ImportBatch(String teamId) {
+            this.teamId = teamId;
+        }
+
+        void add(Thought thought) {
+            thoughts.add(thought);
+            flushIfFull();
+        }
+
+        void add(ActionItem actionItem) {
+            actionItems.add(actionItem);
+            flushIfFull();
+        }
+
+        ImportResult finish() {
+            flush();
+            var result = new ImportResult(teamId, thoughtCount, actionItemCount);
+            if (thoughtCount + actionItemCount > 0) {
+                activeBoardCache.evict(teamId);
+                websocketService.publishEvent(new WebsocketImportEvent(result));
+            }
+            return result;
+        }
+
+        private void flushIfFull() {
+            if (thoughts.size() + actionItems.size() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            thoughtRepository.saveAll(thoughts);
+            actionItemRepository.saveAll(actionItems);
+            entityManager.flush();
+            entityManager.clear();
+            thoughtCount += thoughts.size();
+            actionItemCount += actionItems.size();
+            thoughts.clear();
+            actionItems.clear();
+        }
+    }
+}
@@ -18,7 +18,11 @@
 package com.ford.labs.retroquest.team;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -32,4 +36,22 @@ public interface TeamRepository extends JpaRepository<Team, String> {
     List<Team> findTeamByEmailIgnoreCaseOrSecondaryEmailIgnoreCase(String email, String secondaryEmail);
 
     long countByLastLoginDateBetween(LocalDate start, LocalDate end);
+
+    @Query("select team.lastLoginDate as lastLoginDate, count(team) as teams from Team team where team.lastLoginDate is not null group by team.lastLoginDate")
+    List<TeamsByLastLoginDate> countTeamsByLastLoginDate();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Team team set team.failedAttempts = 0, team.lastLoginDate = :lastLoginDate where team.uri = :uri")
+    int recordSuccessfulLogin(@Param("uri") String uri, @Param("lastLoginDate") LocalDate lastLoginDate);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Team team set team.password = :newHash where team.uri = :uri and team.password = :oldHash")
+    int rehashPassword(@Param("uri") String uri, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Team team set team.failedAttempts = coalesce(team.failedAttempts, 0) + :failedAttempts where team.uri = :uri")
+    int recordFailedLogins(@Param("uri") String uri, @Param("failedAttempts") int failedAttempts);
 }
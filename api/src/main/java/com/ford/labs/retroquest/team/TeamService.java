@@ -22,13 +22,20 @@ import com.ford.labs.retroquest.column.Column;
 import com.ford.labs.retroquest.column.ColumnRepository;
 import com.ford.labs.retroquest.exception.TeamDoesNotExistException;
 import com.ford.labs.retroquest.exception.PasswordInvalidException;
+import com.ford.labs.retroquest.metrics.MetricsService;
+import com.ford.labs.retroquest.security.LoginRateLimiter;
+import com.ford.labs.retroquest.security.LoginRateLimiter.LoginAttempt;
 import com.ford.labs.retroquest.thought.ThoughtRepository;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketTeamEvent;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -42,6 +49,9 @@ public class TeamService {
     private final PasswordEncoder passwordEncoder;
     private final ColumnRepository columnRepository;
     private final WebsocketService websocketService;
+    private final EntityManager entityManager;
+    private final LoginRateLimiter loginRateLimiter;
+    private final MetricsService metricsService;
 
     public TeamService(
         ThoughtRepository thoughtRepository,
@@ -49,13 +59,19 @@ public class TeamService {
         TeamRepository teamRepository,
         PasswordEncoder passwordEncoder,
         ColumnRepository columnRepository,
-        WebsocketService websocketService) {
+        WebsocketService websocketService,
+        EntityManager entityManager,
+        LoginRateLimiter loginRateLimiter,
+        MetricsService metricsService) {
         this.thoughtRepository = thoughtRepository;
         this.actionItemRepository = actionItemRepository;
         this.teamRepository = teamRepository;
         this.passwordEncoder = passwordEncoder;
         this.columnRepository = columnRepository;
         this.websocketService = websocketService;
+        this.entityManager = entityManager;
+        this.loginRateLimiter = loginRateLimiter;
+        this.metricsService = metricsService;
     }
 
     public boolean isEmailOnTeam(Team team, String email) {
@@ -76,11 +92,20 @@ public class TeamService {
         return teamName.toLowerCase().replace(" ", "-");
     }
 
-    public CsvFile buildCsvFileFromTeam(String team) {
-        var thoughts = thoughtRepository.findAllByTeamIdAndBoardIdIsNullOrderByColumnId(team);
-        var actionItems = actionItemRepository.findAllByTeamIdAndArchived(team, false);
+    @Transactional(readOnly = true)
+    public void writeCsvFileForTeam(String team, OutputStream outputStream) throws IOException {
         var columns = columnRepository.findAllByTeamId(team);
-        return new CsvFile(team, thoughts, actionItems, columns);
+        try (
+            var thoughts = thoughtRepository.streamAllByTeamIdAndBoardIdIsNullOrderByColumnId(team);
+            var actionItems = actionItemRepository.streamAllByTeamIdAndArchived(team, false)
+        ) {
+            new CsvFile(
+                team,
+                thoughts.peek(entityManager::detach),
+                actionItems.peek(entityManager::detach),
+                columns
+            ).writeTo(outputStream);
+        }
     }
 
     public String encodePassword(String password) {
@@ -107,22 +132,39 @@ public class TeamService {
         );
         team = teamRepository.save(team);
         generateColumns(team);
+        metricsService.teamCreated();
 
         return team;
     }
 
-    public Team login(LoginRequest loginRequest) {
-        var savedTeam = getTeamByName(loginRequest.getName());
-
-        if (loginRequest.getPassword() == null || !passwordEncoder.matches(loginRequest.getPassword(), savedTeam.getPassword())) {
-            int failedAttempts = savedTeam.getFailedAttempts() != null ? savedTeam.getFailedAttempts() : 0;
-            updateFailedAttempts(savedTeam, failedAttempts + 1);
+    public Team login(LoginRequest loginRequest, LoginAttempt attempt) {
+        var savedTeam = teamRepository.findTeamByNameIgnoreCase(loginRequest.getName().trim()).orElse(null);
+
+        if (savedTeam == null || loginRequest.getPassword() == null || !passwordEncoder.matches(loginRequest.getPassword(), savedTeam.getPassword())) {
+            var lockedOut = loginRateLimiter.recordFailure(attempt);
+            if (savedTeam == null) {
+                throw new TeamDoesNotExistException();
+            }
+            if (lockedOut) {
+                int failedAttempts = savedTeam.getFailedAttempts() != null ? savedTeam.getFailedAttempts() : 0;
+                teamRepository.recordFailedLogins(savedTeam.getUri(), loginRateLimiter.getMaxFailuresPerTeamAndAddress());
+                savedTeam.setFailedAttempts(failedAttempts + loginRateLimiter.getMaxFailuresPerTeamAndAddress());
+            }
             throw new PasswordInvalidException();
         }
 
-        savedTeam.setLastLoginDate(LocalDate.now());
-        teamRepository.save(savedTeam);
-        updateFailedAttempts(savedTeam, 0);
+        var lastLoginDate = LocalDate.now();
+        teamRepository.recordSuccessfulLogin(savedTeam.getUri(), lastLoginDate);
+        if (passwordEncoder.upgradeEncoding(savedTeam.getPassword())) {
+            var upgradedHash = passwordEncoder.encode(loginRequest.getPassword());
+            if (teamRepository.rehashPassword(savedTeam.getUri(), savedTeam.getPassword(), upgradedHash) > 0) {
+                savedTeam.setPassword(upgradedHash);
+            }
+        }
+        metricsService.teamLoggedIn(savedTeam.getLastLoginDate(), lastLoginDate);
+        savedTeam.setLastLoginDate(lastLoginDate);
+        savedTeam.setFailedAttempts(0);
+        loginRateLimiter.recordSuccess(attempt);
         return savedTeam;
     }
 
@@ -131,9 +173,7 @@ public class TeamService {
         var confusedColumn = new Column(null, "confused", "Confused", team.getUri());
         var unhappyColumn = new Column(null, "unhappy", "Sad", team.getUri());
 
-        columnRepository.save(happyColumn);
-        columnRepository.save(confusedColumn);
-        columnRepository.save(unhappyColumn);
+        columnRepository.saveAll(List.of(happyColumn, confusedColumn, unhappyColumn));
     }
 
     public void changePassword(Team existingTeam, String newPassword){
@@ -141,11 +181,6 @@ public class TeamService {
         teamRepository.save(existingTeam);
     }
 
-    private void updateFailedAttempts(Team savedTeam, int failedAttempts) {
-        savedTeam.setFailedAttempts(failedAttempts);
-        teamRepository.save(savedTeam);
-    }
-
     public void updateTeamEmailAddresses(String teamId, UpdateTeamEmailAddressesRequest request) {
         Team team = this.getTeamByUri(teamId);
         team.setEmail(request.email1());
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.thought;
+
+import com.ford.labs.retroquest.exception.ThoughtNotFoundException;
+import com.ford.labs.retroquest.thought.ThoughtHeartRepository.HeartDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+@Component
+public class HeartCounter {
+    private static final Logger log = LoggerFactory.getLogger(HeartCounter.class);
+
+    private final ThoughtHeartRepository thoughtHeartRepository;
+    private final boolean writeBehind;
+    private final Map<Long, PendingHearts> pendingHearts = new ConcurrentHashMap<>();
+    private final Counter flushedHearts;
+
+    public HeartCounter(
+        ThoughtHeartRepository thoughtHeartRepository,
+        MeterRegistry meterRegistry,
+        @Value("${retroquest.hearts.write-behind.enabled}") boolean writeBehind
+    ) {
+        this.thoughtHeartRepository = thoughtHeartRepository;
+        this.writeBehind = writeBehind;
+        this.flushedHearts = meterRegistry.counter("retroquest.hearts.flushed");
+        Gauge.builder("retroquest.hearts.pending.delta", this, HeartCounter::pendingDelta).register(meterRegistry);
+        Gauge.builder("retroquest.hearts.pending.thoughts", pendingHearts, Map::size).register(meterRegistry);
+    }
+
+    public int like(String teamId, Long thoughtId) {
+        if (!writeBehind) {
+            return thoughtHeartRepository.incrementHearts(teamId, thoughtId)
+                .orElseThrow(() -> new ThoughtNotFoundException(thoughtId));
+        }
+
+        while (true) {
+            var pending = pendingHearts.get(thoughtId);
+            if (pending == null) {
+                var loaded = load(teamId, thoughtId);
+                pending = pendingHearts.putIfAbsent(thoughtId, loaded);
+                if (pending == null) {
+                    pending = loaded;
+                }
+            }
+            if (!pending.teamId.equals(teamId)) {
+                throw new ThoughtNotFoundException(thoughtId);
+            }
+            var total = pending.add(1);
+            if (pendingHearts.get(thoughtId) == pending) {
+                return total;
+            }
+            // Evicted between the lookup and the add, so count the heart against a fresh load instead.
+            pending.add(-1);
+        }
+    }
+
+    public Thought withPendingHearts(Thought thought) {
+        var pending = pendingHearts.get(thought.getId());
+        if (pending != null && pending.teamId.equals(thought.getTeamId())) {
+            return thought.toBuilder().hearts(pending.total()).build();
+        }
+        return thought;
+    }
+
+    public List<Thought> withPendingHearts(List<Thought> thoughts) {
+        return thoughts.stream().map(this::withPendingHearts).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${retroquest.hearts.write-behind.flush-interval-ms}")
+    public void flush() {
+        flush(pending -> true, false);
+    }
+
+    public void flush(String teamId) {
+        flush(pending -> pending.teamId.equals(teamId), true);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    long pendingDelta() {
+        return pendingHearts.values().stream().mapToLong(PendingHearts::delta).sum();
+    }
+
+    private synchronized void flush(Predicate<PendingHearts> shouldFlush, boolean evictFlushed) {
+        var flushing = new ArrayList<FlushedHearts>();
+        var idle = new ArrayList<Long>();
+        pendingHearts.forEach((thoughtId, pending) -> {
+            if (!shouldFlush.test(pending)) {
+                return;
+            }
+            var hearts = pending.drain();
+            if (hearts != 0) {
+                flushing.add(new FlushedHearts(pending, new HeartDelta(thoughtId, pending.teamId, hearts)));
+            } else {
+                idle.add(thoughtId);
+            }
+        });
+        idle.forEach(this::evictIfIdle);
+        if (flushing.isEmpty()) {
+            return;
+        }
+
+        try {
+            var updatedRows = thoughtHeartRepository.addHearts(flushing.stream().map(FlushedHearts::delta).toList());
+            for (int i = 0; i < flushing.size(); i++) {
+                var thoughtId = flushing.get(i).delta().thoughtId();
+                if (updatedRows[i] == 0) {
+                    pendingHearts.remove(thoughtId);
+                } else if (evictFlushed) {
+                    evictIfIdle(thoughtId);
+                }
+            }
+            flushedHearts.increment(flushing.stream().mapToLong(flushed -> flushed.delta().hearts()).sum());
+            restoreIfRolledBack(flushing);
+        } catch (DataAccessException e) {
+            log.warn("Could not flush hearts for {} thoughts, will retry", flushing.size(), e);
+            flushing.forEach(this::restore);
+        }
+    }
+
+    private void restoreIfRolledBack(List<FlushedHearts> flushing) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    flushing.forEach(HeartCounter.this::restore);
+                }
+            }
+        });
+    }
+
+    private void evictIfIdle(Long thoughtId) {
+        pendingHearts.computeIfPresent(thoughtId, (id, pending) -> pending.delta() == 0 ? null : pending);
+    }
+
+    private void restore(FlushedHearts flushed) {
+        var hearts = flushed.delta().hearts();
+        pendingHearts.compute(flushed.delta().thoughtId(), (id, current) -> {
+            if (current == null || current == flushed.pending()) {
+                flushed.pending().undrain(hearts);
+                return flushed.pending();
+            }
+            current.add(hearts);
+            return current;
+        });
+    }
+
+    private PendingHearts load(String teamId, Long thoughtId) {
+        var hearts = thoughtHeartRepository.findHearts(teamId, thoughtId)
+            .orElseThrow(() -> new ThoughtNotFoundException(thoughtId));
+        return new PendingHearts(teamId, hearts);
+    }
+
+    private record FlushedHearts(PendingHearts pending, HeartDelta delta) { }
+
+    private static class PendingHearts {
+        private final String teamId;
+        private final AtomicLong persisted;
+        private final LongAdder delta = new LongAdder();
+
+        PendingHearts(String teamId, long persisted) {
+            this.teamId = teamId;
+            this.persisted = new AtomicLong(persisted);
+        }
+
+        int add(long hearts) {
+            delta.add(hearts);
+            return total();
+        }
+
+        long drain() {
+            var drained = delta.sum();
+            persisted.addAndGet(drained);
+            delta.add(-drained);
+            return drained;
+        }
+
+        void undrain(long hearts) {
+            delta.add(hearts);
+            persisted.addAndGet(-hearts);
+        }
+
+        long delta() {
+            return delta.sum();
+        }
+
+        int total() {
+            return (int) (persisted.get() + delta.sum());
+        }
+    }
+}
@@ -18,24 +18,28 @@
 package com.ford.labs.retroquest.thought;
 
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 
 @Data
 @Getter
 @Setter
 @ToString
 @Entity
+@DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 public class Thought {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "thought_seq")
+    @SequenceGenerator(name = "thought_seq", sequenceName = "thought_seq", allocationSize = 50)
     private Long id;
 
     private String message;
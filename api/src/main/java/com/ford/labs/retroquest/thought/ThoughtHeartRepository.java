@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.thought;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class ThoughtHeartRepository {
+
+    private static final String UPDATE_RETURNING =
+        "UPDATE thought SET hearts = hearts + 1 WHERE id = ? AND team_id = ? RETURNING hearts";
+    private static final String SELECT_FROM_FINAL_TABLE =
+        "SELECT hearts FROM FINAL TABLE (UPDATE thought SET hearts = hearts + 1 WHERE id = ? AND team_id = ?)";
+    private static final String SELECT_HEARTS = "SELECT hearts FROM thought WHERE id = ? AND team_id = ?";
+    private static final String ADD_HEARTS = "UPDATE thought SET hearts = hearts + ? WHERE id = ? AND team_id = ?";
+
+    private static final ResultSetExtractor<Optional<Integer>> FIRST_HEART_COUNT =
+        resultSet -> resultSet.next() ? Optional.of(resultSet.getInt(1)) : Optional.empty();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String incrementStatement;
+
+    public ThoughtHeartRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.incrementStatement = isPostgres(jdbcTemplate.getDataSource()) ? UPDATE_RETURNING : SELECT_FROM_FINAL_TABLE;
+    }
+
+    public Optional<Integer> incrementHearts(String teamId, Long thoughtId) {
+        return jdbcTemplate.query(incrementStatement, FIRST_HEART_COUNT, thoughtId, teamId);
+    }
+
+    public Optional<Integer> findHearts(String teamId, Long thoughtId) {
+        return jdbcTemplate.query(SELECT_HEARTS, FIRST_HEART_COUNT, thoughtId, teamId);
+    }
+
+    public int[] addHearts(List<HeartDelta> deltas) {
+        return jdbcTemplate.batchUpdate(
+            ADD_HEARTS,
+            deltas.stream().map(delta -> new Object[]{delta.hearts(), delta.thoughtId(), delta.teamId()}).toList()
+        );
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(productName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not determine the database product", e);
+        }
+    }
+
+    public record HeartDelta(Long thoughtId, String teamId, long hearts) { }
+}
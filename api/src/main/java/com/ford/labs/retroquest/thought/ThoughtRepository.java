@@ -20,22 +20,32 @@ package com.ford.labs.retroquest.thought;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ThoughtRepository extends JpaRepository<Thought, Long> {
     List<Thought> findAllByTeamId(String teamId);
     List<Thought> findAllByTeamIdAndBoardIdIsNull(String teamId);
-    List<Thought> findAllByTeamIdAndBoardIdIsNullOrderByColumnId(String teamId);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Thought> streamAllByTeamIdAndBoardIdIsNullOrderByColumnId(String teamId);
+    List<Thought> findAllByTeamIdAndBoardIdInOrderByBoardIdAscIdAsc(String teamId, Collection<Long> boardIds);
+    boolean existsByTeamIdAndBoardIdIsNull(String teamId);
 
     void deleteThoughtByTeamIdAndId(String teamId, Long id);
     Optional<Thought> findByTeamIdAndId(String teamId, Long id);
 
     @Modifying
-    @Query("UPDATE Thought thought set thought.hearts = thought.hearts + 1 where thought.id = :thoughtId")
-    void incrementHeartCount(@Param("thoughtId") Long thoughtId);
+    @Query("UPDATE Thought thought set thought.boardId = :boardId where thought.teamId = :teamId and thought.boardId is null")
+    int moveActiveThoughtsToBoard(@Param("teamId") String teamId, @Param("boardId") Long boardId);
 }
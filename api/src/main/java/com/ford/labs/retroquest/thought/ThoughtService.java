@@ -17,11 +17,13 @@
 
 package com.ford.labs.retroquest.thought;
 
+import com.ford.labs.retroquest.board.ActiveBoardCache;
 import com.ford.labs.retroquest.column.ColumnRepository;
 import com.ford.labs.retroquest.exception.ColumnNotFoundException;
 import com.ford.labs.retroquest.exception.ThoughtNotFoundException;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtHeartEvent;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -33,33 +35,49 @@ import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDAT
 public class ThoughtService {
 
     private final ThoughtRepository thoughtRepository;
+    private final HeartCounter heartCounter;
     private final ColumnRepository columnRepository;
     private final WebsocketService websocketService;
+    private final ActiveBoardCache activeBoardCache;
 
     public ThoughtService(ThoughtRepository thoughtRepository,
+                          HeartCounter heartCounter,
                           ColumnRepository columnRepository,
-                          WebsocketService websocketService) {
+                          WebsocketService websocketService,
+                          ActiveBoardCache activeBoardCache) {
 
         this.thoughtRepository = thoughtRepository;
+        this.heartCounter = heartCounter;
         this.columnRepository = columnRepository;
         this.websocketService = websocketService;
+        this.activeBoardCache = activeBoardCache;
     }
 
     public List<Thought> fetchAllActiveThoughts(String teamId) {
-        return thoughtRepository.findAllByTeamIdAndBoardIdIsNull(teamId);
+        return heartCounter.withPendingHearts(activeBoardCache.getActiveThoughts(teamId));
     }
 
-    public Thought likeThought(String teamId, Long thoughtId) {
-        thoughtRepository.incrementHeartCount(thoughtId);
-        var thought = fetchThought(teamId, thoughtId);
-        websocketService.publishEvent(new WebsocketThoughtEvent(thought.getTeamId(), UPDATE, thought));
-        return thought;
+    public boolean hasActiveThoughts(String teamId) {
+        return thoughtRepository.existsByTeamIdAndBoardIdIsNull(teamId);
+    }
+
+    public int archiveActiveThoughts(String teamId, Long boardId) {
+        heartCounter.flush(teamId);
+        return thoughtRepository.moveActiveThoughtsToBoard(teamId, boardId);
+    }
+
+    public ThoughtHearts likeThought(String teamId, Long thoughtId) {
+        var thoughtHearts = new ThoughtHearts(thoughtId, heartCounter.like(teamId, thoughtId));
+        activeBoardCache.heartsChanged(teamId, thoughtHearts);
+        websocketService.publishEvent(new WebsocketThoughtHeartEvent(teamId, thoughtHearts));
+        return thoughtHearts;
     }
 
     public Thought discussThought(String teamId, Long thoughtId, boolean discussed) {
         var thought = fetchThought(teamId, thoughtId);
         thought.setDiscussed(discussed);
-        var savedThought = thoughtRepository.save(thought);
+        var savedThought = heartCounter.withPendingHearts(thoughtRepository.save(thought));
+        activeBoardCache.thoughtSaved(savedThought);
         websocketService.publishEvent(new WebsocketThoughtEvent(savedThought.getTeamId(), UPDATE, savedThought));
         return savedThought;
     }
@@ -68,7 +86,8 @@ public class ThoughtService {
         var column = columnRepository.findByTeamIdAndId(teamId, columnId).orElseThrow(ColumnNotFoundException::new);
         var thought = fetchThought(teamId, thoughtId);
         thought.setColumnId(column.getId());
-        var savedThought = thoughtRepository.save(thought);
+        var savedThought = heartCounter.withPendingHearts(thoughtRepository.save(thought));
+        activeBoardCache.thoughtSaved(savedThought);
         websocketService.publishEvent(new WebsocketThoughtEvent(savedThought.getTeamId(), UPDATE, savedThought));
         return savedThought;
     }
@@ -76,13 +95,15 @@ public class ThoughtService {
     public Thought updateThoughtMessage(String teamId, Long thoughtId, String updatedMessage) {
         var returnedThought = fetchThought(teamId, thoughtId);
         returnedThought.setMessage(updatedMessage);
-        var savedThought = thoughtRepository.save(returnedThought);
+        var savedThought = heartCounter.withPendingHearts(thoughtRepository.save(returnedThought));
+        activeBoardCache.thoughtSaved(savedThought);
         websocketService.publishEvent(new WebsocketThoughtEvent(savedThought.getTeamId(), UPDATE, savedThought));
         return savedThought;
     }
 
     public void deleteThought(String teamId, Long thoughtId) {
         thoughtRepository.deleteThoughtByTeamIdAndId(teamId, thoughtId);
+        activeBoardCache.thoughtDeleted(teamId, thoughtId);
         websocketService.publishEvent(new WebsocketThoughtEvent(teamId, DELETE, Thought.builder().id(thoughtId).build()));
     }
 
@@ -93,6 +114,7 @@ public class ThoughtService {
         thought.setTeamId(teamId);
 
         Thought createdThought = thoughtRepository.save(thought);
+        activeBoardCache.thoughtSaved(createdThought);
         websocketService.publishEvent(new WebsocketThoughtEvent(teamId, UPDATE, createdThought));
         return createdThought;
     }
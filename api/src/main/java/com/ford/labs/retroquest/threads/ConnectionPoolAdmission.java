@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.threads;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolAdmission {
+
+    private final Semaphore permits;
+    private final long admissionTimeoutMillis;
+
+    public ConnectionPoolAdmission(int permits, long admissionTimeoutMillis, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits, true);
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+        Gauge.builder("retroquest.connection-pool.admission.available", this.permits, Semaphore::availablePermits)
+            .register(meterRegistry);
+    }
+
+    public static int permitsFor(DataSource dataSource, int requestsPerConnection) {
+        try {
+            if (dataSource.isWrapperFor(HikariConfigMXBean.class)) {
+                return dataSource.unwrap(HikariConfigMXBean.class).getMaximumPoolSize() * requestsPerConnection;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the connection pool size", e);
+        }
+        throw new IllegalStateException("Admission is sized from the Hikari pool, but the DataSource is a " + dataSource.getClass().getName());
+    }
+
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "retroquest.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    public VirtualThreadConfiguration() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("retroquest.threads.virtual.enabled requires Java 21 or newer, but this is Java " + Runtime.version().feature());
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-virtual-"));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-virtual-"));
+    }
+
+    @Bean
+    public ConnectionPoolAdmission connectionPoolAdmission(
+        DataSource dataSource,
+        @Value("${retroquest.threads.virtual.requests-per-connection}") int requestsPerConnection,
+        @Value("${retroquest.threads.virtual.admission-timeout-ms}") long admissionTimeoutMillis,
+        MeterRegistry meterRegistry
+    ) {
+        var permits = ConnectionPoolAdmission.permitsFor(dataSource, requestsPerConnection);
+        return new ConnectionPoolAdmission(permits, admissionTimeoutMillis, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+        ConnectionPoolAdmission connectionPoolAdmission,
+        MeterRegistry meterRegistry
+    ) {
+        var registration = new FilterRegistrationBean<>(new RequestConcurrencyLimitFilter(connectionPoolAdmission, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
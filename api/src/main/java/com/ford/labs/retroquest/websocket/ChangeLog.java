@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ChangeLog {
+
+    // Sequences stay below 2^53 so browsers can parse them: 13 bits of instance id above a 40-bit counter.
+    private static final int COUNTER_BITS = 40;
+    private static final int INSTANCE_BITS = 13;
+    private static final long COUNTER_EPOCH_MILLIS = 1_600_000_000_000L;
+
+    private final int eventsPerTeam;
+    private final int maximumTeams;
+    private final long instanceId;
+    private final AtomicLong sequence;
+    private final Map<String, TeamLog> logs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChangeLog(
+        @Value("${retroquest.websocket.change-log.events-per-team}") int eventsPerTeam,
+        @Value("${retroquest.websocket.change-log.maximum-teams}") int maximumTeams,
+        MeterRegistry meterRegistry
+    ) {
+        this(eventsPerTeam, maximumTeams, meterRegistry, ThreadLocalRandom.current().nextLong(1, 1L << INSTANCE_BITS));
+    }
+
+    ChangeLog(int eventsPerTeam, int maximumTeams, MeterRegistry meterRegistry, long instanceId) {
+        this.eventsPerTeam = eventsPerTeam;
+        this.maximumTeams = maximumTeams;
+        this.instanceId = instanceId;
+        this.sequence = new AtomicLong((instanceId << COUNTER_BITS) | (System.currentTimeMillis() - COUNTER_EPOCH_MILLIS));
+        Gauge.builder("retroquest.websocket.change-log.teams", logs, Map::size).register(meterRegistry);
+    }
+
+    public void record(WebsocketEvent event) {
+        var teamId = event.getTeamId();
+        if (teamId == null) {
+            return;
+        }
+        var log = getLog(teamId);
+        log.append(event);
+        if (logs.get(teamId) != log) {
+            getLog(teamId).forgetUpTo(event.getSequence());
+        }
+    }
+
+    public Optional<List<WebsocketEvent>> getEventsSince(String teamId, long since) {
+        if (since >>> COUNTER_BITS != instanceId || since > sequence.get()) {
+            return Optional.empty();
+        }
+        return getLog(teamId).eventsSince(since);
+    }
+
+    public long getLatestSequence() {
+        return sequence.get();
+    }
+
+    public int size() {
+        return logs.size();
+    }
+
+    private TeamLog getLog(String teamId) {
+        var log = logs.get(teamId);
+        if (log == null) {
+            makeRoomForNewTeam();
+            log = logs.computeIfAbsent(teamId, TeamLog::new);
+        }
+        log.lastAccessed = System.nanoTime();
+        return log;
+    }
+
+    private void makeRoomForNewTeam() {
+        while (logs.size() >= maximumTeams) {
+            var leastRecentlyUsed = logs.values().stream().min(Comparator.comparingLong(log -> log.lastAccessed));
+            if (leastRecentlyUsed.isEmpty()) {
+                return;
+            }
+            logs.remove(leastRecentlyUsed.get().teamId, leastRecentlyUsed.get());
+        }
+    }
+
+    private class TeamLog {
+        private final String teamId;
+        private final WebsocketEvent[] events = new WebsocketEvent[eventsPerTeam];
+        private int first;
+        private int size;
+        private long missingUpTo = sequence.get();
+        private volatile long lastAccessed = System.nanoTime();
+
+        TeamLog(String teamId) {
+            this.teamId = teamId;
+        }
+
+        synchronized void append(WebsocketEvent event) {
+            event.setSequence(sequence.incrementAndGet());
+            if (size < events.length) {
+                events[(first + size) % events.length] = event;
+                size++;
+                return;
+            }
+            missingUpTo = events[first].getSequence();
+            events[first] = event;
+            first = (first + 1) % events.length;
+        }
+
+        synchronized void forgetUpTo(long sequence) {
+            missingUpTo = Math.max(missingUpTo, sequence);
+        }
+
+        synchronized Optional<List<WebsocketEvent>> eventsSince(long since) {
+            if (since < missingUpTo) {
+                return Optional.empty();
+            }
+            var newerEvents = new ArrayList<WebsocketEvent>();
+            for (int i = 0; i < size; i++) {
+                var event = events[(first + i) % events.length];
+                if (event.getSequence() > since) {
+                    newerEvents.add(event);
+                }
+            }
+            return Optional.of(newerEvents);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnExpression("'${retroquest.websocket.broker.mode}' != 'database'")
+public class LocalWebsocketBroadcaster implements WebsocketBroadcaster {
+
+    private static final MimeType JSON_UTF8 = new MimeType("application", "json", StandardCharsets.UTF_8);
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LocalWebsocketBroadcaster(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void broadcast(String route, byte[] payload) {
+        var headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(JSON_UTF8);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(route, MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+}
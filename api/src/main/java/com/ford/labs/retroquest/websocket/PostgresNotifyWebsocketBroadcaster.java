@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "retroquest.websocket.broker.mode", havingValue = "database")
+public class PostgresNotifyWebsocketBroadcaster implements WebsocketBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotifyWebsocketBroadcaster.class);
+
+    private static final int MAX_NOTIFY_PAYLOAD_BYTES = 7999;
+    private static final String STORED_PAYLOAD_PREFIX = "#";
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LocalWebsocketBroadcaster localBroadcaster;
+    private final String channel;
+    private final long payloadRetentionMillis;
+
+    private volatile boolean listening;
+    private Thread listenerThread;
+
+    public PostgresNotifyWebsocketBroadcaster(
+        DataSource dataSource,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        SimpMessagingTemplate messagingTemplate,
+        @Value("${retroquest.websocket.broker.database.channel}") String channel,
+        @Value("${retroquest.websocket.broker.database.payload-retention-ms}") long payloadRetentionMillis
+    ) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid LISTEN/NOTIFY channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.localBroadcaster = new LocalWebsocketBroadcaster(messagingTemplate);
+        this.channel = channel;
+        this.payloadRetentionMillis = payloadRetentionMillis;
+    }
+
+    @Override
+    public void broadcast(String route, byte[] payload) {
+        var json = new String(payload, StandardCharsets.UTF_8);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (route.getBytes(StandardCharsets.UTF_8).length + 1 + payload.length <= MAX_NOTIFY_PAYLOAD_BYTES) {
+                sendNotification(route + '\n' + json);
+                return;
+            }
+            var id = jdbcTemplate.queryForObject(
+                "INSERT INTO websocket_event_payload (route, payload) VALUES (?, ?) RETURNING id", Long.class, route, json
+            );
+            sendNotification(STORED_PAYLOAD_PREFIX + id);
+        });
+    }
+
+    public void onNotification(String notification) {
+        if (notification.startsWith(STORED_PAYLOAD_PREFIX)) {
+            onStoredPayloadNotification(Long.parseLong(notification.substring(STORED_PAYLOAD_PREFIX.length())));
+            return;
+        }
+        var separator = notification.indexOf('\n');
+        if (separator < 0) {
+            log.warn("Ignoring malformed notification on channel {}", channel);
+            return;
+        }
+        localBroadcaster.broadcast(
+            notification.substring(0, separator),
+            notification.substring(separator + 1).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${retroquest.websocket.broker.database.payload-retention-ms}")
+    public void deleteExpiredPayloads() {
+        jdbcTemplate.update(
+            "DELETE FROM websocket_event_payload WHERE created_at < now() - (? * interval '1 millisecond')",
+            payloadRetentionMillis
+        );
+    }
+
+    private void sendNotification(String notification) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, channel, notification);
+    }
+
+    private void onStoredPayloadNotification(long id) {
+        List<Map<String, Object>> rows;
+        try {
+            rows = jdbcTemplate.queryForList("SELECT route, payload FROM websocket_event_payload WHERE id = ?", id);
+        } catch (DataAccessException e) {
+            log.warn("Could not load stored websocket event {}", id, e);
+            return;
+        }
+        if (rows.isEmpty()) {
+            log.warn("Stored websocket event {} expired before it could be delivered", id);
+            return;
+        }
+        var row = rows.get(0);
+        localBroadcaster.broadcast((String) row.get("route"), ((String) row.get("payload")).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @PostConstruct
+    void startListening() {
+        listening = true;
+        listenerThread = new Thread(this::listen, "retroquest-" + channel + "-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stopListening() {
+        listening = false;
+        listenerThread.interrupt();
+    }
+
+    private void listen() {
+        while (listening) {
+            try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (listening) {
+                    var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (listening) {
+                    log.warn("Lost LISTEN connection on channel {}, reconnecting", channel, e);
+                    pauseBeforeReconnecting();
+                }
+            }
+        }
+    }
+
+    private void pauseBeforeReconnecting() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            listening = false;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.threads.ConnectionPoolAdmission;
+import com.ford.labs.retroquest.threads.VirtualThreads;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Channel registrations only accept a ThreadPoolTaskExecutor, so this keeps the type but starts a virtual thread per
+// message, running at most maxRunning at once with maxWaiting more queued behind them.
+class VirtualThreadChannelExecutor extends ThreadPoolTaskExecutor {
+
+    private final String threadNamePrefix;
+    private final int maxRunning;
+    private final int maxInFlight;
+    private final ConnectionPoolAdmission connectionPoolAdmission;
+    private final Semaphore runningSlots;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService virtualThreads;
+    private RejectedExecutionHandler rejectedExecutionHandler;
+
+    VirtualThreadChannelExecutor(
+        String threadNamePrefix,
+        int maxRunning,
+        int maxWaiting,
+        @Nullable ConnectionPoolAdmission connectionPoolAdmission
+    ) {
+        this.threadNamePrefix = threadNamePrefix;
+        this.maxRunning = maxRunning;
+        this.maxInFlight = maxRunning + maxWaiting;
+        this.connectionPoolAdmission = connectionPoolAdmission;
+        this.runningSlots = new Semaphore(maxRunning, true);
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
+        this.virtualThreads = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix);
+        return virtualThreads;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            rejectedExecutionHandler.rejectedExecution(task, null);
+            return;
+        }
+        try {
+            virtualThreads.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        var future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        var future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public ListenableFuture<?> submitListenable(Runnable task) {
+        var future = new ListenableFutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+        var future = new ListenableFutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public int getActiveCount() {
+        return maxRunning - runningSlots.availablePermits();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return inFlight.get();
+    }
+
+    int getQueueDepth() {
+        return Math.max(0, inFlight.get() - getActiveCount());
+    }
+
+    private void run(Runnable task) {
+        try {
+            runningSlots.acquire();
+            try {
+                runAdmitted(task);
+            } finally {
+                runningSlots.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void runAdmitted(Runnable task) throws InterruptedException {
+        if (connectionPoolAdmission == null) {
+            task.run();
+            return;
+        }
+        connectionPoolAdmission.acquire();
+        try {
+            task.run();
+        } finally {
+            connectionPoolAdmission.release();
+        }
+    }
+}
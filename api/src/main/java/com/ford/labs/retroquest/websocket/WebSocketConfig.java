@@ -19,6 +19,8 @@ package com.ford.labs.retroquest.websocket;
 
 
 import com.ford.labs.retroquest.security.JwtAuthentication;
+import com.ford.labs.retroquest.security.JwtClaimsCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
@@ -34,6 +36,7 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 import java.util.Optional;
 
@@ -43,16 +46,55 @@ import java.util.Optional;
 @Order(Ordered.HIGHEST_PRECEDENCE + 99)
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
-    private final String jwtSecret;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+    private final WebsocketChannelExecutors channelExecutors;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimitBytes;
+    private final MeterRegistry meterRegistry;
 
-    public WebSocketConfig(@Value("${retroquest.security.jwt-signing-secret}") String jwtSecret) {
-        this.jwtSecret = jwtSecret;
+    public WebSocketConfig(
+        JwtClaimsCache jwtClaimsCache,
+        @Value("${retroquest.websocket.broker.mode}") String brokerMode,
+        @Value("${retroquest.websocket.broker.relay.host}") String relayHost,
+        @Value("${retroquest.websocket.broker.relay.port}") int relayPort,
+        @Value("${retroquest.websocket.broker.relay.login}") String relayLogin,
+        @Value("${retroquest.websocket.broker.relay.passcode}") String relayPasscode,
+        WebsocketChannelExecutors channelExecutors,
+        @Value("${retroquest.websocket.transport.send-time-limit-ms}") int sendTimeLimitMillis,
+        @Value("${retroquest.websocket.transport.send-buffer-size-limit-bytes}") int sendBufferSizeLimitBytes,
+        MeterRegistry meterRegistry
+    ) {
+        this.jwtClaimsCache = jwtClaimsCache;
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+        this.channelExecutors = channelExecutors;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimitBytes = sendBufferSizeLimitBytes;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.setApplicationDestinationPrefixes("/app");
-        config.enableSimpleBroker("/topic");
+        if ("relay".equals(brokerMode)) {
+            config.enableStompBrokerRelay("/topic")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode);
+        } else {
+            config.enableSimpleBroker("/topic");
+        }
     }
 
     @Override
@@ -65,7 +107,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(new ChannelInterceptor() {
+        registration.taskExecutor(channelExecutors.inboundExecutor());
+        registration.interceptors(channelExecutors.inboundMessageCounter(), new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
                 var accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -75,10 +118,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                         .map(header -> header.replace("Bearer ", ""))
                         .orElse(null);
 
-                    accessor.setUser(new JwtAuthentication(token, false, jwtSecret));
+                    accessor.setUser(new JwtAuthentication(token, false, jwtClaimsCache));
                 }
                 return message;
             }
         });
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutors.outboundExecutor());
+        registration.interceptors(channelExecutors.outboundMessageCounter());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+            .setSendTimeLimit(sendTimeLimitMillis)
+            .setSendBufferSizeLimit(sendBufferSizeLimitBytes)
+            .addDecoratorFactory(new SlowConsumerDropCounter(meterRegistry));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.threads.ConnectionPoolAdmission;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+public class WebsocketChannelExecutors {
+
+    private final ChannelSettings inbound;
+    private final ChannelSettings outbound;
+    private final boolean virtualThreadsEnabled;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ConnectionPoolAdmission> connectionPoolAdmission;
+
+    public WebsocketChannelExecutors(
+        @Value("${retroquest.websocket.channels.inbound.core-pool-size}") int inboundCorePoolSize,
+        @Value("${retroquest.websocket.channels.inbound.max-pool-size}") int inboundMaxPoolSize,
+        @Value("${retroquest.websocket.channels.inbound.queue-capacity}") int inboundQueueCapacity,
+        @Value("${retroquest.websocket.channels.outbound.core-pool-size}") int outboundCorePoolSize,
+        @Value("${retroquest.websocket.channels.outbound.max-pool-size}") int outboundMaxPoolSize,
+        @Value("${retroquest.websocket.channels.outbound.queue-capacity}") int outboundQueueCapacity,
+        @Value("${retroquest.threads.virtual.enabled}") boolean virtualThreadsEnabled,
+        MeterRegistry meterRegistry,
+        ObjectProvider<ConnectionPoolAdmission> connectionPoolAdmission
+    ) {
+        this.inbound = new ChannelSettings("inbound", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+        this.outbound = new ChannelSettings("outbound", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.meterRegistry = meterRegistry;
+        this.connectionPoolAdmission = connectionPoolAdmission;
+    }
+
+    public ThreadPoolTaskExecutor inboundExecutor() {
+        return createExecutor(inbound, connectionPoolAdmission.getIfAvailable());
+    }
+
+    public ThreadPoolTaskExecutor outboundExecutor() {
+        return createExecutor(outbound, null);
+    }
+
+    public ChannelInterceptor inboundMessageCounter() {
+        return messageCounter(inbound);
+    }
+
+    public ChannelInterceptor outboundMessageCounter() {
+        return messageCounter(outbound);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(ChannelSettings settings, @Nullable ConnectionPoolAdmission admission) {
+        var executor = virtualThreadsEnabled
+            ? new VirtualThreadChannelExecutor(
+                "stomp-" + settings.name() + "-virtual-", settings.maxPoolSize(), settings.queueCapacity(), admission
+            )
+            : new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(settings.corePoolSize());
+        executor.setMaxPoolSize(settings.maxPoolSize());
+        executor.setQueueCapacity(settings.queueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+
+        var tags = Tags.of("channel", settings.name());
+        var rejections = meterRegistry.counter("retroquest.websocket.channel.rejected", tags);
+        executor.setRejectedExecutionHandler((task, threadPool) -> {
+            rejections.increment();
+            throw new RejectedExecutionException("The " + settings.name() + " websocket channel is full");
+        });
+        Gauge.builder("retroquest.websocket.channel.queue.depth", executor, WebsocketChannelExecutors::queueDepth)
+            .tags(tags)
+            .register(meterRegistry);
+        Gauge.builder("retroquest.websocket.channel.active.threads", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .tags(tags)
+            .register(meterRegistry);
+        Gauge.builder("retroquest.websocket.channel.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+            .tags(tags)
+            .register(meterRegistry);
+        return executor;
+    }
+
+    private ChannelInterceptor messageCounter(ChannelSettings settings) {
+        var messages = meterRegistry.counter("retroquest.websocket.channel.messages", "channel", settings.name());
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                messages.increment();
+                return message;
+            }
+        };
+    }
+
+    private record ChannelSettings(String name, int corePoolSize, int maxPoolSize, int queueCapacity) { }
+
+    private static double queueDepth(ThreadPoolTaskExecutor executor) {
+        if (executor instanceof VirtualThreadChannelExecutor virtualThreadExecutor) {
+            return virtualThreadExecutor.getQueueDepth();
+        }
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException notInitialized) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketEventType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.HEART;
+
+public class WebsocketEventBatcher {
+
+    private final long flushWindowMillis;
+    private final BiConsumer<String, List<WebsocketEvent>> flushHandler;
+    private final Map<String, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "websocket-event-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+
+    public WebsocketEventBatcher(
+        long flushWindowMillis,
+        MeterRegistry meterRegistry,
+        BiConsumer<String, List<WebsocketEvent>> flushHandler
+    ) {
+        this.flushWindowMillis = flushWindowMillis;
+        this.flushHandler = flushHandler;
+        this.batchSize = DistributionSummary.builder("retroquest.websocket.batch.size").register(meterRegistry);
+        this.flushLatency = Timer.builder("retroquest.websocket.batch.flush.latency").register(meterRegistry);
+    }
+
+    public void add(WebsocketEvent event) {
+        pendingBatches.compute(event.getRoute(), (route, batch) -> {
+            if (batch == null) {
+                batch = new PendingBatch();
+                scheduler.schedule(() -> flush(route), flushWindowMillis, TimeUnit.MILLISECONDS);
+            }
+            batch.add(event);
+            return batch;
+        });
+    }
+
+    public void flushAll() {
+        pendingBatches.keySet().forEach(this::flush);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flushAll();
+    }
+
+    private void flush(String route) {
+        var batch = pendingBatches.remove(route);
+        if (batch == null) {
+            return;
+        }
+
+        var events = batch.events();
+        batchSize.record(events.size());
+        flushHandler.accept(route, events);
+        flushLatency.record(System.nanoTime() - batch.startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private record EntityKey(WebsocketEventType type, Object entityId) { }
+
+    private static class PendingBatch {
+        private final long startedAt = System.nanoTime();
+        private final Map<Object, WebsocketEvent> events = new LinkedHashMap<>();
+
+        void add(WebsocketEvent event) {
+            var entityId = event.getEntityId();
+            if (entityId == null) {
+                events.put(new Object(), event);
+                return;
+            }
+
+            if (event.getType() == HEART) {
+                events.remove(new EntityKey(HEART, entityId));
+            } else {
+                events.keySet().removeIf(key -> key instanceof EntityKey entityKey && entityKey.entityId().equals(entityId));
+            }
+            events.put(new EntityKey(event.getType(), entityId), event);
+        }
+
+        List<WebsocketEvent> events() {
+            return new ArrayList<>(events.values());
+        }
+    }
+}
@@ -19,27 +19,118 @@ package com.ford.labs.retroquest.websocket;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ford.labs.retroquest.metrics.OperationTimings;
+import com.ford.labs.retroquest.metrics.TeamActivityTracker;
 import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ford.labs.retroquest.metrics.OperationTimings.WEBSOCKET_PUBLISH;
 
 @Service
 public class WebsocketService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebsocketBroadcaster broadcaster;
     private final ObjectMapper mapper;
+    private final WebsocketEventBatcher batcher;
+    private final ChangeLog changeLog;
+    private final OperationTimings operationTimings;
+    private final TeamActivityTracker teamActivityTracker;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
-    public WebsocketService(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
-        this.messagingTemplate = messagingTemplate;
+    public WebsocketService(
+        WebsocketBroadcaster broadcaster,
+        ObjectMapper objectMapper,
+        ChangeLog changeLog,
+        OperationTimings operationTimings,
+        TeamActivityTracker teamActivityTracker,
+        MeterRegistry meterRegistry,
+        @Value("${retroquest.websocket.batching.enabled}") boolean batchingEnabled,
+        @Value("${retroquest.websocket.batching.flush-window-ms}") long flushWindowMillis
+    ) {
+        this.broadcaster = broadcaster;
         this.mapper = objectMapper;
+        this.batcher = batchingEnabled
+            ? new WebsocketEventBatcher(flushWindowMillis, meterRegistry, this::publishBatch)
+            : null;
+        this.changeLog = changeLog;
+        this.operationTimings = operationTimings;
+        this.teamActivityTracker = teamActivityTracker;
     }
 
     public void publishEvent(WebsocketEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(event);
+            }
+        });
+    }
+
+    @PreDestroy
+    void flushPendingEvents() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    private void send(WebsocketEvent event) {
+        changeLog.record(event);
+        teamActivityTracker.mutationPublished(event.getRoute());
+        if (batcher != null) {
+            batcher.add(event);
+            return;
+        }
+        try {
+            var start = System.nanoTime();
+            var payload = serialize(event);
+            broadcast(event.getRoute(), payload, start);
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void publishBatch(String route, List<WebsocketEvent> events) {
         try {
-            messagingTemplate.convertAndSend(event.getRoute(), mapper.writeValueAsString(event));
+            var start = System.nanoTime();
+            var frame = new ByteArrayOutputStream();
+            frame.write('[');
+            for (int i = 0; i < events.size(); i++) {
+                if (i > 0) {
+                    frame.write(',');
+                }
+                frame.writeBytes(serialize(events.get(i)));
+            }
+            frame.write(']');
+            broadcast(route, frame.toByteArray(), start);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
     }
+
+    private void broadcast(String route, byte[] payload, long serializationStart) {
+        var broadcastStart = System.nanoTime();
+        operationTimings.record(WEBSOCKET_PUBLISH, "serialize", broadcastStart - serializationStart);
+        broadcaster.broadcast(route, payload);
+        teamActivityTracker.payloadPublished(route, payload.length);
+        operationTimings.record(WEBSOCKET_PUBLISH, "broadcast", System.nanoTime() - broadcastStart);
+    }
+
+    private byte[] serialize(WebsocketEvent event) throws JsonProcessingException {
+        return writers.computeIfAbsent(event.getClass(), mapper::writerFor).writeValueAsBytes(event);
+    }
 }
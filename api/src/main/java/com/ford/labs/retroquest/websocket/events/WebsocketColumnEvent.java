@@ -33,4 +33,14 @@ public class WebsocketColumnEvent extends WebsocketEvent{
     public String getRoute() {
         return String.format(ROUTE_STRING, teamId);
     }
+
+    @Override
+    public String getTeamId() {
+        return teamId;
+    }
+
+    @Override
+    public Object getEntityId() {
+        return ((Column) getPayload()).getId();
+    }
 }
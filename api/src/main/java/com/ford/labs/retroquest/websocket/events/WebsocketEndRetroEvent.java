@@ -32,4 +32,9 @@ public class WebsocketEndRetroEvent extends WebsocketEvent {
     public String getRoute() {
         return String.format(ROUTE_STRING, teamId);
     }
+
+    @Override
+    public String getTeamId() {
+        return teamId;
+    }
 }
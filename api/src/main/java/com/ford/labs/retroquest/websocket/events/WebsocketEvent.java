@@ -18,16 +18,19 @@
 package com.ford.labs.retroquest.websocket.events;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 
 @Getter
-@AllArgsConstructor
+@RequiredArgsConstructor
 @EqualsAndHashCode
 @ToString
 @JsonAutoDetect(fieldVisibility = NONE, getterVisibility = NONE)
@@ -36,6 +39,19 @@ public abstract class WebsocketEvent {
     private final WebsocketEventType type;
     @JsonProperty
     private final Object payload;
+    @JsonProperty
+    @JsonInclude(NON_NULL)
+    @EqualsAndHashCode.Exclude
+    @Setter
+    private Long sequence;
 
     public abstract String getRoute();
+
+    public String getTeamId() {
+        return null;
+    }
+
+    public Object getEntityId() {
+        return null;
+    }
 }
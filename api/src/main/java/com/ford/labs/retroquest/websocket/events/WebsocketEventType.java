@@ -23,5 +23,9 @@ public enum WebsocketEventType {
     @JsonProperty("put")
     UPDATE,
     @JsonProperty("delete")
-    DELETE
+    DELETE,
+    @JsonProperty("heart")
+    HEART,
+    @JsonProperty("import")
+    IMPORT
 }
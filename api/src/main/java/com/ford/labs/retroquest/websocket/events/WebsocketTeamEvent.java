@@ -34,4 +34,14 @@ public class WebsocketTeamEvent extends WebsocketEvent {
     public String getRoute() {
         return String.format(ROUTE_STRING, teamId);
     }
+
+    @Override
+    public String getTeamId() {
+        return teamId;
+    }
+
+    @Override
+    public Object getEntityId() {
+        return ((Team) getPayload()).getUri();
+    }
 }
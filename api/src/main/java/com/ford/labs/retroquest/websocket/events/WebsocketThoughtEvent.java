@@ -34,4 +34,14 @@ public class WebsocketThoughtEvent extends WebsocketEvent {
     public String getRoute() {
         return String.format(ROUTE_STRING, teamId);
     }
+
+    @Override
+    public String getTeamId() {
+        return teamId;
+    }
+
+    @Override
+    public Object getEntityId() {
+        return ((Thought) getPayload()).getId();
+    }
 }
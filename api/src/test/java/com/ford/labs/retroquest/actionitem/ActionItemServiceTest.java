@@ -17,29 +17,47 @@
 
 package com.ford.labs.retroquest.actionitem;
 
+import com.ford.labs.retroquest.board.ActiveBoardCache;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 class ActionItemServiceTest {
     private final ActionItemRepository mockActionItemRepository = mock(ActionItemRepository.class);
     private final WebsocketService mockWebsocketService = mock(WebsocketService.class);
-    private final ActionItemService actionItemService = new ActionItemService(mockActionItemRepository, mockWebsocketService);
+    private final ActiveBoardCache mockActiveBoardCache = mock(ActiveBoardCache.class);
+    private final ActionItemService actionItemService = new ActionItemService(mockActionItemRepository, mockWebsocketService, mockActiveBoardCache);
 
     @Test
-    public void archiveCompletedActionItems_MarksCompletedButUnarchivedActionItemsAsArchived() {
-        var completedActionItem = ActionItem.builder().id(1L).teamId("The team").completed(true).archived(false).build();
-        var otherCompletedActionItem = ActionItem.builder().id(2L).teamId("The team").completed(true).archived(false).build();
-        when(mockActionItemRepository.findAllByTeamIdAndArchivedIsFalseAndCompletedIsTrue("The team")).thenReturn(List.of(completedActionItem, otherCompletedActionItem));
+    public void archiveCompletedActionItems_ArchivesCompletedItemsInOneUpdate() {
+        when(mockActionItemRepository.archiveCompletedActionItems("The team")).thenReturn(2);
 
-        actionItemService.archiveCompletedActionItems("The team");
+        var archivedCount = actionItemService.archiveCompletedActionItems("The team");
 
-        var expectedCompletedActionItem = ActionItem.builder().id(1L).teamId("The team").completed(true).archived(true).build();
-        var otherExpectedCompletedActionItem = ActionItem.builder().id(2L).teamId("The team").completed(true).archived(true).build();
-        verify(mockActionItemRepository).saveAll(List.of(expectedCompletedActionItem, otherExpectedCompletedActionItem));
+        assertThat(archivedCount).isEqualTo(2);
+        verify(mockActionItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void getActionItems_ForActiveItems_ReadsFromTheActiveBoardCache() {
+        var activeActionItems = List.of(ActionItem.builder().id(1L).task("task").build());
+        when(mockActiveBoardCache.getActiveActionItems("The team")).thenReturn(activeActionItems);
+
+        assertThat(actionItemService.getActionItems("The team", Optional.of(false))).isEqualTo(activeActionItems);
+        verify(mockActionItemRepository, never()).findAllByTeamIdAndArchived(any(), anyBoolean());
+    }
+
+    @Test
+    public void getActionItems_ForArchivedItems_ReadsFromTheDatabase() {
+        actionItemService.getActionItems("The team", Optional.of(true));
+
+        verify(mockActionItemRepository).findAllByTeamIdAndArchived("The team", true);
+        verify(mockActiveBoardCache, never()).getActiveActionItems(any());
     }
 
 }
\ No newline at end of file
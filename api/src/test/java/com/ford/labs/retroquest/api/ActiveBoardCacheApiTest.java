@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.actionitem.ActionItemService;
+import com.ford.labs.retroquest.actionitem.CreateActionItemRequest;
+import com.ford.labs.retroquest.actionitem.UpdateActionItemArchivedRequest;
+import com.ford.labs.retroquest.actionitem.UpdateActionItemCompletedRequest;
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import com.ford.labs.retroquest.board.ActiveBoardCache;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.CreateThoughtRequest;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import com.ford.labs.retroquest.thought.ThoughtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("api")
+@TestPropertySource(properties = "retroquest.board-cache.enabled=true")
+class ActiveBoardCacheApiTest extends ApiTestBase {
+
+    private static final int WRITERS = 8;
+    private static final int OPERATIONS_PER_WRITER = 60;
+
+    @Autowired
+    private ThoughtService thoughtService;
+
+    @Autowired
+    private ActionItemService actionItemService;
+
+    @Autowired
+    private ActiveBoardCache activeBoardCache;
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired
+    private ColumnRepository columnRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Column column;
+
+    @BeforeEach
+    void setup() {
+        thoughtRepository.deleteAllInBatch();
+        actionItemRepository.deleteAllInBatch();
+        columnRepository.deleteAllInBatch();
+        activeBoardCache.evict(teamId);
+        column = columnRepository.save(new Column(null, "happy", "Happy", teamId));
+    }
+
+    @Test
+    void cachedBoard_AfterConcurrentWritesAndReads_MatchesTheDatabase() throws Exception {
+        var executor = Executors.newFixedThreadPool(WRITERS + 1);
+        var start = new CountDownLatch(1);
+        var writing = new AtomicBoolean(true);
+        var writers = new ArrayList<Future<?>>();
+        var thoughtIds = new SharedIds();
+        var actionItemIds = new SharedIds();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            var random = new Random(writer);
+            writers.add(executor.submit(() -> {
+                start.await();
+                write(random, thoughtIds, actionItemIds);
+                return null;
+            }));
+        }
+        var reader = executor.submit(() -> {
+            start.await();
+            var reads = 0;
+            while (writing.get()) {
+                thoughtService.fetchAllActiveThoughts(teamId);
+                actionItemService.getActionItems(teamId, Optional.of(false));
+                if (++reads % 50 == 0) {
+                    activeBoardCache.evict(teamId);
+                }
+            }
+            return null;
+        });
+        start.countDown();
+
+        for (var writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        reader.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(thoughtService.fetchAllActiveThoughts(teamId))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrderElementsOf(thoughtRepository.findAllByTeamIdAndBoardIdIsNull(teamId));
+        assertThat(actionItemService.getActionItems(teamId, Optional.of(false)))
+            .usingRecursiveFieldByFieldElementComparatorIgnoringFields("dateCreated")
+            .containsExactlyInAnyOrderElementsOf(actionItemRepository.findAllByTeamIdAndArchived(teamId, false));
+    }
+
+    private void write(Random random, SharedIds thoughtIds, SharedIds actionItemIds) {
+        for (int operation = 0; operation < OPERATIONS_PER_WRITER; operation++) {
+            var choice = thoughtIds.isEmpty() || actionItemIds.isEmpty() ? random.nextInt(2) : random.nextInt(8);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    switch (choice) {
+                        case 0 -> thoughtIds.add(thoughtService.createThought(teamId, new CreateThoughtRequest("thought", column.getId())).getId());
+                        case 1 -> actionItemIds.add(actionItemService.createActionItem(teamId, new CreateActionItemRequest("task", false, null, null, false)).getId());
+                        case 2 -> thoughtService.likeThought(teamId, thoughtIds.pick(random));
+                        case 3 -> thoughtService.updateThoughtMessage(teamId, thoughtIds.pick(random), "edited " + random.nextInt());
+                        case 4 -> thoughtService.discussThought(teamId, thoughtIds.pick(random), random.nextBoolean());
+                        case 5 -> thoughtService.deleteThought(teamId, thoughtIds.take(random));
+                        case 6 -> actionItemService.updateCompletedStatus(teamId, actionItemIds.pick(random), new UpdateActionItemCompletedRequest(random.nextBoolean()));
+                        default -> actionItemService.updateArchivedStatus(teamId, actionItemIds.take(random), new UpdateActionItemArchivedRequest(true));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // writers share ids, so an operation can lose a race with a delete or a conflicting update
+            }
+        }
+    }
+
+    private static class SharedIds {
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        synchronized void add(Long id) {
+            ids.add(id);
+        }
+
+        synchronized Long pick(Random random) {
+            return ids.isEmpty() ? -1L : ids.get(random.nextInt(ids.size()));
+        }
+
+        synchronized Long take(Random random) {
+            return ids.isEmpty() ? -1L : ids.remove(random.nextInt(ids.size()));
+        }
+    }
+}
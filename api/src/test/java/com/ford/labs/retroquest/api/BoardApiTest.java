@@ -17,6 +17,8 @@
 
 package com.ford.labs.retroquest.api;
 
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
 import com.ford.labs.retroquest.api.setup.ApiTestBase;
 import com.ford.labs.retroquest.board.Board;
 import com.ford.labs.retroquest.board.BoardRepository;
@@ -32,11 +34,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -59,11 +65,15 @@ class BoardApiTest extends ApiTestBase {
     @Autowired
     private ThoughtService thoughtService;
 
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
     private Column column;
 
     @BeforeEach
     void setup() {
         thoughtRepository.deleteAllInBatch();
+        actionItemRepository.deleteAllInBatch();
         columnRepository.deleteAllInBatch();
         boardRepository.deleteAllInBatch();
 
@@ -125,6 +135,41 @@ class BoardApiTest extends ApiTestBase {
                 .andExpect(jsonPath("$[0].dateCreated", Matchers.is("2018-02-02")));
     }
 
+    @Test
+    void getBoards_ShouldGetBoardsSortedByThoughtCount() throws Exception {
+        setupBoards();
+        mockMvc.perform(get("/api/team/" + teamId + "/boards?sortBy=thoughtCount&sortOrder=DESC")
+                        .header("Authorization", getBearerAuthToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", Matchers.is(3)))
+                .andExpect(jsonPath("$[0].dateCreated", Matchers.is("2018-02-02")))
+                .andExpect(jsonPath("$[0].thoughtCount", Matchers.is(3)))
+                .andExpect(jsonPath("$[1].dateCreated", Matchers.is("2018-01-01")))
+                .andExpect(jsonPath("$[1].thoughtCount", Matchers.is(2)))
+                .andExpect(jsonPath("$[2].dateCreated", Matchers.is("2018-03-03")))
+                .andExpect(jsonPath("$[2].thoughtCount", Matchers.is(1)));
+    }
+
+    @Test
+    void getBoards_ShouldSummarizeEachBoardWithoutItsThoughts() throws Exception {
+        var board = boardRepository.save(Board.builder()
+                .dateCreated(LocalDate.of(2018, 1, 1))
+                .teamId(teamId)
+                .thoughts(List.of())
+                .build());
+        thoughtRepository.save(Thought.builder().boardId(board.getId()).columnId(column.getId()).message("meh").hearts(1).build());
+        thoughtRepository.save(Thought.builder().boardId(board.getId()).columnId(column.getId()).message("loved it").hearts(7).build());
+
+        mockMvc.perform(get("/api/team/" + teamId + "/boards")
+                        .header("Authorization", getBearerAuthToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", Matchers.is(board.getId().intValue())))
+                .andExpect(jsonPath("$[0].thoughtCount", Matchers.is(2)))
+                .andExpect(jsonPath("$[0].topThought", Matchers.is("loved it")))
+                .andExpect(jsonPath("$[0].topThoughtHearts", Matchers.is(7)))
+                .andExpect(jsonPath("$[0].thoughts").doesNotExist());
+    }
+
     @Test
     void getBoard_ShouldGetFullRetroBoardFromTeamIdAndBoardId() throws Exception {
         Board expectedBoard = boardRepository.save(Board.builder()
@@ -263,6 +308,25 @@ class BoardApiTest extends ApiTestBase {
         assertThat(boardRepository.findAllByTeamId(teamId).get(0).getThoughts().get(0).getId()).isEqualTo(savedThought.getId());
     }
 
+    @Test
+    public void endRetro_ShouldArchiveEverythingAndReturnTheCounts() throws Exception {
+        thoughtService.createThought(teamId, new CreateThoughtRequest("first", column.getId()));
+        thoughtService.createThought(teamId, new CreateThoughtRequest("second", column.getId()));
+        var completedActionItem = actionItemRepository.save(ActionItem.builder().teamId(teamId).task("done").completed(true).build());
+        var openActionItem = actionItemRepository.save(ActionItem.builder().teamId(teamId).task("not done").build());
+
+        mockMvc.perform(put(format("/api/team/%s/end-retro", teamId))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.boardId", Matchers.notNullValue()))
+            .andExpect(jsonPath("$.archivedThoughtCount", Matchers.is(2)))
+            .andExpect(jsonPath("$.archivedActionItemCount", Matchers.is(1)));
+
+        assertThat(thoughtRepository.findAllByTeamIdAndBoardIdIsNull(teamId)).isEmpty();
+        assertThat(actionItemRepository.findById(completedActionItem.getId()).orElseThrow().isArchived()).isTrue();
+        assertThat(actionItemRepository.findById(openActionItem.getId()).orElseThrow().isArchived()).isFalse();
+    }
+
     @Test
     public void endRetro_WithUnauthorizedUser_Returns403() throws Exception {
         mockMvc.perform(put(format("/api/team/%s/end-retro", teamId))
@@ -270,6 +334,158 @@ class BoardApiTest extends ApiTestBase {
             .andExpect(status().isForbidden());
     }
 
+    @Test
+    public void getBoardState_ReturnsColumnsActiveThoughtsAndUnarchivedActionItemsWithAnETag() throws Exception {
+        thoughtService.createThought(teamId, new CreateThoughtRequest("active", column.getId()));
+        actionItemRepository.save(ActionItem.builder().teamId(teamId).task("not done").build());
+        actionItemRepository.save(ActionItem.builder().teamId(teamId).task("archived").archived(true).build());
+
+        mockMvc.perform(get(format("/api/team/%s/board-state", teamId))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.columns[0].title", Matchers.is("Happy")))
+            .andExpect(jsonPath("$.thoughts[*].message", Matchers.contains("active")))
+            .andExpect(jsonPath("$.actionItems[*].task", Matchers.contains("not done")));
+    }
+
+    @Test
+    public void getBoardState_WithTheCurrentETag_Returns304UntilTheBoardChanges() throws Exception {
+        var eTag = getBoardStateETag();
+
+        mockMvc.perform(get(format("/api/team/%s/board-state", teamId))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        thoughtService.createThought(teamId, new CreateThoughtRequest("new thought", column.getId()));
+
+        mockMvc.perform(get(format("/api/team/%s/board-state", teamId))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+            .andExpect(jsonPath("$.thoughts[*].message", Matchers.contains("new thought")));
+    }
+
+    @Test
+    public void getBoardState_WithUnauthorizedUser_Returns403() throws Exception {
+        mockMvc.perform(get(format("/api/team/%s/board-state", teamId))
+                .header("Authorization", "Bearer " + jwtBuilder.buildJwt("unauthorized")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void getChanges_AfterASnapshot_ReturnsOnlyTheLaterEvents() throws Exception {
+        thoughtService.createThought(teamId, new CreateThoughtRequest("before", column.getId()));
+
+        var snapshot = mockMvc.perform(get(format("/api/team/%s/changes?since=0", teamId))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes").doesNotExist())
+            .andExpect(jsonPath("$.snapshot.thoughts[*].message", Matchers.contains("before")))
+            .andReturn();
+        var sequence = objectMapper.readTree(snapshot.getResponse().getContentAsString()).get("sequence").asLong();
+
+        thoughtService.createThought(teamId, new CreateThoughtRequest("after", column.getId()));
+
+        mockMvc.perform(get(format("/api/team/%s/changes?since=%d", teamId, sequence))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.snapshot").doesNotExist())
+            .andExpect(jsonPath("$.changes[*].route", Matchers.contains(format("/topic/%s/thoughts", teamId))))
+            .andExpect(jsonPath("$.changes[0].event.type", Matchers.is("put")))
+            .andExpect(jsonPath("$.changes[0].event.payload.message", Matchers.is("after")));
+    }
+
+    @Test
+    public void getChanges_WithUnauthorizedUser_Returns403() throws Exception {
+        mockMvc.perform(get(format("/api/team/%s/changes?since=0", teamId))
+                .header("Authorization", "Bearer " + jwtBuilder.buildJwt("unauthorized")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void exportBoards_AsNdjson_StreamsGzippedBoardsColumnsAndArchivedActionItems() throws Exception {
+        var board = boardRepository.save(Board.builder().teamId(teamId).dateCreated(LocalDate.of(2018, 1, 1)).build());
+        thoughtRepository.save(Thought.builder().teamId(teamId).boardId(board.getId()).columnId(column.getId()).message("archived").hearts(3).build());
+        thoughtRepository.save(Thought.builder().teamId(teamId).columnId(column.getId()).message("active").build());
+        actionItemRepository.save(ActionItem.builder().teamId(teamId).task("done").completed(true).archived(true).build());
+        actionItemRepository.save(ActionItem.builder().teamId(teamId).task("not done").build());
+
+        var lines = exportBoards("?format=NDJSON", "ndjson");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).contains("\"type\":\"column\"", "\"title\":\"Happy\"");
+        assertThat(lines.get(1)).contains("\"type\":\"board\"", "\"dateCreated\":\"2018-01-01\"", "\"message\":\"archived\"", "\"hearts\":3");
+        assertThat(lines.get(1)).doesNotContain("active");
+        assertThat(lines.get(2)).contains("\"type\":\"actionItem\"", "\"task\":\"done\"");
+    }
+
+    @Test
+    public void exportBoards_AsCsvAfterABoardId_ResumesFromTheNextBoard() throws Exception {
+        var firstBoard = boardRepository.save(Board.builder().teamId(teamId).dateCreated(LocalDate.of(2018, 1, 1)).build());
+        var secondBoard = boardRepository.save(Board.builder().teamId(teamId).dateCreated(LocalDate.of(2018, 2, 2)).build());
+        thoughtRepository.save(Thought.builder().teamId(teamId).boardId(firstBoard.getId()).columnId(column.getId()).message("first").build());
+        thoughtRepository.save(Thought.builder().teamId(teamId).boardId(secondBoard.getId()).columnId(column.getId()).message("second").hearts(2).build());
+
+        var lines = exportBoards("?after=" + firstBoard.getId(), "csv");
+
+        assertThat(lines).containsExactly(
+            "Board Id,Date,Column,Message,Likes,Completed,Assigned To",
+            secondBoard.getId() + ",2018-02-02,Happy,second,2,no,"
+        );
+    }
+
+    @Test
+    public void exportBoards_AfterTheLastBoardAndAnActionItemId_SendsOnlyTheRemainingActionItems() throws Exception {
+        var board = boardRepository.save(Board.builder().teamId(teamId).dateCreated(LocalDate.of(2018, 1, 1)).build());
+        var received = actionItemRepository.save(ActionItem.builder().teamId(teamId).task("received").completed(true).archived(true).build());
+        actionItemRepository.save(ActionItem.builder().teamId(teamId).task("remaining").completed(true).archived(true).build());
+
+        var lines = exportBoards("?format=NDJSON&after=" + board.getId() + "&actionItemsAfter=" + received.getId(), "ndjson");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"type\":\"column\"");
+        assertThat(lines.get(1)).contains("\"type\":\"actionItem\"", "\"task\":\"remaining\"");
+    }
+
+    @Test
+    public void exportBoards_WithUnauthorizedUser_Returns403() throws Exception {
+        mockMvc.perform(get(format("/api/team/%s/boards/export", teamId))
+                .header("Authorization", "Bearer " + jwtBuilder.buildJwt("unauthorized")))
+            .andExpect(status().isForbidden());
+    }
+
+    private String getBoardStateETag() throws Exception {
+        return mockMvc.perform(get(format("/api/team/%s/board-state", teamId))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+
+    private List<String> exportBoards(String query, String expectedFileExtension) throws Exception {
+        var asyncResult = mockMvc.perform(get(format("/api/team/%s/boards/export%s", teamId, query))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        var response = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, format("attachment; filename=\"%s-boards.%s.gz\"", teamId, expectedFileExtension)))
+            .andReturn()
+            .getResponse();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
     public void setupBoards() {
         Board janBoard = Board.builder()
                 .dateCreated(LocalDate.of(2018, 1, 1))
@@ -37,8 +37,10 @@ import org.springframework.test.web.servlet.MvcResult;
 import java.sql.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Tag("api")
@@ -93,11 +95,14 @@ class DownloadTeamBoardApiTest extends ApiTestBase {
                         .build()
         );
 
-        MvcResult result = mockMvc.perform(get("/api/team/" + teamId + "/csv")
+        MvcResult asyncResult = mockMvc.perform(get("/api/team/" + teamId + "/csv")
                 .header("Authorization", getBearerAuthToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
-                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
                 .andReturn();
 
         String[] csvContentsList = result.getResponse().getContentAsString().split("\n");
@@ -21,6 +21,7 @@ import com.ford.labs.retroquest.api.setup.ApiTestBase;
 import com.ford.labs.retroquest.feedback.Feedback;
 import com.ford.labs.retroquest.feedback.FeedbackDto;
 import com.ford.labs.retroquest.feedback.FeedbackRepository;
+import com.ford.labs.retroquest.metrics.MetricsService;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Tag;
@@ -46,6 +47,9 @@ class FeedbackApiTest extends ApiTestBase {
     @Autowired
     private MeterRegistry meterRegistry;
 
+    @Autowired
+    private MetricsService metricsService;
+
     @AfterEach
     void tearDown() {
         feedbackRepository.deleteAllInBatch();
@@ -56,6 +60,7 @@ class FeedbackApiTest extends ApiTestBase {
     void shouldPostFeedbackAndUpdateMetrics() throws Exception {
         meterRegistry.gauge("retroquest.feedback.count", 0);
         meterRegistry.gauge("retroquest.feedback.averageRating", 0);
+        metricsService.reconcile();
 
         var feedback = new FeedbackDto(
             4,
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.HeartCounter;
+import com.ford.labs.retroquest.thought.MoveThoughtRequest;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtHeartRepository;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import com.ford.labs.retroquest.thought.UpdateThoughtDiscussedRequest;
+import com.ford.labs.retroquest.thought.UpdateThoughtMessageRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("api")
+@TestPropertySource(properties = "retroquest.hearts.write-behind.enabled=true")
+class HeartWriteBehindApiTest extends ApiTestBase {
+
+    @Autowired
+    private ThoughtHeartRepository thoughtHeartRepository;
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private ColumnRepository columnRepository;
+
+    @Autowired
+    private HeartCounter applicationHeartCounter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Thought thought;
+
+    @BeforeEach
+    void setup() {
+        thoughtRepository.deleteAllInBatch();
+        columnRepository.deleteAllInBatch();
+        var column = columnRepository.save(new Column(null, "happy", "Happy", teamId));
+        thought = thoughtRepository.save(Thought.builder().teamId(teamId).message("Hearts").columnId(column.getId()).build());
+    }
+
+    @Test
+    void crash_LosesAtMostTheHeartsSinceTheLastFlush() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        for (int interval = 0; interval < 5; interval++) {
+            for (int heart = 0; heart < 20; heart++) {
+                heartCounter.like(teamId, thought.getId());
+            }
+            heartCounter.flush();
+        }
+        for (int heart = 0; heart < 7; heart++) {
+            heartCounter.like(teamId, thought.getId());
+        }
+
+        var restartedCounter = new HeartCounter(thoughtHeartRepository, new SimpleMeterRegistry(), true);
+
+        assertThat(storedHearts()).isEqualTo(100);
+        assertThat(restartedCounter.like(teamId, thought.getId())).isEqualTo(101);
+    }
+
+    @Test
+    void likesRacingWithFlushes_AreAllWrittenExactlyOnce() throws Exception {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        var likers = 8;
+        var likesPerLiker = 500;
+        var executor = Executors.newFixedThreadPool(likers + 1);
+        var start = new CountDownLatch(1);
+        var liking = new AtomicBoolean(true);
+        try {
+            var flusher = executor.submit(() -> {
+                start.await();
+                while (liking.get()) {
+                    heartCounter.flush();
+                }
+                return null;
+            });
+            var likes = new ArrayList<Future<?>>();
+            for (int liker = 0; liker < likers; liker++) {
+                likes.add(executor.submit(() -> {
+                    start.await();
+                    for (int like = 0; like < likesPerLiker; like++) {
+                        heartCounter.like(teamId, thought.getId());
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (var like : likes) {
+                like.get(30, TimeUnit.SECONDS);
+            }
+            liking.set(false);
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        heartCounter.flush();
+
+        assertThat(storedHearts()).isEqualTo(likers * likesPerLiker);
+        assertThat(heartCounter.withPendingHearts(thoughtRepository.findById(thought.getId()).orElseThrow()).getHearts())
+            .isEqualTo(likers * likesPerLiker);
+    }
+
+    @Test
+    void flush_EvictsThoughtsOnceTheirHeartsAreWritten() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like(teamId, thought.getId());
+
+        heartCounter.flush();
+        assertThat(meterRegistry.get("retroquest.hearts.pending.thoughts").gauge().value()).isEqualTo(1.0);
+
+        heartCounter.flush();
+        assertThat(meterRegistry.get("retroquest.hearts.pending.thoughts").gauge().value()).isZero();
+        assertThat(heartCounter.like(teamId, thought.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void flush_ForADeletedThought_DropsItsPendingHearts() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like(teamId, thought.getId());
+        thoughtRepository.deleteById(thought.getId());
+
+        heartCounter.flush();
+
+        assertThat(meterRegistry.get("retroquest.hearts.pending.delta").gauge().value()).isZero();
+        assertThat(meterRegistry.get("retroquest.hearts.pending.thoughts").gauge().value()).isZero();
+    }
+
+    @Test
+    void editingAThoughtWithPendingHearts_WritesEachHeartOnce() throws Exception {
+        var otherColumn = columnRepository.save(new Column(null, "confused", "Confused", teamId));
+        var thoughtUrl = "/api/team/" + teamId + "/thought/" + thought.getId();
+        for (int heart = 0; heart < 3; heart++) {
+            mockMvc.perform(put(thoughtUrl + "/heart").header("Authorization", getBearerAuthToken()))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(put(thoughtUrl + "/message")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateThoughtMessageRequest("Edited")))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk());
+        mockMvc.perform(put(thoughtUrl + "/column-id")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MoveThoughtRequest(otherColumn.getId())))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk());
+        mockMvc.perform(put(thoughtUrl + "/discuss")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateThoughtDiscussedRequest(true)))
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk());
+        applicationHeartCounter.flush();
+
+        assertThat(storedHearts()).isEqualTo(3);
+        mockMvc.perform(get("/api/team/" + teamId + "/thoughts").header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].hearts").value(3))
+            .andExpect(jsonPath("$[0].message").value("Edited"));
+    }
+
+    private int storedHearts() {
+        return thoughtRepository.findById(thought.getId()).orElseThrow().getHearts();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("api")
+class ImportTeamBoardApiTest extends ApiTestBase {
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired
+    private ColumnRepository columnRepository;
+
+    private Column column;
+
+    @BeforeEach
+    void setup() {
+        thoughtRepository.deleteAllInBatch();
+        actionItemRepository.deleteAllInBatch();
+        columnRepository.deleteAllInBatch();
+
+        column = columnRepository.save(new Column(null, "happy", "Happy", teamId));
+    }
+
+    @Test
+    void importCsv_InTheDownloadFormat_SavesThoughtsAndActionItems() throws Exception {
+        var csv = """
+            Column,Message,Likes,Completed,Assigned To
+            Happy,"a thought, with a comma",5,yes
+            happy,another thought,,no
+            action item,a task,,no,assignee
+            """;
+
+        mockMvc.perform(post("/api/team/" + teamId + "/import")
+                .contentType("text/csv")
+                .content(csv)
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.thoughtCount", Matchers.is(2)))
+            .andExpect(jsonPath("$.actionItemCount", Matchers.is(1)));
+
+        assertThat(thoughtRepository.findAllByTeamIdAndBoardIdIsNull(teamId))
+            .extracting(Thought::getMessage, Thought::getHearts, Thought::isDiscussed, Thought::getColumnId)
+            .containsExactlyInAnyOrder(
+                tuple("a thought, with a comma", 5, true, column.getId()),
+                tuple("another thought", 0, false, column.getId())
+            );
+        assertThat(actionItemRepository.findAllByTeamId(teamId)).singleElement()
+            .satisfies(actionItem -> {
+                assertThat(actionItem.getTask()).isEqualTo("a task");
+                assertThat(actionItem.getAssignee()).isEqualTo("assignee");
+                assertThat(actionItem.isArchived()).isFalse();
+            });
+    }
+
+    @Test
+    void importNdjson_SavesThoughtsAndActionItems() throws Exception {
+        var ndjson = String.format("""
+            {"type":"thought","columnId":%d,"message":"a thought","hearts":2}
+
+            {"type":"actionItem","task":"a task","completed":true}
+            """, column.getId());
+
+        mockMvc.perform(post("/api/team/" + teamId + "/import")
+                .contentType("application/x-ndjson")
+                .content(ndjson)
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.thoughtCount", Matchers.is(1)))
+            .andExpect(jsonPath("$.actionItemCount", Matchers.is(1)));
+
+        assertThat(thoughtRepository.findAllByTeamId(teamId)).hasSize(1);
+        assertThat(actionItemRepository.findAllByTeamId(teamId)).singleElement()
+            .satisfies(actionItem -> assertThat(actionItem.isCompleted()).isTrue());
+    }
+
+    @Test
+    void importNdjson_WithAColumnFromAnotherTeam_RejectsTheWholeImport() throws Exception {
+        var otherColumn = columnRepository.save(new Column(null, "happy", "Happy", "another-team"));
+        var ndjson = String.format("""
+            {"type":"thought","columnId":%d,"message":"a thought"}
+            {"type":"thought","columnId":%d,"message":"a thought"}
+            """, column.getId(), otherColumn.getId());
+
+        mockMvc.perform(post("/api/team/" + teamId + "/import")
+                .contentType("application/x-ndjson")
+                .content(ndjson)
+                .header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.reason", Matchers.startsWith("Line 2")));
+
+        assertThat(thoughtRepository.findAllByTeamId(teamId)).isEmpty();
+    }
+
+    @Test
+    void importCsv_WithUnauthorizedUser_Returns403() throws Exception {
+        mockMvc.perform(post("/api/team/" + teamId + "/import")
+                .contentType("text/csv")
+                .content("Column,Message,Likes,Completed,Assigned To\n")
+                .header("Authorization", "Bearer " + jwtBuilder.buildJwt("not-beach-bums")))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import com.ford.labs.retroquest.team.LoginRequest;
+import com.ford.labs.retroquest.team.Team;
+import com.ford.labs.retroquest.team.TeamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@Tag("api")
+class LoginRateLimitApiTest extends ApiTestBase {
+
+    private static final long PASSWORD_CHECK_MILLIS = 200;
+    private static final int CONCURRENT_ATTEMPTS = 50;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Value("${retroquest.security.login-rate-limit.max-failures-per-team-and-address}")
+    private int maxFailures;
+
+    @AfterEach
+    void clean() {
+        teamRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_let_only_the_limit_of_concurrent_bad_logins_reach_the_database_and_the_password_check() throws Exception {
+        teamRepository.save(new Team("slow-check", "SLOW CHECK", passwordEncoder.encode("Passw0rd1")));
+        doAnswer(invocation -> {
+            Thread.sleep(PASSWORD_CHECK_MILLIS);
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).matches(any(), any());
+        var badLogin = objectMapper.writeValueAsBytes(new LoginRequest("SLOW CHECK", "wr0ngPassw0rd"));
+
+        var executor = Executors.newFixedThreadPool(CONCURRENT_ATTEMPTS);
+        var start = new CountDownLatch(1);
+        var logins = new ArrayList<Future<Integer>>();
+        for (var attempt = 0; attempt < CONCURRENT_ATTEMPTS; attempt++) {
+            logins.add(executor.submit(() -> {
+                start.await();
+                return loginStatus(badLogin);
+            }));
+        }
+        start.countDown();
+        var statuses = new ArrayList<Integer>();
+        for (var login : logins) {
+            statuses.add(login.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        Map<Integer, Long> statusCounts = statuses.stream()
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertThat(statusCounts).containsOnly(
+            Map.entry(403, (long) maxFailures),
+            Map.entry(429, (long) (CONCURRENT_ATTEMPTS - maxFailures))
+        );
+        verify(passwordEncoder, times(maxFailures)).matches(any(), any());
+        assertThat(teamRepository.findTeamByUri("slow-check").orElseThrow().getFailedAttempts()).isEqualTo(maxFailures);
+    }
+
+    private int loginStatus(byte[] loginRequest) throws Exception {
+        var result = mockMvc.perform(post("/api/team/login").content(loginRequest).contentType(APPLICATION_JSON)).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getStatus();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import com.ford.labs.retroquest.board.BoardRepository;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.team.TeamRepository;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("api")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ford.labs.retroquest.api.QueryPlanApiTest$CapturingStatementInspector")
+class QueryPlanApiTest extends ApiTestBase {
+
+    private static final int TEAMS = 200;
+    private static final int ROWS_PER_TEAM = 25;
+    private static final long FIRST_SEEDED_ID = 1_000_000L;
+    private static final String SEEDED_TEAM = "seeded-team-7";
+    private static final long SEEDED_BOARD = FIRST_SEEDED_ID + 7 * ROWS_PER_TEAM;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired
+    private ColumnRepository columnRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void seed() {
+        clear();
+        List<Object[]> teams = new ArrayList<>();
+        List<Object[]> boards = new ArrayList<>();
+        List<Object[]> thoughts = new ArrayList<>();
+        List<Object[]> actionItems = new ArrayList<>();
+        List<Object[]> columns = new ArrayList<>();
+        long id = FIRST_SEEDED_ID;
+        for (int team = 0; team < TEAMS; team++) {
+            var teamId = "seeded-team-" + team;
+            teams.add(new Object[]{teamId, "Seeded Team " + team, teamId + "@example.com"});
+            for (int row = 0; row < ROWS_PER_TEAM; row++, id++) {
+                boards.add(new Object[]{id, teamId});
+                thoughts.add(new Object[]{id, teamId, row % 2 == 0 ? null : id, id});
+                actionItems.add(new Object[]{id, teamId, row % 2 == 0});
+                columns.add(new Object[]{id, teamId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO team (uri, name, email, secondary_email, password, failed_attempts, date_created) VALUES (?, ?, ?, '', 'password', 0, CURRENT_DATE)", teams);
+        jdbcTemplate.batchUpdate("INSERT INTO rq_column (id, team_id, topic, title) VALUES (?, ?, 'happy', 'Happy')", columns);
+        jdbcTemplate.batchUpdate("INSERT INTO board (id, team_id, date_created) VALUES (?, ?, CURRENT_DATE)", boards);
+        jdbcTemplate.batchUpdate("INSERT INTO thought (id, team_id, board_id, column_id, hearts, discussed) VALUES (?, ?, ?, ?, 0, false)", thoughts);
+        jdbcTemplate.batchUpdate("INSERT INTO action_item (id, team_id, archived, completed) VALUES (?, ?, ?, true)", actionItems);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM thought WHERE id >= ?", FIRST_SEEDED_ID);
+        jdbcTemplate.update("DELETE FROM board WHERE id >= ?", FIRST_SEEDED_ID);
+        jdbcTemplate.update("DELETE FROM action_item WHERE id >= ?", FIRST_SEEDED_ID);
+        jdbcTemplate.update("DELETE FROM rq_column WHERE id >= ?", FIRST_SEEDED_ID);
+        jdbcTemplate.update("DELETE FROM team WHERE uri LIKE 'seeded-team-%'");
+    }
+
+    @Test
+    void findAllByTeamIdAndBoardIdIsNull_UsesTheTeamAndBoardIndex() {
+        assertEveryStatementUsesIndexes(
+            () -> thoughtRepository.findAllByTeamIdAndBoardIdIsNull(SEEDED_TEAM),
+            List.of(SEEDED_TEAM),
+            "thought_team_id_board_id_idx"
+        );
+    }
+
+    @Test
+    void streamAllByTeamIdAndBoardIdIsNullOrderByColumnId_UsesTheTeamAndBoardIndex() {
+        assertEveryStatementUsesIndexes(
+            () -> {
+                try (var thoughts = thoughtRepository.streamAllByTeamIdAndBoardIdIsNullOrderByColumnId(SEEDED_TEAM)) {
+                    thoughts.forEach(thought -> { });
+                }
+            },
+            List.of(SEEDED_TEAM),
+            "thought_team_id_board_id_idx"
+        );
+    }
+
+    @Test
+    void moveActiveThoughtsToBoard_UsesTheTeamAndBoardIndex() {
+        assertEveryStatementUsesIndexes(
+            () -> thoughtRepository.moveActiveThoughtsToBoard(SEEDED_TEAM, SEEDED_BOARD),
+            List.of(SEEDED_BOARD, SEEDED_TEAM),
+            "thought_team_id_board_id_idx"
+        );
+    }
+
+    @Test
+    void findSummariesByTeamId_UsesTheBoardAndThoughtIndexes() {
+        assertEveryStatementUsesIndexes(
+            () -> boardRepository.findSummariesByTeamId(SEEDED_TEAM, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dateCreated"))),
+            List.of(SEEDED_TEAM, 10),
+            "board_team_id_date_created_idx",
+            "thought_board_id_idx"
+        );
+    }
+
+    @Test
+    void findAllByTeamIdAndArchived_UsesTheTeamAndArchivedIndex() {
+        assertEveryStatementUsesIndexes(
+            () -> actionItemRepository.findAllByTeamIdAndArchived(SEEDED_TEAM, false),
+            List.of(SEEDED_TEAM, false),
+            "action_item_team_id_archived_idx"
+        );
+    }
+
+    @Test
+    void findAllColumnsByTeamId_UsesTheTeamIndex() {
+        assertEveryStatementUsesIndexes(
+            () -> columnRepository.findAllByTeamId(SEEDED_TEAM),
+            List.of(SEEDED_TEAM),
+            "rq_column_team_id_idx"
+        );
+    }
+
+    @Test
+    void findTeamByUri_UsesThePrimaryKey() {
+        assertEveryStatementUsesIndexes(
+            () -> teamRepository.findTeamByUri(SEEDED_TEAM),
+            List.of(SEEDED_TEAM),
+            "primary_key"
+        );
+    }
+
+    @Test
+    void caseInsensitiveTeamLookups_CompareUpperCasedColumnsToMatchTheExpressionIndexes() {
+        // H2 cannot index expressions, so only check that the predicates match the upper(...) indexes created on Postgres
+        var byName = captureStatements(() -> teamRepository.findTeamByNameIgnoreCase("Seeded Team 7"));
+        var byEmail = captureStatements(() -> teamRepository.findTeamByEmailIgnoreCaseOrSecondaryEmailIgnoreCase("seeded-team-7@example.com", "seeded-team-7@example.com"));
+
+        assertThat(byName).hasSize(1);
+        assertThat(byName.get(0)).containsPattern("upper\\(\\w+\\.name\\)=upper\\(\\?\\)");
+        assertThat(byEmail).hasSize(1);
+        assertThat(byEmail.get(0))
+            .containsPattern("upper\\(\\w+\\.email\\)=upper\\(\\?\\)")
+            .containsPattern("upper\\(\\w+\\.secondary_email\\)=upper\\(\\?\\)");
+    }
+
+    private void assertEveryStatementUsesIndexes(Runnable repositoryCall, List<Object> parameters, String... expectedIndexes) {
+        var plans = captureStatements(repositoryCall).stream()
+            .map(sql -> jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters.subList(0, countParameters(sql)).toArray()))
+            .toList();
+
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContainIgnoringCase("tableScan"));
+        for (var expectedIndex : expectedIndexes) {
+            assertThat(String.join("\n", plans)).containsIgnoringCase(expectedIndex);
+        }
+    }
+
+    private List<String> captureStatements(Runnable repositoryCall) {
+        var statements = new ArrayList<String>();
+        CapturingStatementInspector.STATEMENTS.set(statements);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                repositoryCall.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            CapturingStatementInspector.STATEMENTS.remove();
+        }
+        assertThat(statements).isNotEmpty();
+        return statements;
+    }
+
+    private static int countParameters(String sql) {
+        return (int) sql.chars().filter(character -> character == '?').count();
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            var statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
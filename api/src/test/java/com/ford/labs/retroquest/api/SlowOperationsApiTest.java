@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("api")
+class SlowOperationsApiTest extends ApiTestBase {
+
+    @Test
+    void should_list_recent_service_and_repository_operations() throws Exception {
+        var teamId = "slow-operations-team";
+        mockMvc.perform(get("/api/team/" + teamId + "/columns")
+                .header("Authorization", "Bearer " + jwtBuilder.buildJwt(teamId)))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/slowoperations")
+                .param("minutes", "5")
+                .param("limit", "1000")
+                .with(httpBasic("actuator", "ActuatorPassword1")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.operation == 'ColumnService.getColumns')].meter")
+                .value(hasItem("retroquest.service.operations")))
+            .andExpect(jsonPath("$[?(@.operation == 'ColumnRepository.findAllByTeamId')].meter")
+                .value(hasItem("retroquest.repository.operations")));
+    }
+
+    @Test
+    void should_require_the_actuator_credentials() throws Exception {
+        mockMvc.perform(get("/actuator/slowoperations"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/slowoperations").with(httpBasic("actuator", "wrong")))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/slowoperations").header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void should_leave_health_open() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(jsonPath("$.status").exists());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.api;
+
+import com.ford.labs.retroquest.api.setup.ApiTestBase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("api")
+class TeamActivityApiTest extends ApiTestBase {
+
+    @Test
+    void should_report_team_activity_to_the_actuator_user() throws Exception {
+        mockMvc.perform(get("/actuator/teamactivity")
+                .param("limit", "5")
+                .with(httpBasic("actuator", "ActuatorPassword1")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.connectedSessions").isNumber())
+            .andExpect(jsonPath("$.mutationsPerMinute").isArray());
+    }
+
+    @Test
+    void should_not_report_team_activity_without_the_actuator_credentials() throws Exception {
+        mockMvc.perform(get("/actuator/teamactivity"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/teamactivity").header("Authorization", getBearerAuthToken()))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -24,6 +24,7 @@ import com.ford.labs.retroquest.email_reset_token.EmailResetTokenRepository;
 import com.ford.labs.retroquest.team.*;
 import com.ford.labs.retroquest.password_reset_token.PasswordResetToken;
 import com.ford.labs.retroquest.password_reset_token.PasswordResetTokenRepository;
+import com.ford.labs.retroquest.metrics.MetricsService;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -31,9 +32,12 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,6 +47,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Tag("api")
@@ -69,6 +74,9 @@ class TeamApiTest extends ApiTestBase {
     @Autowired
     private MeterRegistry meterRegistry;
 
+    @Autowired
+    private MetricsService metricsService;
+
     private static final String VALID_PASSWORD = "Passw0rd";
     private static final String VALID_EMAIL = "e@ma.il";
     private CreateTeamRequest.CreateTeamRequestBuilder validTeamRequestBuilder;
@@ -98,6 +106,7 @@ class TeamApiTest extends ApiTestBase {
     @Test
     void should_create_team_and_update_metric() throws Exception {
         meterRegistry.gauge("retroquest.teams.count", 0);
+        metricsService.reconcile();
 
         var mvcResult = mockMvc.perform(post("/api/team")
                         .contentType(APPLICATION_JSON)
@@ -616,9 +625,7 @@ class TeamApiTest extends ApiTestBase {
                 .password(VALID_PASSWORD)
                 .build();
 
-        var mvcResult = mockMvc.perform(post("/api/team/login")
-                        .content(objectMapper.writeValueAsBytes(loginRequest))
-                        .contentType(APPLICATION_JSON))
+        var mvcResult = performLogin(loginRequest)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -636,9 +643,7 @@ class TeamApiTest extends ApiTestBase {
                 .password(VALID_PASSWORD)
                 .build();
 
-        mockMvc.perform(post("/api/team/login")
-                        .content(objectMapper.writeValueAsBytes(loginRequest))
-                        .contentType(APPLICATION_JSON))
+        performLogin(loginRequest)
                 .andExpect(status().isForbidden())
                 .andExpect(content().string(containsString("\"reason\":\"Incorrect team name or password. Please try again.\"")));
     }
@@ -657,9 +662,7 @@ class TeamApiTest extends ApiTestBase {
                 .password("wr0ngPassw0rd")
                 .build();
 
-        mockMvc.perform(post("/api/team/login")
-                        .content(objectMapper.writeValueAsBytes(loginRequest))
-                        .contentType(APPLICATION_JSON))
+        performLogin(loginRequest)
                 .andExpect(status().isForbidden())
                 .andExpect(content().string(containsString("\"reason\":\"Incorrect team name or password. Please try again.\"")));
 
@@ -679,13 +682,81 @@ class TeamApiTest extends ApiTestBase {
                 .password(VALID_PASSWORD)
                 .build();
 
-        mockMvc.perform(post("/api/team/login")
-                        .content(objectMapper.writeValueAsBytes(loginRequest))
-                        .contentType(APPLICATION_JSON))
+        performLogin(loginRequest)
                 .andExpect(status().isForbidden())
                 .andExpect(content().string(containsString("\"reason\":\"Incorrect team name or password. Please try again.\"")));
     }
 
+    @Test
+    void should_rehash_password_stored_with_a_weaker_strength_on_login() throws Exception {
+        var weakHash = new BCryptPasswordEncoder(4).encode(VALID_PASSWORD);
+        var team = new Team("peachy-beachy", "PEACHY BEACHY", weakHash);
+        team.setFailedAttempts(2);
+        teamRepository.save(team);
+
+        var loginRequest = LoginRequest.builder()
+                .name("PEACHY BEACHY")
+                .password(VALID_PASSWORD)
+                .build();
+
+        performLogin(loginRequest).andExpect(status().isOk());
+
+        var savedTeam = teamRepository.findTeamByUri("peachy-beachy").orElseThrow();
+        assertThat(savedTeam.getPassword()).isNotEqualTo(weakHash);
+        assertThat(passwordEncoder.matches(VALID_PASSWORD, savedTeam.getPassword())).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(savedTeam.getPassword())).isFalse();
+        assertThat(savedTeam.getFailedAttempts()).isZero();
+        assertThat(savedTeam.getLastLoginDate()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void should_not_overwrite_a_password_reset_that_lands_before_the_rehash() {
+        var weakHash = new BCryptPasswordEncoder(4).encode(VALID_PASSWORD);
+        var resetHash = passwordEncoder.encode("ResetPassword1");
+        var team = new Team("peachy-beachy", "PEACHY BEACHY", weakHash);
+        teamRepository.save(team);
+        team.setPassword(resetHash);
+        teamRepository.save(team);
+
+        var rehashed = teamRepository.rehashPassword("peachy-beachy", weakHash, passwordEncoder.encode(VALID_PASSWORD));
+
+        assertThat(rehashed).isZero();
+        assertThat(teamRepository.findTeamByUri("peachy-beachy").orElseThrow().getPassword()).isEqualTo(resetHash);
+    }
+
+    @Test
+    void should_reject_logins_without_checking_the_password_once_failures_reach_the_limit() throws Exception {
+        var createTeamRequest = validTeamRequestBuilder
+                .name("LOCKED OUT")
+                .build();
+
+        testRestTemplate.postForObject("/api/team/", createTeamRequest, String.class);
+
+        var badLoginRequest = LoginRequest.builder()
+                .name("LOCKED OUT")
+                .password("wr0ngPassw0rd")
+                .build();
+
+        for (var attempt = 0; attempt < 4; attempt++) {
+            performLogin(badLoginRequest).andExpect(status().isForbidden());
+        }
+        assertThat(teamRepository.findTeamByUri("locked-out").orElseThrow().getFailedAttempts()).isZero();
+
+        performLogin(badLoginRequest).andExpect(status().isForbidden());
+        assertThat(teamRepository.findTeamByUri("locked-out").orElseThrow().getFailedAttempts()).isEqualTo(5);
+
+        var goodLoginRequest = LoginRequest.builder()
+                .name("locked out")
+                .password(VALID_PASSWORD)
+                .build();
+
+        mockMvc.perform(post("/api/team/login")
+                        .content(objectMapper.writeValueAsBytes(goodLoginRequest))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().string(containsString("\"reason\":\"Too many failed login attempts. Please wait a few minutes and try again.\"")));
+    }
+
     @Test
     void should_return_ok_for_valid_token() throws Exception {
         mockMvc.perform(get("/api/team/teamId/validate")
@@ -699,4 +770,13 @@ class TeamApiTest extends ApiTestBase {
                         .header("Authorization", "Bearer " + jwtBuilder.buildJwt("teamId")))
                 .andExpect(status().isForbidden());
     }
+
+    private ResultActions performLogin(LoginRequest loginRequest) throws Exception {
+        var mvcResult = mockMvc.perform(post("/api/team/login")
+                        .content(objectMapper.writeValueAsBytes(loginRequest))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -30,7 +30,13 @@ import org.springframework.data.domain.Example;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,6 +56,9 @@ class ThoughtApiTest extends ApiTestBase {
     @Autowired
     private ColumnRepository columnRepository;
 
+    @Autowired
+    private ThoughtService thoughtService;
+
     private String BASE_API_URL;
     private Column savedColumn;
 
@@ -74,6 +83,32 @@ class ThoughtApiTest extends ApiTestBase {
         assertThat(savedThought.getHearts()).isEqualTo(2);
     }
 
+    @Test
+    void should_count_every_heart_when_many_people_like_a_thought_at_once() throws Exception {
+        Thought thought = thoughtRepository.save(Thought.builder().teamId(teamId).columnId(savedColumn.getId()).build());
+        var likers = 100;
+        var executor = Executors.newFixedThreadPool(likers);
+        var start = new CountDownLatch(1);
+        var likes = new ArrayList<Future<ThoughtHearts>>();
+
+        for (int i = 0; i < likers; i++) {
+            likes.add(executor.submit(() -> {
+                start.await();
+                return thoughtService.likeThought(teamId, thought.getId());
+            }));
+        }
+        start.countDown();
+
+        var heartCountsSeen = new HashSet<Integer>();
+        for (var like : likes) {
+            heartCountsSeen.add(like.get(10, TimeUnit.SECONDS).hearts());
+        }
+        executor.shutdown();
+
+        assertThat(thoughtRepository.findById(thought.getId()).orElseThrow().getHearts()).isEqualTo(likers);
+        assertThat(heartCountsSeen).hasSize(likers);
+    }
+
     @Test
     void should_not_like_thought_unauthorized() throws Exception {
         mockMvc.perform(put("/api/team/" + teamId + "/thought/" + 1 + "/heart")
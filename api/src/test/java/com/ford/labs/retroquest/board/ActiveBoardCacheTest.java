@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.board;
+
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtHearts;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.StreamSupport;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActiveBoardCacheTest {
+
+    private final ThoughtRepository thoughtRepository = mock(ThoughtRepository.class);
+    private final ActionItemRepository actionItemRepository = mock(ActionItemRepository.class);
+    private final ColumnRepository columnRepository = mock(ColumnRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, Thought> storedThoughts = new LinkedHashMap<>();
+    private final Map<Long, ActionItem> storedActionItems = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setup() {
+        when(thoughtRepository.findAllById(anyIterable())).thenAnswer(invocation -> found(invocation.getArgument(0), storedThoughts));
+        when(actionItemRepository.findAllById(anyIterable())).thenAnswer(invocation -> found(invocation.getArgument(0), storedActionItems));
+    }
+
+    @AfterEach
+    void clearTransactionSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getColumns_WhenDisabled_ReadsSortedColumnsFromTheDatabaseEveryTime() {
+        var cache = createCache(false, 10, 60_000);
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of(column(2L, "Sad"), column(1L, "Happy")));
+
+        cache.getColumns("team");
+
+        assertThat(cache.getColumns("team")).extracting(Column::getId).containsExactly(1L, 2L);
+        verify(columnRepository, times(2)).findAllByTeamId("team");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void getActiveThoughts_CalledTwice_OnlyLoadsTheBoardOnce() {
+        var cache = createCache(true, 10, 60_000);
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull("team")).thenReturn(List.of(thought(1L, "a thought")));
+
+        cache.getActiveThoughts("team");
+        cache.getActiveActionItems("team");
+
+        assertThat(cache.getActiveThoughts("team")).extracting(Thought::getMessage).containsExactly("a thought");
+        verify(thoughtRepository).findAllByTeamIdAndBoardIdIsNull("team");
+        assertThat(meterRegistry.counter("retroquest.board.cache.misses").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("retroquest.board.cache.hits").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void getActiveThoughts_WithConcurrentColdMisses_LoadsTheBoardOnce() throws Exception {
+        var cache = createCache(true, 10, 60_000);
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull("team")).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return List.of(thought(1L, "a thought"));
+        });
+
+        var executor = Executors.newFixedThreadPool(20);
+        try {
+            var reads = new ArrayList<Future<List<Thought>>>();
+            for (int i = 0; i < 20; i++) {
+                reads.add(executor.submit(() -> cache.getActiveThoughts("team")));
+            }
+            assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            releaseLoad.countDown();
+            for (var read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).hasSize(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(thoughtRepository).findAllByTeamIdAndBoardIdIsNull("team");
+        assertThat(meterRegistry.counter("retroquest.board.cache.misses").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void mutations_AreReadBackFromTheDatabaseOnTheNextRead() {
+        var cache = createCache(true, 10, 60_000);
+        var completedActionItem = ActionItem.builder().id(20L).teamId("team").task("done").completed(true).build();
+        store(thought(1L, "first"), thought(2L, "second"));
+        storedActionItems.put(20L, completedActionItem);
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull("team")).thenReturn(List.of(thought(1L, "first"), thought(2L, "second")));
+        when(actionItemRepository.findAllByTeamIdAndArchived("team", false)).thenReturn(List.of(completedActionItem));
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of(column(1L, "Happy")));
+        cache.getActiveThoughts("team");
+
+        store(thought(1L, "edited"), thought(3L, "third"));
+        storedThoughts.remove(2L);
+        storedActionItems.put(21L, ActionItem.builder().id(21L).teamId("team").task("open").build());
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of(column(1L, "Glad")));
+        cache.thoughtSaved(thought(1L, "edited"));
+        cache.thoughtSaved(thought(3L, "third"));
+        cache.thoughtDeleted("team", 2L);
+        cache.actionItemSaved(storedActionItems.get(21L));
+        cache.columnSaved(column(1L, "Glad"));
+
+        assertThat(cache.getActiveThoughts("team"))
+            .extracting(Thought::getId, Thought::getMessage)
+            .containsExactly(
+                tuple(1L, "edited"),
+                tuple(3L, "third")
+            );
+        cache.heartsChanged("team", new ThoughtHearts(3L, 4));
+        assertThat(cache.getActiveThoughts("team")).extracting(Thought::getHearts).containsExactly(0, 4);
+        assertThat(cache.getActiveActionItems("team")).extracting(ActionItem::getId).containsExactly(20L, 21L);
+        assertThat(cache.getColumns("team")).extracting(Column::getTitle).containsExactly("Glad");
+
+        cache.retroEnded("team");
+
+        assertThat(cache.getActiveThoughts("team")).isEmpty();
+        assertThat(cache.getActiveActionItems("team")).extracting(ActionItem::getId).containsExactly(21L);
+        verify(thoughtRepository).findAllByTeamIdAndBoardIdIsNull("team");
+        assertThat(meterRegistry.counter("retroquest.board.cache.refreshes").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void thoughtSaved_WhenAnOlderCommitIsReportedLast_KeepsTheNewestCommittedThought() {
+        var cache = createCache(true, 10, 60_000);
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull("team")).thenReturn(List.of(thought(1L, "original")));
+        cache.getActiveThoughts("team");
+
+        store(thought(1L, "second"));
+        cache.thoughtSaved(thought(1L, "second"));
+        cache.getActiveThoughts("team");
+        cache.thoughtSaved(thought(1L, "first"));
+
+        assertThat(cache.getActiveThoughts("team")).extracting(Thought::getMessage).containsExactly("second");
+    }
+
+    @Test
+    void getActiveThoughts_ReturnsCopiesThatCallersCannotUseToChangeTheCache() {
+        var cache = createCache(true, 10, 60_000);
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull("team")).thenReturn(List.of(thought(1L, "cached")));
+        when(actionItemRepository.findAllByTeamIdAndArchived("team", false))
+            .thenReturn(List.of(ActionItem.builder().id(20L).teamId("team").task("cached").build()));
+
+        cache.getActiveThoughts("team").get(0).setMessage("changed by a caller");
+        cache.getActiveActionItems("team").get(0).setTask("changed by a caller");
+
+        assertThat(cache.getActiveThoughts("team")).extracting(Thought::getMessage).containsExactly("cached");
+        assertThat(cache.getActiveActionItems("team")).extracting(ActionItem::getTask).containsExactly("cached");
+    }
+
+    @Test
+    void thoughtSaved_InsideATransaction_IsOnlyAppliedAfterCommit() {
+        var cache = createCache(true, 10, 60_000);
+        cache.getActiveThoughts("team");
+
+        TransactionSynchronizationManager.initSynchronization();
+        store(thought(1L, "uncommitted"));
+        cache.thoughtSaved(thought(1L, "uncommitted"));
+
+        assertThat(cache.getActiveThoughts("team")).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.getActiveThoughts("team")).extracting(Thought::getMessage).containsExactly("uncommitted");
+    }
+
+    @Test
+    void cache_WithABrokerModeForSeveralInstances_IsDisabledAndHasNoVersions() {
+        var cache = createCache(true, 10, 60_000, "database");
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull("team")).thenReturn(List.of(thought(1L, "a thought")));
+
+        cache.getActiveThoughts("team");
+        cache.getActiveThoughts("team");
+
+        verify(thoughtRepository, times(2)).findAllByTeamIdAndBoardIdIsNull("team");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getVersion("team")).isNull();
+    }
+
+    @Test
+    void getActiveThoughts_WithMoreTeamsThanTheMaximum_EvictsTheLeastRecentlyUsedTeam() {
+        var cache = createCache(true, 2, 60_000);
+        when(thoughtRepository.findAllByTeamIdAndBoardIdIsNull(anyString())).thenReturn(List.of());
+
+        cache.getActiveThoughts("team-1");
+        cache.getActiveThoughts("team-2");
+        cache.getActiveThoughts("team-1");
+        cache.getActiveThoughts("team-3");
+        cache.getActiveThoughts("team-1");
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(thoughtRepository).findAllByTeamIdAndBoardIdIsNull("team-1");
+        assertThat(meterRegistry.counter("retroquest.board.cache.evictions").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void evictIdleTeams_RemovesTeamsThatHaveNotBeenReadWithinTheIdleTimeout() {
+        var cache = createCache(true, 10, 0);
+        cache.getActiveThoughts("team");
+
+        cache.evictIdleTeams();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void getVersion_ChangesOnlyAfterAWriteToThatTeamCommits() {
+        var cache = createCache(false, 10, 60_000);
+        var version = cache.getVersion("team");
+
+        cache.thoughtSaved(Thought.builder().id(1L).teamId("other-team").build());
+        TransactionSynchronizationManager.initSynchronization();
+        cache.thoughtDeleted("team", 1L);
+
+        assertThat(cache.getVersion("team")).isEqualTo(version);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.getVersion("team")).isNotEqualTo(version);
+    }
+
+    @Test
+    void getVersion_AfterVersionsAreSweptAway_NeverRepeatsAVersionForChangedData() {
+        var cache = createCache(true, 1, 60_000);
+        cache.evict("team-1");
+        var version = cache.getVersion("team-1");
+        cache.evict("team-1");
+        cache.getVersion("team-2");
+
+        cache.evictIdleTeams();
+
+        assertThat(cache.getVersion("team-1")).isNotEqualTo(version);
+    }
+
+    private ActiveBoardCache createCache(boolean enabled, int maximumTeams, long idleTimeoutMillis) {
+        return createCache(enabled, maximumTeams, idleTimeoutMillis, "simple");
+    }
+
+    private ActiveBoardCache createCache(boolean enabled, int maximumTeams, long idleTimeoutMillis, String brokerMode) {
+        return new ActiveBoardCache(
+            thoughtRepository,
+            actionItemRepository,
+            columnRepository,
+            meterRegistry,
+            enabled,
+            maximumTeams,
+            idleTimeoutMillis,
+            brokerMode
+        );
+    }
+
+    private void store(Thought... thoughts) {
+        for (var thought : thoughts) {
+            storedThoughts.put(thought.getId(), thought.toBuilder().build());
+        }
+    }
+
+    private static <T> List<T> found(Iterable<Long> ids, Map<Long, T> stored) {
+        return StreamSupport.stream(ids.spliterator(), false).map(stored::get).filter(Objects::nonNull).toList();
+    }
+
+    private static Thought thought(Long id, String message) {
+        return Thought.builder().id(id).teamId("team").columnId(1L).message(message).build();
+    }
+
+    private static Column column(Long id, String title) {
+        return new Column(id, "topic", title, "team");
+    }
+}
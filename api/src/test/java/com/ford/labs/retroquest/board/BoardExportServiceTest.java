@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.board;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.actionitem.ActionItem;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoardExportServiceTest {
+    private final BoardRepository boardRepository = mock(BoardRepository.class);
+    private final ThoughtRepository thoughtRepository = mock(ThoughtRepository.class);
+    private final ActionItemRepository actionItemRepository = mock(ActionItemRepository.class);
+    private final ColumnRepository columnRepository = mock(ColumnRepository.class);
+
+    private final BoardExportService boardExportService = new BoardExportService(
+        boardRepository,
+        thoughtRepository,
+        actionItemRepository,
+        columnRepository,
+        new ObjectMapper().findAndRegisterModules()
+    );
+
+    @Test
+    void exportBoards_PagesThroughBoardsAndActionItemsByIdCursor() throws IOException {
+        var firstBoard = Board.builder().id(3L).teamId("team").dateCreated(LocalDate.of(2022, 1, 1)).build();
+        var secondBoard = Board.builder().id(8L).teamId("team").dateCreated(LocalDate.of(2022, 2, 1)).build();
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of(new Column(1L, "happy", "Happy", "team")));
+        when(boardRepository.findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc("team", 2L)).thenReturn(List.of(firstBoard, secondBoard));
+        when(boardRepository.findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc("team", 8L)).thenReturn(List.of());
+        when(thoughtRepository.findAllByTeamIdAndBoardIdInOrderByBoardIdAscIdAsc("team", List.of(3L, 8L))).thenReturn(List.of(
+            Thought.builder().id(10L).boardId(3L).columnId(1L).message("a thought").hearts(4).build()
+        ));
+        when(actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 0L)).thenReturn(List.of(
+            ActionItem.builder().id(20L).task("a task").completed(true).assignee("me").build()
+        ));
+        when(actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 20L)).thenReturn(List.of());
+
+        var out = new ByteArrayOutputStream();
+        boardExportService.exportBoards("team", BoardExportFormat.CSV, 2L, 0L, out);
+
+        assertThat(gunzip(out.toByteArray()).lines()).containsExactly(
+            "Board Id,Date,Column,Message,Likes,Completed,Assigned To",
+            "3,2022-01-01,Happy,a thought,4,no,",
+            "8,2022-02-01,,,,,",
+            ",,action item,a task,,yes,me"
+        );
+        verify(boardRepository).findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc("team", 8L);
+        verify(actionItemRepository).findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 20L);
+    }
+
+    @Test
+    void exportBoards_AsNdjson_WritesOneJsonObjectPerLine() throws IOException {
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of(new Column(1L, "happy", "Happy", "team")));
+        when(boardRepository.findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc("team", 0L)).thenReturn(List.of());
+        when(actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 0L)).thenReturn(List.of());
+
+        var out = new ByteArrayOutputStream();
+        boardExportService.exportBoards("team", BoardExportFormat.NDJSON, 0L, 0L, out);
+
+        assertThat(gunzip(out.toByteArray()).lines()).containsExactly(
+            "{\"type\":\"column\",\"id\":1,\"topic\":\"happy\",\"title\":\"Happy\"}"
+        );
+    }
+
+    @Test
+    void exportBoards_AfterAnActionItemId_ResumesFromTheNextActionItem() throws IOException {
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of());
+        when(boardRepository.findTop100ByTeamIdAndIdGreaterThanOrderByIdAsc("team", 8L)).thenReturn(List.of());
+        when(actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 20L)).thenReturn(List.of(
+            ActionItem.builder().id(21L).task("next task").build()
+        ));
+        when(actionItemRepository.findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 21L)).thenReturn(List.of());
+
+        var out = new ByteArrayOutputStream();
+        boardExportService.exportBoards("team", BoardExportFormat.NDJSON, 8L, 20L, out);
+
+        assertThat(gunzip(out.toByteArray()).lines()).containsExactly(
+            "{\"type\":\"actionItem\",\"id\":21,\"task\":\"next task\",\"completed\":false,\"assignee\":null,\"dateCreated\":null}"
+        );
+        verify(actionItemRepository, never()).findTop500ByTeamIdAndArchivedIsTrueAndIdGreaterThanOrderByIdAsc("team", 0L);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
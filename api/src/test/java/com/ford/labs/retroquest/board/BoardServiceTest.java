@@ -17,26 +17,35 @@
 
 package com.ford.labs.retroquest.board;
 
+import com.ford.labs.retroquest.actionitem.ActionItem;
 import com.ford.labs.retroquest.actionitem.ActionItemService;
+import com.ford.labs.retroquest.column.Column;
 import com.ford.labs.retroquest.column.ColumnService;
 import com.ford.labs.retroquest.thought.Thought;
 import com.ford.labs.retroquest.thought.ThoughtService;
+import com.ford.labs.retroquest.websocket.ChangeLog;
+import com.ford.labs.retroquest.websocket.WebsocketChange;
 import com.ford.labs.retroquest.websocket.events.WebsocketEndRetroEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketEventType;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
 import com.ford.labs.retroquest.websocket.WebsocketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.JpaSort;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class BoardServiceTest {
@@ -46,7 +55,71 @@ class BoardServiceTest {
     private final ActionItemService actionItemService = mock(ActionItemService.class);
     private final WebsocketService websocketService = mock(WebsocketService.class);
 
-    private final BoardService boardService = new BoardService(boardRepository, columnService, thoughtService, actionItemService, websocketService);
+    private final ActiveBoardCache activeBoardCache = mock(ActiveBoardCache.class);
+    private final ChangeLog changeLog = mock(ChangeLog.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BoardService boardService = new BoardService(boardRepository, columnService, thoughtService, actionItemService, websocketService, activeBoardCache, changeLog, meterRegistry);
+
+    @Test
+    void getChangesSince_WithRetainedEvents_ReturnsOnlyThoseEvents() {
+        var event = new WebsocketThoughtEvent("team1", WebsocketEventType.UPDATE, Thought.builder().id(2L).build());
+        event.setSequence(12L);
+        when(changeLog.getEventsSince("team1", 10L)).thenReturn(Optional.of(List.of(event)));
+
+        assertThat(boardService.getChangesSince("team1", 10L))
+            .isEqualTo(new BoardChanges(12L, List.of(WebsocketChange.from(event)), null));
+        verifyNoInteractions(columnService, thoughtService, actionItemService);
+    }
+
+    @Test
+    void getChangesSince_WithNoNewEvents_ReturnsTheSameSequence() {
+        when(changeLog.getEventsSince("team1", 10L)).thenReturn(Optional.of(List.of()));
+
+        assertThat(boardService.getChangesSince("team1", 10L)).isEqualTo(new BoardChanges(10L, List.of(), null));
+    }
+
+    @Test
+    void getChangesSince_WhenTheEventsAreNoLongerRetained_ReturnsASnapshot() {
+        var columns = List.of(new Column(1L, "happy", "Happy", "team1"));
+        when(changeLog.getEventsSince("team1", 10L)).thenReturn(Optional.empty());
+        when(changeLog.getLatestSequence()).thenReturn(42L);
+        when(columnService.getColumns("team1")).thenReturn(columns);
+        when(thoughtService.fetchAllActiveThoughts("team1")).thenReturn(List.of());
+        when(actionItemService.getActionItems("team1", Optional.of(false))).thenReturn(List.of());
+
+        assertThat(boardService.getChangesSince("team1", 10L))
+            .isEqualTo(new BoardChanges(42L, null, new BoardState(columns, List.of(), List.of())));
+    }
+
+    @Test
+    void getBoardStateETag_UsesTheTeamVersionWithoutTouchingTheDatabase() {
+        when(activeBoardCache.getVersion("team1")).thenReturn("abc-7");
+
+        assertThat(boardService.getBoardStateETag("team1")).isEqualTo("abc-7");
+        verifyNoInteractions(boardRepository, columnService, thoughtService, actionItemService);
+    }
+
+    @Test
+    void getBoardState_ReturnsColumnsActiveThoughtsAndUnarchivedActionItems() {
+        var columns = List.of(new Column(1L, "happy", "Happy", "team1"));
+        var thoughts = List.of(Thought.builder().id(2L).teamId("team1").columnId(1L).build());
+        var actionItems = List.of(ActionItem.builder().id(3L).teamId("team1").build());
+        when(columnService.getColumns("team1")).thenReturn(columns);
+        when(thoughtService.fetchAllActiveThoughts("team1")).thenReturn(thoughts);
+        when(actionItemService.getActionItems("team1", Optional.of(false))).thenReturn(actionItems);
+
+        assertThat(boardService.getBoardState("team1")).isEqualTo(new BoardState(columns, thoughts, actionItems));
+        assertThat(meterRegistry.counter("retroquest.board.state.responses", "status", "200").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void boardStateNotModified_CountsTheNotModifiedResponse() {
+        boardService.boardStateNotModified();
+
+        assertThat(meterRegistry.counter("retroquest.board.state.responses", "status", "304").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("retroquest.board.state.responses", "status", "200").count()).isZero();
+    }
 
     @Test
     void getPaginatedBoardList_ShouldReturnPagedBoardsSortedByDateInDescendingOrder() {
@@ -58,16 +131,11 @@ class BoardServiceTest {
             Sort.by(Sort.Direction.DESC, "dateCreated")
         );
 
-        var expectedBoard = Board.builder()
-                .teamId("team1")
-                .dateCreated(LocalDate.of(2012, 12, 12))
-                .id(1L)
-                .thoughts(List.of())
-                .build();
+        var expectedBoard = new BoardSummary(1L, "team1", LocalDate.of(2012, 12, 12), 0L, null, null);
 
-        when(boardRepository.findAllByTeamId("team1", pageRequest)).thenReturn(new PageImpl(List.of(expectedBoard)));
+        when(boardRepository.findSummariesByTeamId("team1", pageRequest)).thenReturn(new PageImpl<>(List.of(expectedBoard)));
 
-        List<Board> actualBoards = boardService.getPaginatedBoardList("team1", pageIndex, pageSize, "dateCreated", "DESC");
+        List<BoardSummary> actualBoards = boardService.getPaginatedBoardList("team1", pageIndex, pageSize, "dateCreated", "DESC");
         assertThat(actualBoards).containsExactly(expectedBoard);
     }
 
@@ -81,19 +149,43 @@ class BoardServiceTest {
                 Sort.by(Sort.Direction.ASC, "dateCreated")
         );
 
-        var expectedBoard = Board.builder()
-                .teamId("team1")
-                .dateCreated(LocalDate.of(2012, 12, 12))
-                .id(1L)
-                .thoughts(List.of())
-                .build();
+        var expectedBoard = new BoardSummary(1L, "team1", LocalDate.of(2012, 12, 12), 0L, null, null);
+
+        when(boardRepository.findSummariesByTeamId("team1", pageRequest)).thenReturn(new PageImpl<>(List.of(expectedBoard)));
+
+        List<BoardSummary> actualBoards = boardService.getPaginatedBoardList("team1", pageIndex, pageSize, "dateCreated", "ASC");
+        assertThat(actualBoards).containsExactly(expectedBoard);
+    }
+
+    @Test
+    void getPaginatedBoardList_WhenSortingByThoughtCount_SortsByTheAggregate() {
+        var expectedBoard = new BoardSummary(1L, "team1", LocalDate.of(2012, 12, 12), 4L, "a thought", 2);
+        var pageRequest = PageRequest.of(0, 2, JpaSort.unsafe(Sort.Direction.DESC, "count(t.id)"));
 
-        when(boardRepository.findAllByTeamId("team1", pageRequest)).thenReturn(new PageImpl(List.of(expectedBoard)));
+        when(boardRepository.findSummariesByTeamId("team1", pageRequest)).thenReturn(new PageImpl<>(List.of(expectedBoard)));
 
-        List<Board> actualBoards = boardService.getPaginatedBoardList("team1", pageIndex, pageSize, "dateCreated", "ASC");
+        var actualBoards = boardService.getPaginatedBoardList("team1", 0, 2, "thoughtCount", "DESC");
         assertThat(actualBoards).containsExactly(expectedBoard);
     }
 
+    @Test
+    void getPaginatedBoardListWithHeaders_UsesTheTotalFromTheCountQuery() {
+        var pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "dateCreated"));
+        var boards = List.of(
+            new BoardSummary(1L, "team1", LocalDate.of(2012, 12, 12), 1L, "a thought", 0),
+            new BoardSummary(2L, "team1", LocalDate.of(2012, 12, 11), 1L, "another thought", 0)
+        );
+
+        when(boardRepository.findSummariesByTeamId("team1", pageRequest)).thenReturn(new PageImpl<>(boards, pageRequest, 5));
+
+        var response = boardService.getPaginatedBoardListWithHeaders("team1", 0, 2, "dateCreated", "DESC");
+
+        assertThat(response.getBody()).isEqualTo(boards);
+        assertThat(response.getHeaders().getFirst("Total-Board-Count")).isEqualTo("5");
+        assertThat(response.getHeaders().getFirst("Total-Pages")).isEqualTo("3");
+        verify(boardRepository, never()).findAllByTeamId("team1");
+    }
+
     @Test
     void createBoard() {
         var expectedTeamId = "team1";
@@ -114,79 +206,57 @@ class BoardServiceTest {
 
 
     @Test
-    public void endRetro_ShouldSaveAllUnboardedThoughtsOnBoard() {
+    public void endRetro_MovesActiveThoughtsOntoANewBoard() {
         var expectedTeamId = "team1";
         var expectedBoardId = 1234L;
-        var expectedMessage = "hello";
-        var expectedBoard = new Board(
-            expectedBoardId,
-            expectedTeamId,
-            LocalDate.now(),
-            List.of(
-                new Thought(
-                    4321L,
-                    expectedMessage,
-                    0,
-                    false,
-                    expectedTeamId,
-                    expectedBoardId,
-                    null
-                )
-            )
-        );
-
-        when(thoughtService.fetchAllActiveThoughts(eq(expectedTeamId))).thenReturn(
-            List.of(
-                new Thought(
-                    4321L,
-                    expectedMessage,
-                    0,
-                    false,
-                    expectedTeamId,
-                    null,
-                    null
-                )
-            )
-        );
-
+        when(thoughtService.hasActiveThoughts(expectedTeamId)).thenReturn(true);
+        when(thoughtService.archiveActiveThoughts(expectedTeamId, expectedBoardId)).thenReturn(3);
+        when(actionItemService.archiveCompletedActionItems(expectedTeamId)).thenReturn(2);
         when(boardRepository.save(any(Board.class))).thenAnswer(a -> {
             var board = a.<Board>getArgument(0);
             board.setId(expectedBoardId);
             return board;
         });
 
-        boardService.endRetro(expectedTeamId);
+        var result = boardService.endRetro(expectedTeamId);
 
         var boardCaptor = ArgumentCaptor.forClass(Board.class);
-        verify(boardRepository, times(2)).save(boardCaptor.capture());
-        assertThat(boardCaptor.getValue()).usingRecursiveComparison().isEqualTo(expectedBoard);
+        verify(boardRepository).save(boardCaptor.capture());
+        assertThat(boardCaptor.getValue().getTeamId()).isEqualTo(expectedTeamId);
+        assertThat(boardCaptor.getValue().getDateCreated()).isEqualTo(LocalDate.now());
+        verify(thoughtService).archiveActiveThoughts(expectedTeamId, expectedBoardId);
+        verify(thoughtService, never()).fetchAllActiveThoughts(any());
+        assertThat(result).isEqualTo(new EndRetroResult(expectedBoardId, 3, 2));
     }
 
     @Test
     public void endRetro_DoesNotCreateBoardIfNoUnboardedThoughts() {
         var expectedTeamId = "team1";
-        when(thoughtService.fetchAllActiveThoughts(eq(expectedTeamId))).thenReturn(new ArrayList<>());
+        when(thoughtService.hasActiveThoughts(expectedTeamId)).thenReturn(false);
 
-        boardService.endRetro(expectedTeamId);
+        var result = boardService.endRetro(expectedTeamId);
 
         verify(boardRepository, times(0)).save(any());
+        verify(thoughtService, never()).archiveActiveThoughts(any(), any());
+        assertThat(result).isEqualTo(new EndRetroResult(null, 0, 0));
     }
 
     @Test
     public void endRetro_ArchivesCompletedActionItems() {
         var expectedTeamId = "team1";
-        when(thoughtService.fetchAllActiveThoughts(eq(expectedTeamId))).thenReturn(new ArrayList<>());
+        when(thoughtService.hasActiveThoughts(expectedTeamId)).thenReturn(false);
 
         boardService.endRetro(expectedTeamId);
 
         verify(actionItemService).archiveCompletedActionItems(expectedTeamId);
+        verify(activeBoardCache).retroEnded(expectedTeamId);
     }
 
     @Test
     public void endRetro_emitsEndRetroEvent() {
         var expectedTeamId = "team1";
         var expectedEvent = new WebsocketEndRetroEvent(expectedTeamId);
-        when(thoughtService.fetchAllActiveThoughts(eq(expectedTeamId))).thenReturn(new ArrayList<>());
+        when(thoughtService.hasActiveThoughts(expectedTeamId)).thenReturn(false);
 
         boardService.endRetro(expectedTeamId);
 
@@ -17,6 +17,7 @@
 
 package com.ford.labs.retroquest.column;
 
+import com.ford.labs.retroquest.board.ActiveBoardCache;
 import com.ford.labs.retroquest.exception.ColumnNotFoundException;
 import com.ford.labs.retroquest.websocket.events.WebsocketColumnEvent;
 import com.ford.labs.retroquest.websocket.events.WebsocketEventType;
@@ -37,17 +38,18 @@ class ColumnServiceTest {
     private final ColumnRepository columnRepository = mock(ColumnRepository.class);
     private final MeterRegistry meterRegistry = mock(MeterRegistry.class);
     private final WebsocketService websocketService = mock(WebsocketService.class);
-    private final ColumnService service = new ColumnService(columnRepository, meterRegistry, websocketService);
+    private final ActiveBoardCache activeBoardCache = mock(ActiveBoardCache.class);
+    private final ColumnService service = new ColumnService(columnRepository, meterRegistry, websocketService, activeBoardCache);
 
     @Test
-    public void getColumns_ReturnsSortedListOfColumns() {
+    public void getColumns_ReturnsColumnsFromTheActiveBoardCache() {
         var expectedColumns = List.of(new Column(1L, "happy", "title 1", "teamId"), new Column(2L, "unhappy", "title 2", "teamId"));
-        var savedColumns = List.of(new Column(2L, "unhappy", "title 2", "teamId"), new Column(1L, "happy", "title 1", "teamId"));
-        when(columnRepository.findAllByTeamId("team id")).thenReturn(savedColumns);
+        when(activeBoardCache.getColumns("team id")).thenReturn(expectedColumns);
 
         var actualColumns = service.getColumns("team id");
 
         assertThat(actualColumns).containsExactlyElementsOf(expectedColumns);
+        verify(columnRepository, never()).findAllByTeamId(any());
     }
 
     @Test
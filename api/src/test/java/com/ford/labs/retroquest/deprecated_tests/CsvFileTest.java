@@ -27,8 +27,12 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -71,8 +75,8 @@ class CsvFileTest {
 
         String actual = new CsvFile(
             "teamName",
-            List.of(firstThought, secondThought, thirdThought),
-            List.of(actionItem),
+            Stream.of(firstThought, secondThought, thirdThought),
+            Stream.of(actionItem),
             List.of(column1, column2, column3)
         ).getCsvString();
 
@@ -89,8 +93,8 @@ class CsvFileTest {
         var actionItem = new ActionItem(null, "task", true, "teamId", "assignee", null, true);
         String actual = new CsvFile(
                 "teamName",
-                List.of(),
-                List.of(actionItem),
+                Stream.empty(),
+                Stream.of(actionItem),
                 List.of()
         ).getCsvString();
         Assertions.assertThat(actual).contains("action item,task,,yes,assignee");
@@ -101,8 +105,8 @@ class CsvFileTest {
         var actionItem = new ActionItem(null, "task", false, "teamId", "assignee", null, true);
         String actual = new CsvFile(
                 "teamName",
-                List.of(),
-                List.of(actionItem),
+                Stream.empty(),
+                Stream.of(actionItem),
                 List.of()
         ).getCsvString();
         Assertions.assertThat(actual).contains("action item,task,,no,assignee");
@@ -113,10 +117,53 @@ class CsvFileTest {
         var actionItem = new ActionItem(null, "task", false, "teamId", null, null, true);
         String actual = new CsvFile(
                 "teamName",
-                List.of(),
-                List.of(actionItem),
+                Stream.empty(),
+                Stream.of(actionItem),
                 List.of()
         ).getCsvString();
         Assertions.assertThat(actual).contains("action item,task,,no,");
     }
+
+    @Test
+    void writeTo_WithAMillionThoughts_WritesRowsAsTheyAreRead() throws IOException {
+        var rowCount = 1_000_000;
+        var bytesWritten = new AtomicLong();
+        var linesWritten = new AtomicLong();
+        var bytesWrittenHalfwayThrough = new AtomicLong();
+        var output = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                bytesWritten.addAndGet(length);
+                for (int i = offset; i < offset + length; i++) {
+                    if (bytes[i] == '\n') {
+                        linesWritten.incrementAndGet();
+                    }
+                }
+            }
+        };
+        var thoughts = LongStream.range(0, rowCount)
+            .peek(i -> {
+                if (i == rowCount / 2) {
+                    bytesWrittenHalfwayThrough.set(bytesWritten.get());
+                }
+            })
+            .mapToObj(i -> Thought.builder().id(i).message("thought " + i).columnId(1L).build());
+
+        new CsvFile(
+            "teamName",
+            thoughts,
+            Stream.empty(),
+            List.of(new Column(1L, "happy", "Happy", "teamId"))
+        ).writeTo(output);
+
+        assertThat(linesWritten.get(), is(rowCount + 1L));
+        Assertions.assertThat(bytesWrittenHalfwayThrough.get())
+            .isGreaterThan(0)
+            .isLessThan(bytesWritten.get() / 2 + 64 * 1024);
+    }
 }
@@ -21,6 +21,7 @@ import com.ford.labs.retroquest.feedback.Feedback;
 import com.ford.labs.retroquest.feedback.FeedbackRepository;
 import com.ford.labs.retroquest.team.Team;
 import com.ford.labs.retroquest.team.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,9 +29,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 @SpringBootTest
 public class MetricsServiceTest {
@@ -44,10 +48,14 @@ public class MetricsServiceTest {
     @Autowired
     MetricsService metricsService;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @BeforeEach
     void setup() {
         teamRepository.deleteAll();
         feedbackRepository.deleteAll();
+        metricsService.reconcile();
     }
 
     @Test
@@ -55,6 +63,7 @@ public class MetricsServiceTest {
         var teamBuilder = new Team().toBuilder();
         teamRepository.save(teamBuilder.lastLoginDate(LocalDate.now()).uri("something").build());
         teamRepository.save(teamBuilder.lastLoginDate(LocalDate.now().minus(Period.ofMonths(4))).uri("somethingelse").build());
+        metricsService.reconcile();
         assertThat(metricsService.getTeamCount()).isEqualTo(2);
     }
 
@@ -63,6 +72,7 @@ public class MetricsServiceTest {
         var teamBuilder = new Team().toBuilder();
         teamRepository.save(teamBuilder.lastLoginDate(LocalDate.now()).uri("something").build());
         teamRepository.save(teamBuilder.lastLoginDate(LocalDate.now().minus(Period.ofMonths(4))).uri("somethingelse").build());
+        metricsService.reconcile();
         assertThat(metricsService.getActiveTeams()).isEqualTo(1);
     }
 
@@ -72,6 +82,7 @@ public class MetricsServiceTest {
             Feedback.builder().stars(5).build(),
             Feedback.builder().stars(5).build()
         ));
+        metricsService.reconcile();
         assertThat(metricsService.getFeedbackCount()).isEqualTo(2);
     }
 
@@ -81,6 +92,7 @@ public class MetricsServiceTest {
                 Feedback.builder().stars(2).build(),
                 Feedback.builder().stars(4).build()
         ));
+        metricsService.reconcile();
         assertThat(metricsService.getAverageRating()).isEqualTo(3.0);
     }
 
@@ -88,4 +100,74 @@ public class MetricsServiceTest {
     public void getAverageRating_WithNoFeedback_ReturnsZero() {
         assertThat(metricsService.getAverageRating()).isEqualTo(0.0);
     }
+
+    @Test
+    void getActiveTeams_WhenATeamLogsInAgain_MovesItToItsNewLoginDate() {
+        var longAgo = LocalDate.now().minus(Period.ofMonths(4));
+        teamRepository.save(new Team().toBuilder().lastLoginDate(longAgo).uri("something").build());
+        metricsService.reconcile();
+
+        metricsService.teamLoggedIn(longAgo, LocalDate.now());
+        metricsService.teamLoggedIn(LocalDate.now(), LocalDate.now());
+
+        assertThat(metricsService.getActiveTeams()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_WhenCountersHaveDrifted_CorrectsThemAndCountsTheCorrection() {
+        var corrections = meterRegistry.counter("retroquest.metrics.reconciliation.corrections").count();
+        metricsService.teamCreated();
+        metricsService.feedbackSaved(5);
+
+        metricsService.reconcile();
+
+        assertThat(metricsService.getTeamCount()).isZero();
+        assertThat(metricsService.getFeedbackCount()).isZero();
+        assertThat(metricsService.getAverageRating()).isZero();
+        assertThat(meterRegistry.counter("retroquest.metrics.reconciliation.corrections").count()).isEqualTo(corrections + 1);
+    }
+
+    @Test
+    void counters_WhenEventsMirrorTheDatabase_StayEqualToTheDatabaseQueries() {
+        var random = new Random(42);
+        var teams = new ArrayList<Team>();
+        var corrections = meterRegistry.counter("retroquest.metrics.reconciliation.corrections").count();
+
+        for (var event = 0; event < 200; event++) {
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    var team = teamRepository.save(new Team().toBuilder().uri("team-" + event).build());
+                    metricsService.teamCreated();
+                    teams.add(team);
+                }
+                case 1 -> {
+                    var stars = random.nextInt(6);
+                    feedbackRepository.save(Feedback.builder().stars(stars).build());
+                    metricsService.feedbackSaved(stars);
+                }
+                default -> {
+                    if (teams.isEmpty()) {
+                        continue;
+                    }
+                    var team = teams.get(random.nextInt(teams.size()));
+                    var lastLoginDate = LocalDate.now().minusDays(random.nextInt(200));
+                    var previousLastLoginDate = team.getLastLoginDate();
+                    team.setLastLoginDate(lastLoginDate);
+                    teamRepository.save(team);
+                    metricsService.teamLoggedIn(previousLastLoginDate, lastLoginDate);
+                }
+            }
+        }
+
+        assertThat(metricsService.getTeamCount()).isEqualTo(teamRepository.count());
+        assertThat(metricsService.getFeedbackCount()).isEqualTo(feedbackRepository.count());
+        assertThat(metricsService.getAverageRating()).isCloseTo(feedbackRepository.getAverageRating(), within(0.000001));
+        assertThat(metricsService.getActiveTeams()).isEqualTo(teamRepository.countByLastLoginDateBetween(
+            LocalDate.now().minus(Period.ofMonths(3)),
+            LocalDate.now()
+        ));
+
+        metricsService.reconcile();
+        assertThat(meterRegistry.counter("retroquest.metrics.reconciliation.corrections").count()).isEqualTo(corrections);
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import com.ford.labs.retroquest.metrics.OperationTimings.OperationTiming;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ford.labs.retroquest.metrics.OperationTimings.REPOSITORY_OPERATIONS;
+import static com.ford.labs.retroquest.metrics.OperationTimings.SERVICE_OPERATIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationTimingsTest {
+
+    private static final long ONE_MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000 * ONE_MINUTE);
+    private final OperationTimings operationTimings = new OperationTimings(5, meterRegistry, now::get);
+
+    @Test
+    void record_RecordsATimerTaggedByOperation() {
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(3));
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(5));
+
+        var timer = meterRegistry.get(SERVICE_OPERATIONS).tag("operation", "ThoughtService.heartThought").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(8.0);
+        assertThat(timer.getId().getTags()).hasSize(1);
+    }
+
+    @Test
+    void getSlowestOperations_OrdersByMaximumAndSummarizesEachOperation() {
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(2));
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(4));
+        operationTimings.record(REPOSITORY_OPERATIONS, "ThoughtRepository.save", millis(9));
+        operationTimings.record(SERVICE_OPERATIONS, "ColumnService.getColumns", millis(1));
+
+        assertThat(operationTimings.getSlowestOperations(5, 10)).containsExactly(
+            new OperationTiming(REPOSITORY_OPERATIONS, "ThoughtRepository.save", 1, 9.0, 9.0),
+            new OperationTiming(SERVICE_OPERATIONS, "ThoughtService.heartThought", 2, 3.0, 4.0),
+            new OperationTiming(SERVICE_OPERATIONS, "ColumnService.getColumns", 1, 1.0, 1.0)
+        );
+        assertThat(operationTimings.getSlowestOperations(5, 1)).extracting(OperationTiming::operation)
+            .containsExactly("ThoughtRepository.save");
+    }
+
+    @Test
+    void getSlowestOperations_OnlyIncludesTheRequestedMinutes() {
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(50));
+        now.addAndGet(2 * ONE_MINUTE);
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(10));
+
+        assertThat(operationTimings.getSlowestOperations(1, 10)).containsExactly(
+            new OperationTiming(SERVICE_OPERATIONS, "ThoughtService.heartThought", 1, 10.0, 10.0)
+        );
+        assertThat(operationTimings.getSlowestOperations(3, 10)).containsExactly(
+            new OperationTiming(SERVICE_OPERATIONS, "ThoughtService.heartThought", 2, 30.0, 50.0)
+        );
+    }
+
+    @Test
+    void getSlowestOperations_ForgetsMinutesOlderThanTheRetainedWindow() {
+        operationTimings.record(SERVICE_OPERATIONS, "ThoughtService.heartThought", millis(50));
+        now.addAndGet(5 * ONE_MINUTE);
+        operationTimings.record(SERVICE_OPERATIONS, "ColumnService.getColumns", millis(1));
+
+        assertThat(operationTimings.getSlowestOperations(60, 10)).extracting(OperationTiming::operation)
+            .containsExactly("ColumnService.getColumns");
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import com.ford.labs.retroquest.metrics.SpaceSavingCounter.Estimate;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingCounterTest {
+
+    @Test
+    void estimates_UnderCapacity_AreExactAndOrderedByCount() {
+        var counter = new SpaceSavingCounter(3);
+
+        counter.add("a", 1);
+        counter.add("b", 5);
+        counter.add("a", 1);
+
+        assertThat(counter.estimates()).containsExactly(new Estimate("b", 5, 0), new Estimate("a", 2, 0));
+    }
+
+    @Test
+    void add_WhenFull_ReplacesTheSmallestKeyAndRecordsItsCountAsError() {
+        var counter = new SpaceSavingCounter(2);
+
+        counter.add("a", 10);
+        counter.add("b", 2);
+        counter.add("c", 1);
+
+        assertThat(counter.estimates()).containsExactly(new Estimate("a", 10, 0), new Estimate("c", 3, 2));
+    }
+
+    @Test
+    void subtract_LowersATrackedKeyAndDropsItAtZero() {
+        var counter = new SpaceSavingCounter(2);
+        counter.add("a", 3);
+        counter.add("b", 1);
+
+        counter.subtract("a", 1);
+        counter.subtract("b", 1);
+        counter.subtract("untracked", 1);
+
+        assertThat(counter.estimates()).containsExactly(new Estimate("a", 2, 0));
+    }
+
+    @Test
+    void estimates_WithManyKeys_StayWithinCapacityAndKeepTheHeavyHitters() {
+        var counter = new SpaceSavingCounter(10);
+
+        IntStream.range(0, 10_000).forEach(i -> {
+            counter.add("team-" + i, 1);
+            counter.add("busy-" + (i % 3), 1);
+        });
+
+        var estimates = counter.estimates();
+        assertThat(estimates).hasSize(10);
+        assertThat(estimates.subList(0, 3)).extracting(Estimate::key)
+            .containsExactlyInAnyOrder("busy-0", "busy-1", "busy-2");
+        assertThat(estimates.get(0).count() - estimates.get(0).error()).isLessThanOrEqualTo(3334);
+        assertThat(estimates.get(0).count()).isGreaterThanOrEqualTo(3333);
+    }
+}
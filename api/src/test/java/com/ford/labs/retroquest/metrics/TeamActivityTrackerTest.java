@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.metrics;
+
+import com.ford.labs.retroquest.metrics.TeamActivityTracker.TeamCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamActivityTrackerTest {
+
+    private static final long ONE_MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000 * ONE_MINUTE);
+    private final TeamActivityTracker tracker = new TeamActivityTracker(3, meterRegistry, now::get);
+    private final Map<String, Map<String, Object>> sessionAttributes = new ConcurrentHashMap<>();
+
+    @Test
+    void teamIdOf_ReadsTheTeamFromTeamTopics() {
+        assertThat(TeamActivityTracker.teamIdOf("/topic/beach-bums/thoughts")).contains("beach-bums");
+        assertThat(TeamActivityTracker.teamIdOf("/topic/heartbeat/pong/beach-bums")).isEmpty();
+        assertThat(TeamActivityTracker.teamIdOf("/app/heartbeat/ping/beach-bums")).isEmpty();
+        assertThat(TeamActivityTracker.teamIdOf(null)).isEmpty();
+    }
+
+    @Test
+    void getTeamActivity_RanksTeamsByMutationsAndPayloadBytesInTheCurrentMinute() {
+        tracker.mutationPublished("/topic/team-a/thoughts");
+        tracker.mutationPublished("/topic/team-b/thoughts");
+        tracker.mutationPublished("/topic/team-b/action-items");
+        tracker.payloadPublished("/topic/team-a/thoughts", 500);
+        tracker.payloadPublished("/topic/team-b/thoughts", 100);
+
+        var activity = tracker.getTeamActivity(10);
+
+        assertThat(activity.mutationsPerMinute()).containsExactly(new TeamCount("team-b", 2, 0), new TeamCount("team-a", 1, 0));
+        assertThat(activity.payloadBytesPerMinute()).containsExactly(new TeamCount("team-a", 500, 0), new TeamCount("team-b", 100, 0));
+    }
+
+    @Test
+    void getTeamActivity_WeighsThePreviousMinuteByHowMuchOfTheCurrentMinuteRemains() {
+        for (int i = 0; i < 10; i++) {
+            tracker.mutationPublished("/topic/team-a/thoughts");
+        }
+        now.addAndGet(ONE_MINUTE + ONE_MINUTE / 4);
+        tracker.mutationPublished("/topic/team-a/thoughts");
+
+        assertThat(tracker.getTeamActivity(10).mutationsPerMinute()).containsExactly(new TeamCount("team-a", 9, 0));
+
+        now.addAndGet(ONE_MINUTE * 2);
+
+        assertThat(tracker.getTeamActivity(10).mutationsPerMinute()).isEmpty();
+    }
+
+    @Test
+    void getTeamActivity_TracksAtMostTopKTeams() {
+        for (int team = 0; team < 100; team++) {
+            tracker.mutationPublished("/topic/team-" + team + "/thoughts");
+        }
+        for (int i = 0; i < 50; i++) {
+            tracker.mutationPublished("/topic/busy-team/thoughts");
+        }
+
+        var mutations = tracker.getTeamActivity(10).mutationsPerMinute();
+
+        assertThat(mutations).hasSize(3);
+        assertThat(mutations.get(0).teamId()).isEqualTo("busy-team");
+    }
+
+    @Test
+    void getTeamActivity_CountsSubscribedSessionsPerTeamAndConnectedSessions() {
+        tracker.onSessionConnected(new SessionConnectedEvent(this, message(SimpMessageType.CONNECT_ACK, "session-1", null)));
+        tracker.onSessionConnected(new SessionConnectedEvent(this, message(SimpMessageType.CONNECT_ACK, "session-2", null)));
+        tracker.onSessionSubscribe(new SessionSubscribeEvent(this, message(SimpMessageType.SUBSCRIBE, "session-1", "/topic/team-a/thoughts")));
+        tracker.onSessionSubscribe(new SessionSubscribeEvent(this, message(SimpMessageType.SUBSCRIBE, "session-1", "/topic/team-a/columns")));
+        tracker.onSessionSubscribe(new SessionSubscribeEvent(this, message(SimpMessageType.SUBSCRIBE, "session-2", "/topic/team-a/thoughts")));
+
+        var activity = tracker.getTeamActivity(10);
+        assertThat(activity.connectedSessions()).isEqualTo(2);
+        assertThat(activity.subscribers()).containsExactly(new TeamCount("team-a", 2, 0));
+        assertThat(meterRegistry.get("retroquest.websocket.sessions.connected").gauge().value()).isEqualTo(2.0);
+
+        var disconnect = new SessionDisconnectEvent(this, message(SimpMessageType.DISCONNECT, "session-1", null), "session-1", CloseStatus.NORMAL);
+        tracker.onSessionDisconnect(disconnect);
+        tracker.onSessionDisconnect(disconnect);
+
+        activity = tracker.getTeamActivity(10);
+        assertThat(activity.connectedSessions()).isEqualTo(1);
+        assertThat(activity.subscribers()).containsExactly(new TeamCount("team-a", 1, 0));
+    }
+
+    @Test
+    void getTeamActivity_TracksSubscribersForAtMostTopKTeams() {
+        for (int team = 0; team < 100; team++) {
+            subscribe("session-" + team, "/topic/team-" + team + "/thoughts");
+        }
+        for (int session = 0; session < 50; session++) {
+            subscribe("busy-session-" + session, "/topic/busy-team/thoughts");
+        }
+
+        var subscribers = tracker.getTeamActivity(10).subscribers();
+
+        assertThat(subscribers).hasSize(3);
+        assertThat(subscribers.get(0).teamId()).isEqualTo("busy-team");
+        assertThat(subscribers.get(0).count() - subscribers.get(0).maxOverestimate()).isLessThanOrEqualTo(50);
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        tracker.onSessionSubscribe(new SessionSubscribeEvent(this, message(SimpMessageType.SUBSCRIBE, sessionId, destination)));
+    }
+
+    private Message<byte[]> message(SimpMessageType type, String sessionId, String destination) {
+        var accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(sessionAttributes.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()));
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.ford.labs.retroquest.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -36,6 +37,7 @@ class JwtAuthenticationFilterTest {
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
     private FilterChain filterChainMock;
+    private JwtClaimsCache jwtClaimsCache;
 
     @BeforeEach
     void setup() {
@@ -43,12 +45,13 @@ class JwtAuthenticationFilterTest {
         response = mock(MockHttpServletResponse.class);
         SecurityContextHolder.getContext().setAuthentication(null);
         filterChainMock = mock(FilterChain.class);
+        jwtClaimsCache = new JwtClaimsCache("SOSECRET", 100, new SimpleMeterRegistry());
     }
 
     @Test
     void should_call_security_filter_when_security_is_not_set() throws ServletException, IOException {
 
-        JwtAuthenticationFilter authenticationFilter = new JwtAuthenticationFilter("SOSECRET");
+        JwtAuthenticationFilter authenticationFilter = new JwtAuthenticationFilter(jwtClaimsCache);
 
         authenticationFilter.doFilterInternal(request, response, filterChainMock);
 
@@ -58,7 +61,7 @@ class JwtAuthenticationFilterTest {
 
     @Test
     void ifValidBearerHeaderIsSet_DontCallDoFilterAndSetAuthentication() throws ServletException, IOException {
-        JwtAuthenticationFilter authenticationFilter = new JwtAuthenticationFilter("SOSECRET");
+        JwtAuthenticationFilter authenticationFilter = new JwtAuthenticationFilter(jwtClaimsCache);
 
         String expectedJwt = new JwtBuilder("SOSECRET").buildJwt("anyteam");
 
@@ -75,7 +78,7 @@ class JwtAuthenticationFilterTest {
     void ifRequestDoesnotHaveATokenInHeader_CallDoFilter() throws ServletException, IOException {
         request.addHeader("Authorization", "Bearer ");
 
-        JwtAuthenticationFilter authenticationFilter = new JwtAuthenticationFilter("SOSECRET");
+        JwtAuthenticationFilter authenticationFilter = new JwtAuthenticationFilter(jwtClaimsCache);
         authenticationFilter.doFilterInternal(request, response, filterChainMock);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
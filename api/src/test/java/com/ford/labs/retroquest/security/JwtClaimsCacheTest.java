@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtClaimsCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtClaimsCache claimsCache = new JwtClaimsCache("SOSECRET", 2, meterRegistry);
+
+    @Test
+    void getSubject_WithValidJwt_ReturnsSubject() {
+        var jwt = new JwtBuilder("SOSECRET").buildJwt("a-team");
+
+        assertThat(claimsCache.getSubject(jwt)).isEqualTo("a-team");
+    }
+
+    @Test
+    void getSubject_CalledTwiceWithSameJwt_OnlyVerifiesOnce() {
+        var jwt = new JwtBuilder("SOSECRET").buildJwt("a-team");
+
+        claimsCache.getSubject(jwt);
+        claimsCache.getSubject(jwt);
+
+        assertThat(meterRegistry.counter("retroquest.jwt.cache.misses").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("retroquest.jwt.cache.hits").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getSubject_WithJwtSignedByAnotherKey_ThrowsAndDoesNotCache() {
+        var jwt = new JwtBuilder("NOTSOSECRET").buildJwt("a-team");
+
+        assertThatThrownBy(() -> claimsCache.getSubject(jwt)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> claimsCache.getSubject(jwt)).isInstanceOf(SignatureException.class);
+        assertThat(claimsCache.size()).isZero();
+    }
+
+    @Test
+    void getSubject_WithExpiredJwt_ThrowsAndDoesNotCache() {
+        var jwt = Jwts.builder()
+            .setExpiration(Date.from(Instant.now().minusSeconds(60)))
+            .setSubject("a-team")
+            .signWith(SignatureAlgorithm.HS512, "SOSECRET".getBytes())
+            .compact();
+
+        assertThatThrownBy(() -> claimsCache.getSubject(jwt)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(claimsCache.size()).isZero();
+    }
+
+    @Test
+    void getSubject_WhenCacheIsFull_EvictsToStayWithinMaximumSize() {
+        var jwtBuilder = new JwtBuilder("SOSECRET");
+
+        claimsCache.getSubject(jwtBuilder.buildJwt("team-1"));
+        claimsCache.getSubject(jwtBuilder.buildJwt("team-2"));
+        claimsCache.getSubject(jwtBuilder.buildJwt("team-3"));
+
+        assertThat(claimsCache.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("retroquest.jwt.cache.evictions").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void jwtAuthentication_ResolvesPrincipalOncePerInstance() {
+        var jwt = new JwtBuilder("SOSECRET").buildJwt("a-team");
+        var authentication = new JwtAuthentication(jwt, false, claimsCache);
+
+        authentication.getPrincipal();
+        authentication.getName();
+
+        assertThat(meterRegistry.counter("retroquest.jwt.cache.misses").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("retroquest.jwt.cache.hits").count()).isZero();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.security;
+
+import com.ford.labs.retroquest.exception.TooManyLoginAttemptsException;
+import com.ford.labs.retroquest.security.LoginRateLimiter.LoginAttempt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final LoginRateLimiter rateLimiter = new LoginRateLimiter(true, 3, 5, 1000, 100, meterRegistry, now::get);
+
+    @Test
+    void checkAllowed_OnceTeamAndAddressReachTheLimit_Rejects() {
+        recordFailures("beach-bums", "10.0.0.1", 3);
+
+        assertThatThrownBy(() -> rateLimiter.checkAllowed("  Beach-Bums ", "10.0.0.1"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> rateLimiter.checkAllowed("beach-bums", "10.0.0.2")).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.checkAllowed("other-team", "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(meterRegistry.counter("retroquest.login.rate-limit.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void checkAllowed_OnceAnAddressReachesTheLimitAcrossTeams_Rejects() {
+        recordFailures("team-1", "10.0.0.1", 2);
+        recordFailures("team-2", "10.0.0.1", 2);
+        recordFailures("team-3", "10.0.0.1", 1);
+
+        assertThatThrownBy(() -> rateLimiter.checkAllowed("team-4", "10.0.0.1"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void checkAllowed_CountsAttemptsStillInFlight() {
+        rateLimiter.checkAllowed("beach-bums", "10.0.0.1");
+        rateLimiter.checkAllowed("beach-bums", "10.0.0.1");
+        rateLimiter.checkAllowed("beach-bums", "10.0.0.1");
+
+        assertThatThrownBy(() -> rateLimiter.checkAllowed("beach-bums", "10.0.0.1"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void recordFailure_ReturnsTrueOnlyForTheAttemptThatReachesTheLimit() {
+        assertThat(rateLimiter.recordFailure(rateLimiter.checkAllowed("beach-bums", "10.0.0.1"))).isFalse();
+        assertThat(rateLimiter.recordFailure(rateLimiter.checkAllowed("beach-bums", "10.0.0.1"))).isFalse();
+        assertThat(rateLimiter.recordFailure(rateLimiter.checkAllowed("beach-bums", "10.0.0.1"))).isTrue();
+        assertThat(meterRegistry.counter("retroquest.login.failures").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void checkAllowed_AfterTheWindowSlidesPastOldFailures_Allows() {
+        recordFailures("beach-bums", "10.0.0.1", 2);
+        now.addAndGet(500);
+        recordFailures("beach-bums", "10.0.0.1", 1);
+
+        now.addAndGet(400);
+        assertThatThrownBy(() -> rateLimiter.checkAllowed("beach-bums", "10.0.0.1"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        now.addAndGet(200);
+        assertThatCode(() -> rateLimiter.checkAllowed("beach-bums", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void recordSuccess_ClearsFailuresForTeamAndAddressAndRefundsTheAddress() {
+        recordFailures("beach-bums", "10.0.0.1", 2);
+        recordFailures("other-team", "10.0.0.1", 2);
+
+        rateLimiter.recordSuccess(rateLimiter.checkAllowed("beach-bums", "10.0.0.1"));
+
+        assertThatCode(() -> recordFailures("beach-bums", "10.0.0.1", 1)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.checkAllowed("beach-bums", "10.0.0.1"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void cancel_RefundsTheAttempt() {
+        recordFailures("beach-bums", "10.0.0.1", 2);
+
+        rateLimiter.cancel(rateLimiter.checkAllowed("beach-bums", "10.0.0.1"));
+
+        assertThatCode(() -> rateLimiter.checkAllowed("beach-bums", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void evictExpiredWindows_RemovesWindowsWithNoRecentFailures() {
+        recordFailures("beach-bums", "10.0.0.1", 1);
+        assertThat(rateLimiter.size()).isEqualTo(2);
+
+        now.addAndGet(1000);
+        rateLimiter.evictExpiredWindows();
+
+        assertThat(rateLimiter.size()).isZero();
+    }
+
+    @Test
+    void checkAllowed_WhenTrackingIsFull_StopsTrackingNewKeys() {
+        var smallRateLimiter = new LoginRateLimiter(true, 3, 5, 1000, 2, meterRegistry, now::get);
+
+        smallRateLimiter.checkAllowed("team-1", "10.0.0.1");
+        smallRateLimiter.checkAllowed("team-2", "10.0.0.2");
+
+        assertThat(smallRateLimiter.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("retroquest.login.rate-limit.untracked").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void checkAllowed_WhenDisabled_NeverRejects() {
+        var disabledRateLimiter = new LoginRateLimiter(false, 3, 5, 1000, 100, meterRegistry, now::get);
+
+        for (var attempt = 0; attempt < 10; attempt++) {
+            assertThat(disabledRateLimiter.recordFailure(disabledRateLimiter.checkAllowed("beach-bums", "10.0.0.1"))).isFalse();
+        }
+
+        assertThatCode(() -> disabledRateLimiter.checkAllowed("beach-bums", "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(disabledRateLimiter.size()).isZero();
+    }
+
+    @Test
+    void tenThousandConcurrentBadAttempts_AdmitExactlyTheLimitBeforeAnyFailureIsRecorded() throws Exception {
+        var rateLimiter = new LoginRateLimiter(true, 10, 1000, 60_000, 100, meterRegistry, System::currentTimeMillis);
+        var threads = 8;
+        var attemptsPerThread = 1250;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var workers = new ArrayList<Future<List<LoginAttempt>>>();
+
+        for (var thread = 0; thread < threads; thread++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                var admitted = new ArrayList<LoginAttempt>();
+                for (var attempt = 0; attempt < attemptsPerThread; attempt++) {
+                    try {
+                        admitted.add(rateLimiter.checkAllowed("beach-bums", "10.0.0.1"));
+                    } catch (TooManyLoginAttemptsException ignored) {
+                    }
+                }
+                return admitted;
+            }));
+        }
+        start.countDown();
+        var admitted = new ArrayList<LoginAttempt>();
+        for (var worker : workers) {
+            admitted.addAll(worker.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertThat(admitted).hasSize(10);
+        assertThat(admitted).filteredOn(LoginAttempt::reachesLimit).hasSize(1);
+        assertThat(meterRegistry.counter("retroquest.login.rate-limit.rejected").count())
+            .isEqualTo(threads * attemptsPerThread - 10);
+    }
+
+    private void recordFailures(String teamName, String clientAddress, int failures) {
+        for (var failure = 0; failure < failures; failure++) {
+            rateLimiter.recordFailure(rateLimiter.checkAllowed(teamName, clientAddress));
+        }
+    }
+}
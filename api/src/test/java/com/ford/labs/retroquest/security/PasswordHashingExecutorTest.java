@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.security;
+
+import com.ford.labs.retroquest.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_RunsTheTaskOffTheCallingThreadAndRecordsQueueTime() {
+        var caller = Thread.currentThread().getName();
+
+        var threadName = executor.submit(() -> Thread.currentThread().getName()).join();
+
+        assertThat(threadName).startsWith("password-hashing-").isNotEqualTo(caller);
+        assertThat(meterRegistry.timer("retroquest.password.hashing.queue.time").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("retroquest.password.hashing.time").count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_WhenTheTaskThrows_CompletesExceptionally() {
+        var result = executor.submit(() -> {
+            throw new IllegalArgumentException("bad password");
+        });
+
+        assertThatThrownBy(result::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void submit_WhenThePoolAndQueueAreFull_RejectsAndCountsTheRejection() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            return awaitRelease();
+        });
+        started.await();
+        executor.submit(this::awaitRelease);
+
+        assertThatThrownBy(() -> executor.submit(this::awaitRelease))
+            .isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.counter("retroquest.password.hashing.rejected").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("retroquest.password.hashing.queue.depth").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("retroquest.password.hashing.active.threads").gauge().value()).isEqualTo(1.0);
+    }
+
+    private boolean awaitRelease() {
+        try {
+            return release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.team;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.actionitem.ActionItemRepository;
+import com.ford.labs.retroquest.board.ActiveBoardCache;
+import com.ford.labs.retroquest.column.Column;
+import com.ford.labs.retroquest.column.ColumnRepository;
+import com.ford.labs.retroquest.exception.InvalidImportException;
+import com.ford.labs.retroquest.thought.ThoughtRepository;
+import com.ford.labs.retroquest.websocket.WebsocketService;
+import com.ford.labs.retroquest.websocket.events.WebsocketImportEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamImportServiceTest {
+    private final ThoughtRepository thoughtRepository = mock(ThoughtRepository.class);
+    private final ActionItemRepository actionItemRepository = mock(ActionItemRepository.class);
+    private final ColumnRepository columnRepository = mock(ColumnRepository.class);
+    private final WebsocketService websocketService = mock(WebsocketService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ActiveBoardCache activeBoardCache = mock(ActiveBoardCache.class);
+
+    private final TeamImportService teamImportService = new TeamImportService(
+        thoughtRepository,
+        actionItemRepository,
+        columnRepository,
+        websocketService,
+        entityManager,
+        new ObjectMapper(),
+        activeBoardCache
+    );
+
+    @BeforeEach
+    void setup() {
+        when(columnRepository.findAllByTeamId("team")).thenReturn(List.of(new Column(1L, "happy", "Happy", "team")));
+    }
+
+    @Test
+    void importCsv_FlushesInBatchesAndPublishesOneSummaryEvent() throws IOException {
+        var csv = new StringBuilder("Column,Message,Likes,Completed,Assigned To\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("Happy,thought ").append(i).append(",1,no\n");
+        }
+
+        var result = teamImportService.importCsv("team", toInputStream(csv.toString()));
+
+        assertThat(result).isEqualTo(new ImportResult("team", 1200, 0));
+        verify(thoughtRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(activeBoardCache).evict("team");
+        verify(websocketService).publishEvent(new WebsocketImportEvent(result));
+    }
+
+    @Test
+    void importNdjson_WithUnknownType_ThrowsWithoutPublishing() {
+        var ndjson = "{\"type\":\"thought\",\"columnId\":1,\"message\":\"a thought\"}\n{\"type\":\"column\"}\n";
+
+        assertThatThrownBy(() -> teamImportService.importNdjson("team", toInputStream(ndjson)))
+            .isInstanceOf(InvalidImportException.class)
+            .hasMessageStartingWith("Line 2");
+        verify(websocketService, never()).publishEvent(any());
+    }
+
+    @Test
+    void importCsv_WithAMessageTooLongForItsColumn_ThrowsNamingTheLine() {
+        var csv = "Column,Message,Likes,Completed,Assigned To\nHappy,short,0,no\nHappy," + "a".repeat(256) + ",0,no\n";
+
+        assertThatThrownBy(() -> teamImportService.importCsv("team", toInputStream(csv)))
+            .isInstanceOf(InvalidImportException.class)
+            .hasMessageStartingWith("Line 3")
+            .hasMessageContaining("message");
+        verify(thoughtRepository, never()).saveAll(anyList());
+        verify(websocketService, never()).publishEvent(any());
+    }
+
+    @Test
+    void importNdjson_WithATaskTooLongForItsColumn_ThrowsNamingTheLine() {
+        var ndjson = "{\"type\":\"actionItem\",\"task\":\"" + "\uD83D\uDE00".repeat(256) + "\"}\n";
+
+        assertThatThrownBy(() -> teamImportService.importNdjson("team", toInputStream(ndjson)))
+            .isInstanceOf(InvalidImportException.class)
+            .hasMessageStartingWith("Line 1")
+            .hasMessageContaining("task");
+    }
+
+    @Test
+    void importNdjson_WithATaskOfExactlyTheColumnLength_IsImported() throws IOException {
+        var ndjson = "{\"type\":\"actionItem\",\"task\":\"" + "\uD83D\uDE00".repeat(255) + "\"}\n";
+
+        assertThat(teamImportService.importNdjson("team", toInputStream(ndjson))).isEqualTo(new ImportResult("team", 0, 1));
+    }
+
+    private static ByteArrayInputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -21,6 +21,9 @@ import com.ford.labs.retroquest.column.Column;
 import com.ford.labs.retroquest.column.ColumnRepository;
 import com.ford.labs.retroquest.exception.TeamDoesNotExistException;
 import com.ford.labs.retroquest.exception.PasswordInvalidException;
+import com.ford.labs.retroquest.metrics.MetricsService;
+import com.ford.labs.retroquest.security.LoginRateLimiter;
+import com.ford.labs.retroquest.security.LoginRateLimiter.LoginAttempt;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketTeamEvent;
 import org.junit.jupiter.api.Test;
@@ -32,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDATE;
@@ -42,6 +46,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TeamServiceTest {
 
+    private static final LoginAttempt ATTEMPT = new LoginAttempt("beach-bums", "127.0.0.1", 0, false);
+
     @Mock
     private TeamRepository teamRepository;
 
@@ -51,6 +57,12 @@ class TeamServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @Mock
+    private MetricsService metricsService;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -79,6 +91,7 @@ class TeamServiceTest {
         assertEquals("a-name", actualTeam.getUri());
         assertNotNull(actualTeam.getDateCreated());
         assertEquals("encryptedPassword", actualTeam.getPassword());
+        verify(metricsService).teamCreated();
     }
 
     @Test
@@ -108,7 +121,7 @@ class TeamServiceTest {
 
         when(passwordEncoder.matches("password", "encryptedPassword")).thenReturn(true);
         when(teamRepository.findTeamByNameIgnoreCase("beach-bums")).thenReturn(Optional.of(expectedTeam));
-        Team actualTeam = teamService.login(loginRequest);
+        Team actualTeam = teamService.login(loginRequest, ATTEMPT);
 
         assertEquals(expectedTeam, actualTeam);
     }
@@ -121,7 +134,7 @@ class TeamServiceTest {
 
         when(passwordEncoder.matches("password", "encryptedPassword")).thenReturn(true);
         when(teamRepository.findTeamByNameIgnoreCase("beach-bums")).thenReturn(Optional.of(expectedTeam));
-        Team actualTeam = teamService.login(loginRequest);
+        Team actualTeam = teamService.login(loginRequest, ATTEMPT);
 
         assertEquals(expectedTeam, actualTeam);
     }
@@ -133,7 +146,7 @@ class TeamServiceTest {
         when(teamRepository.findTeamByNameIgnoreCase("beach-bums")).thenReturn(Optional.empty());
         assertThrows(
                 TeamDoesNotExistException.class,
-                () -> teamService.login(loginRequest)
+                () -> teamService.login(loginRequest, ATTEMPT)
         );
     }
 
@@ -144,7 +157,7 @@ class TeamServiceTest {
 
         assertThrows(
                 PasswordInvalidException.class,
-                () -> teamService.login(loginRequest)
+                () -> teamService.login(loginRequest, ATTEMPT)
         );
     }
 
@@ -161,29 +174,62 @@ class TeamServiceTest {
 
         assertThrows(
                 PasswordInvalidException.class,
-                () -> teamService.login(loginRequest)
+                () -> teamService.login(loginRequest, ATTEMPT)
         );
     }
 
     @Test
-    void incrementFailedAttemptsCountWhenPasswordsDoNotMatch() {
+    void doesNotWriteFailedAttemptsBelowTheRateLimit() {
         String teamName = "beach-bums";
         String teamPassword = "encryptedPassword";
 
         LoginRequest loginRequest = new LoginRequest(teamName, "notPassword");
 
         Team team = new Team("", teamName, teamPassword);
-        Team teamAfterFailedAttempt = new Team("", teamName, teamPassword);
-        teamAfterFailedAttempt.setFailedAttempts(1);
 
         when(teamRepository.findTeamByNameIgnoreCase(teamName)).thenReturn(Optional.of(team));
         when(passwordEncoder.matches("notPassword", teamPassword)).thenReturn(false);
 
-        try {
-            teamService.login(loginRequest);
-        } catch (PasswordInvalidException ex) {
-            verify(teamRepository).save(teamAfterFailedAttempt);
-        }
+        assertThrows(PasswordInvalidException.class, () -> teamService.login(loginRequest, ATTEMPT));
+
+        verify(loginRateLimiter).recordFailure(ATTEMPT);
+        verify(teamRepository, never()).recordFailedLogins(anyString(), anyInt());
+        verify(teamRepository, never()).save(any(Team.class));
+        assertEquals(Integer.valueOf(0), team.getFailedAttempts());
+    }
+
+    @Test
+    void persistsFailedAttemptsOnlyWhenTheRateLimitIsReached() {
+        String teamName = "beach-bums";
+        String teamPassword = "encryptedPassword";
+
+        LoginRequest loginRequest = new LoginRequest(teamName, "notPassword");
+
+        Team team = new Team("beach-bums", teamName, teamPassword);
+        Team teamAfterLockout = new Team("beach-bums", teamName, teamPassword);
+        teamAfterLockout.setFailedAttempts(10);
+
+        when(teamRepository.findTeamByNameIgnoreCase(teamName)).thenReturn(Optional.of(team));
+        when(passwordEncoder.matches("notPassword", teamPassword)).thenReturn(false);
+        when(loginRateLimiter.recordFailure(ATTEMPT)).thenReturn(true);
+        when(loginRateLimiter.getMaxFailuresPerTeamAndAddress()).thenReturn(10);
+
+        assertThrows(PasswordInvalidException.class, () -> teamService.login(loginRequest, ATTEMPT));
+
+        verify(teamRepository).recordFailedLogins("beach-bums", 10);
+        verify(teamRepository, never()).save(any(Team.class));
+        assertEquals(teamAfterLockout, team);
+    }
+
+    @Test
+    void recordsAFailureWithTheRateLimiterWhenTeamDoesNotExist() {
+        LoginRequest loginRequest = new LoginRequest("beach-bums", "password");
+        when(teamRepository.findTeamByNameIgnoreCase("beach-bums")).thenReturn(Optional.empty());
+
+        assertThrows(TeamDoesNotExistException.class, () -> teamService.login(loginRequest, ATTEMPT));
+
+        verify(loginRateLimiter).recordFailure(ATTEMPT);
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
@@ -199,7 +245,7 @@ class TeamServiceTest {
         when(teamRepository.findTeamByNameIgnoreCase(teamName)).thenReturn(Optional.of(team));
         when(passwordEncoder.matches(teamPassword, teamPassword)).thenReturn(true);
 
-        teamService.login(loginRequest);
+        teamService.login(loginRequest, ATTEMPT);
 
         assertEquals(Integer.valueOf(0), team.getFailedAttempts());
     }
@@ -216,10 +262,8 @@ class TeamServiceTest {
         Column confusedColumn = new Column(null, "confused", "Confused", "beach-bums");
         Column unhappyColumn = new Column(null, "unhappy", "Sad", "beach-bums");
 
-        var inOrder = inOrder(columnRepository);
-        inOrder.verify(columnRepository, times(1)).save(happyColumn);
-        inOrder.verify(columnRepository, times(1)).save(confusedColumn);
-        inOrder.verify(columnRepository, times(1)).save(unhappyColumn);
+        verify(columnRepository, times(1)).saveAll(List.of(happyColumn, confusedColumn, unhappyColumn));
+        verify(columnRepository, never()).save(any(Column.class));
     }
 
     @Test
@@ -299,10 +343,44 @@ class TeamServiceTest {
         loginRequest.setPassword("Password");
         when(passwordEncoder.matches(loginRequest.getPassword(), savedTeam.getPassword())).thenReturn(true);
 
-        teamService.login(loginRequest);
+        teamService.login(loginRequest, ATTEMPT);
 
         assertTrue(savedTeam.getLastLoginDate().isEqual(LocalDate.now()));
-        verify(teamRepository, times(2)).save(savedTeam);
+        verify(teamRepository).recordSuccessfulLogin(null, LocalDate.now());
+        verify(teamRepository, never()).rehashPassword(any(), any(), any());
+        verify(teamRepository, never()).save(any(Team.class));
+        verify(loginRateLimiter).recordSuccess(ATTEMPT);
+        verify(metricsService).teamLoggedIn(null, LocalDate.now());
+    }
+
+    @Test
+    void loggingInWithPasswordHashedAtAnOutdatedStrengthRehashesThePassword() {
+        Team savedTeam = new Team("beach-bums", "beach-bums", "weakHash");
+        when(teamRepository.findTeamByNameIgnoreCase("beach-bums")).thenReturn(Optional.of(savedTeam));
+        when(passwordEncoder.matches("password", "weakHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("weakHash")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("strongHash");
+        when(teamRepository.rehashPassword("beach-bums", "weakHash", "strongHash")).thenReturn(1);
+
+        teamService.login(new LoginRequest("beach-bums", "password"), ATTEMPT);
+
+        assertEquals("strongHash", savedTeam.getPassword());
+        verify(teamRepository).recordSuccessfulLogin("beach-bums", LocalDate.now());
+        verify(teamRepository).rehashPassword("beach-bums", "weakHash", "strongHash");
+    }
+
+    @Test
+    void loggingInWhileThePasswordIsResetKeepsTheResetPassword() {
+        Team savedTeam = new Team("beach-bums", "beach-bums", "weakHash");
+        when(teamRepository.findTeamByNameIgnoreCase("beach-bums")).thenReturn(Optional.of(savedTeam));
+        when(passwordEncoder.matches("password", "weakHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("weakHash")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("strongHash");
+        when(teamRepository.rehashPassword("beach-bums", "weakHash", "strongHash")).thenReturn(0);
+
+        teamService.login(new LoginRequest("beach-bums", "password"), ATTEMPT);
+
+        assertEquals("weakHash", savedTeam.getPassword());
     }
 
     @Test
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.thought;
+
+import com.ford.labs.retroquest.exception.ThoughtNotFoundException;
+import com.ford.labs.retroquest.thought.ThoughtHeartRepository.HeartDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HeartCounterTest {
+
+    private final ThoughtHeartRepository thoughtHeartRepository = mock(ThoughtHeartRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, Integer> storedHearts = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setup() {
+        storedHearts.put(1L, 10);
+        storedHearts.put(2L, 0);
+        when(thoughtHeartRepository.findHearts(anyString(), anyLong())).thenAnswer(invocation ->
+            "the-team".equals(invocation.getArgument(0))
+                ? Optional.ofNullable(storedHearts.get(invocation.<Long>getArgument(1)))
+                : Optional.empty()
+        );
+        when(thoughtHeartRepository.addHearts(anyList())).thenAnswer(invocation -> {
+            List<HeartDelta> deltas = invocation.getArgument(0);
+            return deltas.stream()
+                .mapToInt(delta -> storedHearts.computeIfPresent(delta.thoughtId(), (id, hearts) -> hearts + (int) delta.hearts()) != null ? 1 : 0)
+                .toArray();
+        });
+    }
+
+    @Test
+    void like_WithWriteBehindDisabled_IncrementsInTheDatabase() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, false);
+        when(thoughtHeartRepository.incrementHearts("the-team", 1L)).thenReturn(Optional.of(11));
+
+        assertThat(heartCounter.like("the-team", 1L)).isEqualTo(11);
+        verify(thoughtHeartRepository, never()).addHearts(any());
+    }
+
+    @Test
+    void like_WithWriteBehindEnabled_ReturnsTheLiveTotalWithoutWriting() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+
+        heartCounter.like("the-team", 1L);
+        heartCounter.like("the-team", 1L);
+
+        assertThat(heartCounter.like("the-team", 1L)).isEqualTo(13);
+        assertThat(storedHearts.get(1L)).isEqualTo(10);
+        assertThat(meterRegistry.get("retroquest.hearts.pending.delta").gauge().value()).isEqualTo(3.0);
+        verify(thoughtHeartRepository, never()).incrementHearts(any(), any());
+    }
+
+    @Test
+    void like_ThoughtFromAnotherTeam_ThrowsNotFound() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+
+        assertThatThrownBy(() -> heartCounter.like("another-team", 1L)).isInstanceOf(ThoughtNotFoundException.class);
+    }
+
+    @Test
+    void flush_WritesOneBatchOfDeltasAndKeepsTheLiveTotal() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+        heartCounter.like("the-team", 1L);
+        heartCounter.like("the-team", 2L);
+
+        heartCounter.flush();
+
+        verify(thoughtHeartRepository).addHearts(anyList());
+        assertThat(storedHearts).containsEntry(1L, 12).containsEntry(2L, 1);
+        assertThat(heartCounter.like("the-team", 1L)).isEqualTo(13);
+        assertThat(meterRegistry.counter("retroquest.hearts.flushed").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void flush_WhenTheDatabaseIsUnavailable_KeepsTheDeltasForTheNextFlush() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+        doThrow(new DataAccessResourceFailureException("down")).when(thoughtHeartRepository).addHearts(anyList());
+
+        heartCounter.flush();
+
+        assertThat(heartCounter.pendingDelta()).isEqualTo(1);
+        assertThat(heartCounter.like("the-team", 1L)).isEqualTo(12);
+    }
+
+    @Test
+    void flushForTeam_WhenTheDatabaseIsUnavailable_KeepsTheDeltasForTheNextFlush() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+        doThrow(new DataAccessResourceFailureException("down")).when(thoughtHeartRepository).addHearts(anyList());
+
+        heartCounter.flush("the-team");
+
+        assertThat(heartCounter.pendingDelta()).isEqualTo(1);
+        assertThat(heartCounter.like("the-team", 1L)).isEqualTo(12);
+    }
+
+    @Test
+    void withPendingHearts_ReplacesTheStoredCountWithTheLiveTotal() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+        heartCounter.like("the-team", 1L);
+
+        var thoughts = heartCounter.withPendingHearts(List.of(
+            Thought.builder().id(1L).teamId("the-team").hearts(10).build(),
+            Thought.builder().id(2L).teamId("the-team").hearts(0).build(),
+            Thought.builder().id(1L).teamId("another-team").hearts(4).build()
+        ));
+
+        assertThat(thoughts).extracting(Thought::getHearts).containsExactly(12, 0, 4);
+    }
+
+    @Test
+    void withPendingHearts_LeavesTheGivenThoughtUntouched() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+        var stored = Thought.builder().id(1L).teamId("the-team").message("Stored").hearts(10).build();
+
+        var withPending = heartCounter.withPendingHearts(stored);
+
+        assertThat(withPending.getHearts()).isEqualTo(11);
+        assertThat(withPending.getMessage()).isEqualTo("Stored");
+        assertThat(stored.getHearts()).isEqualTo(10);
+    }
+
+    @Test
+    void flushForTeam_WhenTheTransactionRollsBack_RestoresTheDeltas() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+        heartCounter.like("the-team", 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            heartCounter.flush("the-team");
+            assertThat(heartCounter.pendingDelta()).isZero();
+            storedHearts.put(1L, 10);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(heartCounter.pendingDelta()).isEqualTo(2);
+        assertThat(heartCounter.like("the-team", 1L)).isEqualTo(13);
+        heartCounter.flush();
+        assertThat(storedHearts.get(1L)).isEqualTo(13);
+    }
+
+    @Test
+    void flushForTeam_WhenTheTransactionCommits_KeepsTheDeltasWritten() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            heartCounter.flush("the-team");
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(heartCounter.pendingDelta()).isZero();
+        assertThat(storedHearts.get(1L)).isEqualTo(11);
+    }
+
+    @Test
+    void flushForTeam_OnlyFlushesThatTeamsThoughts() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        heartCounter.like("the-team", 1L);
+
+        heartCounter.flush("another-team");
+        assertThat(storedHearts.get(1L)).isEqualTo(10);
+
+        heartCounter.flush("the-team");
+        assertThat(storedHearts.get(1L)).isEqualTo(11);
+    }
+
+    @Test
+    void crash_LosesAtMostTheHeartsSinceTheLastFlush() {
+        var heartCounter = new HeartCounter(thoughtHeartRepository, meterRegistry, true);
+        for (int interval = 0; interval < 5; interval++) {
+            for (int heart = 0; heart < 20; heart++) {
+                heartCounter.like("the-team", 2L);
+            }
+            heartCounter.flush();
+        }
+        for (int heart = 0; heart < 7; heart++) {
+            heartCounter.like("the-team", 2L);
+        }
+
+        var heartsAcknowledged = 107;
+        var heartsSinceLastFlush = 7;
+        var restartedCounter = new HeartCounter(thoughtHeartRepository, new SimpleMeterRegistry(), true);
+
+        assertThat(storedHearts.get(2L)).isEqualTo(heartsAcknowledged - heartsSinceLastFlush);
+        assertThat(restartedCounter.like("the-team", 2L)).isEqualTo(heartsAcknowledged - heartsSinceLastFlush + 1);
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.ford.labs.retroquest.thought;
 
+import com.ford.labs.retroquest.board.ActiveBoardCache;
 import com.ford.labs.retroquest.column.Column;
 import com.ford.labs.retroquest.column.ColumnRepository;
 import com.ford.labs.retroquest.exception.ColumnNotFoundException;
@@ -24,9 +25,9 @@ import com.ford.labs.retroquest.exception.ThoughtNotFoundException;
 import com.ford.labs.retroquest.websocket.WebsocketService;
 import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
 import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtHeartEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InOrder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,23 +38,30 @@ import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDAT
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class ThoughtServiceTest {
 
     private final ThoughtRepository thoughtRepository = mock(ThoughtRepository.class);
+    private final HeartCounter heartCounter = mock(HeartCounter.class);
     private final ColumnRepository columnRepository = mock(ColumnRepository.class);
     private final WebsocketService websocketService = mock(WebsocketService.class);
+    private final ActiveBoardCache activeBoardCache = mock(ActiveBoardCache.class);
 
     private ThoughtService thoughtService;
 
     @BeforeEach
     void setup() {
+        when(this.heartCounter.withPendingHearts(any(Thought.class))).then(returnsFirstArg());
+        when(this.heartCounter.withPendingHearts(anyList())).then(returnsFirstArg());
         this.thoughtService = new ThoughtService(
                 this.thoughtRepository,
+                this.heartCounter,
                 this.columnRepository,
-                this.websocketService
+                this.websocketService,
+                this.activeBoardCache
         );
     }
 
@@ -61,26 +69,23 @@ class ThoughtServiceTest {
     void likeThoughtShouldIncrementNumberOfLikesByOne() {
         var teamId = "the-team";
         long thoughtId = 1234L;
-        var expectedThought = Thought.builder().id(thoughtId).teamId(teamId).hearts(6).build();
-        var expectedEvent = new WebsocketThoughtEvent(teamId, UPDATE, expectedThought);
-
-        when(this.thoughtRepository.findByTeamIdAndId(teamId, thoughtId)).thenReturn(Optional.of(expectedThought));
+        var expectedHearts = new ThoughtHearts(thoughtId, 6);
+        var expectedEvent = new WebsocketThoughtHeartEvent(teamId, expectedHearts);
 
+        when(this.heartCounter.like(teamId, thoughtId)).thenReturn(6);
 
-        assertThat(this.thoughtService.likeThought(teamId, thoughtId)).isEqualTo(expectedThought);
-        InOrder inOrder = inOrder(thoughtRepository);
-        inOrder.verify(thoughtRepository).incrementHeartCount(thoughtId);
-        inOrder.verify(thoughtRepository).findByTeamIdAndId(teamId, thoughtId);
+        assertThat(this.thoughtService.likeThought(teamId, thoughtId)).isEqualTo(expectedHearts);
+        verify(thoughtRepository, never()).findByTeamIdAndId(any(), any());
         verify(websocketService).publishEvent(expectedEvent);
     }
 
     @Test
     void whenLikingThoughtWhichDoesntHaveAValidIDThrowsThoughtNotFoundException() {
         Long badId = -1L;
-        when(this.thoughtRepository.findByTeamIdAndId(any(), any())).thenThrow(new ThoughtNotFoundException(badId));
+        when(this.heartCounter.like(any(), any())).thenThrow(new ThoughtNotFoundException(badId));
         ThoughtNotFoundException actualException = assertThrows(ThoughtNotFoundException.class, () -> thoughtService.likeThought("the-team", badId));
         assertThat(actualException.getMessage()).contains(badId.toString());
-        verify(thoughtRepository, times(0)).save(any());
+        verify(websocketService, never()).publishEvent(any());
     }
 
     @Test
@@ -99,6 +104,22 @@ class ThoughtServiceTest {
         assertThat(actualThought).usingRecursiveComparison().isEqualTo(expectedThought);
     }
 
+    @Test
+    void discussThought_WithHeartsNotYetWrittenBehind_PublishesTheLiveHeartCount() {
+        var teamId = "the-team";
+        var thought = Thought.builder().id(1234L).teamId(teamId).hearts(3).build();
+        when(this.thoughtRepository.findByTeamIdAndId(teamId, 1234L)).thenReturn(Optional.of(thought));
+        when(this.thoughtRepository.save(thought)).thenReturn(thought);
+        when(this.heartCounter.withPendingHearts(thought)).thenAnswer(invocation -> thought.toBuilder().hearts(5).build());
+
+        var discussedThought = thoughtService.discussThought(teamId, 1234L, true);
+
+        assertThat(discussedThought.getHearts()).isEqualTo(5);
+        assertThat(thought.getHearts()).isEqualTo(3);
+        verify(activeBoardCache).thoughtSaved(discussedThought);
+        verify(websocketService).publishEvent(new WebsocketThoughtEvent(teamId, UPDATE, Thought.builder().id(1234L).teamId(teamId).hearts(5).discussed(true).build()));
+    }
+
     @Test
     public void updateColumn_WithNewColumn_ReturnsUpdatedThought() {
         var teamId = "the-team";
@@ -160,9 +181,19 @@ class ThoughtServiceTest {
         Thought thought = Thought.builder().teamId("the-team").discussed(true).build();
         List<Thought> listOfThoughts = new ArrayList<>();
         listOfThoughts.add(thought);
-        when(this.thoughtRepository.findAllByTeamIdAndBoardIdIsNull("the-team")).thenReturn(listOfThoughts);
-        thoughtService.fetchAllActiveThoughts("the-team");
-        verify(thoughtRepository,times(1)).findAllByTeamIdAndBoardIdIsNull("the-team");
+        when(this.activeBoardCache.getActiveThoughts("the-team")).thenReturn(listOfThoughts);
+        assertThat(thoughtService.fetchAllActiveThoughts("the-team")).isEqualTo(listOfThoughts);
+        verify(thoughtRepository, never()).findAllByTeamIdAndBoardIdIsNull("the-team");
+    }
+
+    @Test
+    void archiveActiveThoughts_MovesThemOntoTheBoardInOneUpdate() {
+        when(thoughtRepository.moveActiveThoughtsToBoard("the-team", 12L)).thenReturn(4);
+
+        assertThat(thoughtService.archiveActiveThoughts("the-team", 12L)).isEqualTo(4);
+        var inOrder = inOrder(heartCounter, thoughtRepository);
+        inOrder.verify(heartCounter).flush("the-team");
+        inOrder.verify(thoughtRepository).moveActiveThoughtsToBoard("the-team", 12L);
     }
 
     @Test
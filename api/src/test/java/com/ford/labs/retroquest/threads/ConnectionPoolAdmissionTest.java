@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ConnectionPoolAdmissionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void permitsFor_AHikariPool_ScalesTheMaximumPoolSize() {
+        try (var dataSource = new HikariDataSource()) {
+            dataSource.setMaximumPoolSize(7);
+
+            assertThat(ConnectionPoolAdmission.permitsFor(dataSource, 3)).isEqualTo(21);
+        }
+    }
+
+    @Test
+    void permitsFor_AnyOtherDataSource_RefusesToGuess() {
+        assertThatThrownBy(() -> ConnectionPoolAdmission.permitsFor(mock(DataSource.class), 3))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Hikari");
+    }
+
+    @Test
+    void tryAcquire_WhenEveryPermitIsTaken_TimesOutUntilOneIsReleased() {
+        var admission = new ConnectionPoolAdmission(1, 0, meterRegistry);
+
+        assertThat(admission.tryAcquire()).isTrue();
+        assertThat(admission.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("retroquest.connection-pool.admission.available").gauge().value()).isZero();
+
+        admission.release();
+
+        assertThat(admission.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.threads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(new ConnectionPoolAdmission(1, 0, meterRegistry), meterRegistry);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch requestStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseRequest = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseHeldRequest() {
+        releaseRequest.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void doFilter_WhenAPermitIsFree_PassesTheRequestOnAndReleasesThePermit() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(boardStateRequest(), response, new MockFilterChain());
+        filter.doFilter(boardStateRequest(), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("retroquest.requests.rejected").count()).isZero();
+    }
+
+    @Test
+    void doFilter_WhenEveryPermitIsTaken_Returns503() throws Exception {
+        holdTheOnlyPermit();
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(boardStateRequest(), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.counter("retroquest.requests.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void doFilter_ForWebsocketTraffic_IsNeverLimited() throws Exception {
+        holdTheOnlyPermit();
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/websocket/123/abc/xhr_streaming"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private void holdTheOnlyPermit() throws InterruptedException {
+        var blockingServlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                requestStarted.countDown();
+                try {
+                    releaseRequest.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        executor.submit(() -> {
+            filter.doFilter(boardStateRequest(), new MockHttpServletResponse(), new MockFilterChain(blockingServlet));
+            return null;
+        });
+        assertThat(requestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static MockHttpServletRequest boardStateRequest() {
+        return new MockHttpServletRequest("GET", "/api/team/team/board-state");
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.threads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void threadFactory_OnJava21OrNewer_CreatesNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        var thread = VirtualThreads.threadFactory("test-virtual-").newThread(() -> { });
+
+        assertThat(thread.getName()).isEqualTo("test-virtual-0");
+        assertThat((boolean) Thread.class.getMethod("isVirtual").invoke(thread)).isTrue();
+    }
+
+    @Test
+    void newThreadPerTaskExecutor_OnJava21OrNewer_RunsTasksOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        var executor = VirtualThreads.newThreadPerTaskExecutor("test-virtual-");
+
+        var ranOnVirtualThread = executor.submit(() -> (boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+        assertThat(ranOnVirtualThread.get(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+
+    @Test
+    void threadFactory_BeforeJava21_ExplainsWhatIsMissing() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.threadFactory("test-virtual-"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Java 21");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeLogTest {
+
+    private final ChangeLog changeLog = new ChangeLog(3, 2, new SimpleMeterRegistry());
+
+    @Test
+    void record_StampsEachEventWithAnIncreasingSequence() {
+        var first = thoughtEvent("team", 1L);
+        var second = thoughtEvent("other-team", 2L);
+
+        changeLog.record(first);
+        changeLog.record(second);
+
+        assertThat(second.getSequence()).isGreaterThan(first.getSequence());
+        assertThat(changeLog.getLatestSequence()).isEqualTo(second.getSequence());
+    }
+
+    @Test
+    void getEventsSince_ReturnsOnlyTheTeamsLaterEventsInOrder() {
+        var first = thoughtEvent("team", 1L);
+        changeLog.record(first);
+        changeLog.record(thoughtEvent("other-team", 2L));
+        var third = thoughtEvent("team", 3L);
+        var fourth = thoughtEvent("team", 4L);
+        changeLog.record(third);
+        changeLog.record(fourth);
+
+        assertThat(changeLog.getEventsSince("team", first.getSequence())).contains(List.of(third, fourth));
+        assertThat(changeLog.getEventsSince("team", fourth.getSequence())).contains(List.of());
+    }
+
+    @Test
+    void getEventsSince_WhenTheSequenceHasAgedOutOfTheBuffer_ReturnsEmpty() {
+        var first = thoughtEvent("team", 1L);
+        changeLog.record(first);
+        for (long id = 2; id <= 4; id++) {
+            changeLog.record(thoughtEvent("team", id));
+        }
+
+        assertThat(changeLog.getEventsSince("team", first.getSequence() - 1)).isEmpty();
+        assertThat(changeLog.getEventsSince("team", first.getSequence()).orElseThrow())
+            .extracting(WebsocketEvent::getEntityId)
+            .containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void getEventsSince_WithASequenceThatWasNeverIssued_ReturnsEmpty() {
+        changeLog.record(thoughtEvent("team", 1L));
+
+        assertThat(changeLog.getEventsSince("team", changeLog.getLatestSequence() + 1)).isEmpty();
+    }
+
+    @Test
+    void getEventsSince_ForATeamWhoseLogWasEvicted_ReturnsEmpty() {
+        var first = thoughtEvent("team-1", 1L);
+        changeLog.record(first);
+        changeLog.record(thoughtEvent("team-1", 2L));
+        changeLog.record(thoughtEvent("team-2", 3L));
+        changeLog.record(thoughtEvent("team-3", 4L));
+
+        assertThat(changeLog.size()).isEqualTo(2);
+        assertThat(changeLog.getEventsSince("team-1", first.getSequence())).isEmpty();
+    }
+
+    @Test
+    void getEventsSince_WithASequenceIssuedByAnotherInstance_ReturnsEmpty() {
+        var instanceA = new ChangeLog(3, 2, new SimpleMeterRegistry(), 1);
+        var instanceB = new ChangeLog(3, 2, new SimpleMeterRegistry(), 2);
+        var fromA = thoughtEvent("team", 1L);
+        instanceA.record(fromA);
+        instanceB.record(thoughtEvent("team", 2L));
+        instanceB.record(thoughtEvent("team", 3L));
+
+        assertThat(instanceA.getEventsSince("team", fromA.getSequence())).contains(List.of());
+        assertThat(instanceB.getEventsSince("team", fromA.getSequence())).isEmpty();
+        assertThat(instanceB.getEventsSince("team", 0)).isEmpty();
+    }
+
+    @Test
+    void getLatestSequence_StaysWithinTheIntegersBrowsersCanRepresent() {
+        var changeLog = new ChangeLog(3, 2, new SimpleMeterRegistry(), (1 << 13) - 1);
+        changeLog.record(thoughtEvent("team", 1L));
+
+        assertThat(changeLog.getLatestSequence()).isLessThan(1L << 53);
+    }
+
+    private static WebsocketThoughtEvent thoughtEvent(String teamId, Long thoughtId) {
+        return new WebsocketThoughtEvent(teamId, UPDATE, Thought.builder().id(thoughtId).teamId(teamId).build());
+    }
+}
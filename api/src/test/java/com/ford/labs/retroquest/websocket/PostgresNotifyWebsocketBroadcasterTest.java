@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.metrics.OperationTimings;
+import com.ford.labs.retroquest.metrics.TeamActivityTracker;
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostgresNotifyWebsocketBroadcasterTest {
+
+    private static final String CHANNEL = "retroquest_websocket_events";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpMessagingTemplate nodeAMessagingTemplate = mock(SimpMessagingTemplate.class);
+    private final SimpMessagingTemplate nodeBMessagingTemplate = mock(SimpMessagingTemplate.class);
+
+    private final PostgresNotifyWebsocketBroadcaster nodeA = new PostgresNotifyWebsocketBroadcaster(
+        mock(DataSource.class), jdbcTemplate, mock(PlatformTransactionManager.class), nodeAMessagingTemplate, CHANNEL, 60000
+    );
+    private final PostgresNotifyWebsocketBroadcaster nodeB = new PostgresNotifyWebsocketBroadcaster(
+        mock(DataSource.class), jdbcTemplate, mock(PlatformTransactionManager.class), nodeBMessagingTemplate, CHANNEL, 60000
+    );
+
+    @Test
+    void thoughtCreatedOnOneNode_ReachesSubscribersOnAnotherNode() {
+        var websocketService = new WebsocketService(
+            nodeA, new ObjectMapper(), new ChangeLog(10, 10, new SimpleMeterRegistry()),
+            new OperationTimings(5, new SimpleMeterRegistry()), new TeamActivityTracker(10, new SimpleMeterRegistry()),
+            new SimpleMeterRegistry(), false, 50
+        );
+        var thought = Thought.builder().id(1L).teamId("the-team").message("hello").columnId(2L).build();
+        var event = new WebsocketThoughtEvent("the-team", UPDATE, thought);
+
+        websocketService.publishEvent(event);
+
+        var notification = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class), eq(CHANNEL), notification.capture());
+        verify(nodeAMessagingTemplate, never()).send(any(String.class), any(Message.class));
+
+        nodeB.onNotification(notification.getValue());
+
+        assertThat(payloadSentTo(nodeBMessagingTemplate, "/topic/the-team/thoughts")).isEqualTo(
+            "{\"type\":\"put\",\"payload\":{\"id\":1,\"message\":\"hello\",\"hearts\":0,\"discussed\":false,\"teamId\":\"the-team\",\"boardId\":null,\"columnId\":2},\"sequence\":" + event.getSequence() + "}"
+        );
+    }
+
+    @Test
+    void oversizedEvent_IsStoredAndNotifiedByIdToEveryNode() {
+        var payload = "[" + "\"x\",".repeat(2000) + "\"x\"]";
+        when(jdbcTemplate.queryForObject(
+            "INSERT INTO websocket_event_payload (route, payload) VALUES (?, ?) RETURNING id", Long.class, "/topic/the-team/thoughts", payload
+        )).thenReturn(42L);
+        when(jdbcTemplate.queryForList("SELECT route, payload FROM websocket_event_payload WHERE id = ?", 42L))
+            .thenReturn(List.of(Map.of("route", "/topic/the-team/thoughts", "payload", payload)));
+
+        nodeA.broadcast("/topic/the-team/thoughts", payload.getBytes(StandardCharsets.UTF_8));
+
+        var notification = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class), eq(CHANNEL), notification.capture());
+        assertThat(notification.getValue()).isEqualTo("#42");
+        verify(nodeAMessagingTemplate, never()).send(any(String.class), any(Message.class));
+
+        nodeB.onNotification(notification.getValue());
+
+        assertThat(payloadSentTo(nodeBMessagingTemplate, "/topic/the-team/thoughts")).isEqualTo(payload);
+    }
+
+    @Test
+    void storedEventThatHasExpired_IsSkipped() {
+        when(jdbcTemplate.queryForList("SELECT route, payload FROM websocket_event_payload WHERE id = ?", 7L)).thenReturn(List.of());
+
+        nodeB.onNotification("#7");
+
+        verify(nodeBMessagingTemplate, never()).send(any(String.class), any(Message.class));
+    }
+
+    @Test
+    void channelNameMustBeAPlainIdentifier() {
+        assertThatThrownBy(() -> new PostgresNotifyWebsocketBroadcaster(
+            mock(DataSource.class), jdbcTemplate, mock(PlatformTransactionManager.class), nodeAMessagingTemplate,
+            "events; DROP TABLE thought", 60000
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String payloadSentTo(SimpMessagingTemplate messagingTemplate, String route) {
+        var message = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq(route), message.capture());
+        return new String((byte[]) message.getValue().getPayload(), StandardCharsets.UTF_8);
+    }
+}
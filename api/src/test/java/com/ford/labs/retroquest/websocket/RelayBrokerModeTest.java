@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ford.labs.retroquest.MainApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("api")
+class RelayBrokerModeTest {
+
+    private static StompBrokerStandIn broker;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        broker = StompBrokerStandIn.start();
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() throws Exception {
+        nodeA.close();
+        nodeB.close();
+        broker.close();
+    }
+
+    @Test
+    void thoughtCreatedOnOneNode_ReachesSubscribersOnAnotherNode() throws Exception {
+        var createdTeam = restTemplate.postForEntity(
+            url(nodeA, "/api/team"),
+            Map.of("name", "Relay Team", "password", "Passw0rd", "email", "relay@example.com"),
+            String.class
+        );
+        var teamId = createdTeam.getHeaders().getFirst(HttpHeaders.LOCATION);
+        var jwt = createdTeam.getBody();
+
+        var events = new LinkedBlockingQueue<JsonNode>();
+        var stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        var connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + jwt);
+        var session = stompClient.connect(url(nodeB, "/websocket"), new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() { })
+            .get(10, TimeUnit.SECONDS);
+        try {
+            var destination = "/topic/" + teamId + "/thoughts";
+            session.subscribe(destination, collectInto(events));
+            awaitSubscription(destination);
+
+            var columns = restTemplate.exchange(url(nodeA, "/api/team/" + teamId + "/columns"), HttpMethod.GET, authorized(jwt, null), JsonNode.class);
+            var columnId = columns.getBody().get(0).path("id").asLong();
+            restTemplate.exchange(
+                url(nodeA, "/api/team/" + teamId + "/thought"),
+                HttpMethod.POST,
+                authorized(jwt, Map.of("message", "hello from node A", "columnId", columnId)),
+                Void.class
+            );
+
+            var event = events.poll(10, TimeUnit.SECONDS);
+            assertThat(event).isNotNull();
+            assertThat(event.path("type").asText()).isEqualTo("put");
+            assertThat(event.path("payload").path("message").asText()).isEqualTo("hello from node A");
+        } finally {
+            session.disconnect();
+            stompClient.stop();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(MainApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "spring.datasource.url=jdbc:h2:mem:relay-broker;DB_CLOSE_DELAY=-1",
+                "retroquest.websocket.broker.mode=relay",
+                "retroquest.websocket.broker.relay.host=localhost",
+                "retroquest.websocket.broker.relay.port=" + broker.getPort()
+            )
+            .run();
+    }
+
+    private static void awaitSubscription(String destination) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (broker.subscriptionCount(destination) == 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(broker.subscriptionCount(destination)).isEqualTo(1);
+    }
+
+    private static StompFrameHandler collectInto(BlockingQueue<JsonNode> events) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                events.add((JsonNode) payload);
+            }
+        };
+    }
+
+    private static HttpEntity<Object> authorized(String jwt, Object body) {
+        var headers = new HttpHeaders();
+        headers.setBearerAuth(jwt);
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static String url(ConfigurableApplicationContext node, String path) {
+        return "http://localhost:" + node.getEnvironment().getProperty("local.server.port") + path;
+    }
+}
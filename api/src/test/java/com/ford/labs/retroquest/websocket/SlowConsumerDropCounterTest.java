@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SlowConsumerDropCounterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebSocketHandler delegate = mock(WebSocketHandler.class);
+    private final WebSocketHandler handler = new SlowConsumerDropCounter(meterRegistry).decorate(delegate);
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @Test
+    void afterConnectionClosed_WhenSessionExceededItsSendLimits_CountsADroppedSession() throws Exception {
+        handler.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertThat(meterRegistry.counter("retroquest.websocket.sessions.dropped").count()).isEqualTo(1.0);
+        verify(delegate).afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void afterConnectionClosed_WhenSessionClosedNormally_DoesNotCountADroppedSession() throws Exception {
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertThat(meterRegistry.counter("retroquest.websocket.sessions.dropped").count()).isZero();
+        verify(delegate).afterConnectionClosed(session, CloseStatus.NORMAL);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class StompBrokerStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private StompBrokerStandIn(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    static StompBrokerStandIn start() throws IOException {
+        var broker = new StompBrokerStandIn(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+        var acceptor = new Thread(broker::accept, "stomp-broker-stand-in");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return broker;
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    long subscriptionCount(String destination) {
+        return connections.stream()
+            .flatMap(connection -> connection.subscriptions.values().stream())
+            .filter(destination::equals)
+            .count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (var connection : connections) {
+            connection.socket.close();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                var socket = serverSocket.accept();
+                var reader = new Thread(() -> serve(socket), "stomp-broker-stand-in-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket; var in = new BufferedInputStream(socket.getInputStream())) {
+            var connection = new Connection(socket, socket.getOutputStream());
+            connections.add(connection);
+            try {
+                Frame frame;
+                while ((frame = readFrame(in)) != null) {
+                    switch (frame.command()) {
+                        case "CONNECT", "STOMP" -> connection.write("CONNECTED", Map.of("version", "1.2", "heart-beat", "0,0"), new byte[0]);
+                        case "SUBSCRIBE" -> connection.subscriptions.put(frame.headers().get("id"), frame.headers().get("destination"));
+                        case "UNSUBSCRIBE" -> connection.subscriptions.remove(frame.headers().get("id"));
+                        case "SEND" -> deliver(frame);
+                        default -> { }
+                    }
+                    var receipt = frame.headers().get("receipt");
+                    if (receipt != null) {
+                        connection.write("RECEIPT", Map.of("receipt-id", receipt), new byte[0]);
+                    }
+                    if ("DISCONNECT".equals(frame.command())) {
+                        return;
+                    }
+                }
+            } finally {
+                connections.remove(connection);
+            }
+        } catch (IOException e) {
+            // the client went away
+        }
+    }
+
+    private void deliver(Frame frame) throws IOException {
+        var destination = frame.headers().get("destination");
+        for (var connection : connections) {
+            for (var subscription : connection.subscriptions.entrySet()) {
+                if (subscription.getValue().equals(destination)) {
+                    var headers = new LinkedHashMap<String, String>();
+                    headers.put("subscription", subscription.getKey());
+                    headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+                    headers.put("destination", destination);
+                    if (frame.headers().containsKey("content-type")) {
+                        headers.put("content-type", frame.headers().get("content-type"));
+                    }
+                    connection.write("MESSAGE", headers, frame.body());
+                }
+            }
+        }
+    }
+
+    private static Frame readFrame(InputStream in) throws IOException {
+        String command;
+        do {
+            command = readLine(in);
+            if (command == null) {
+                return null;
+            }
+        } while (command.isEmpty());
+
+        var headers = new HashMap<String, String>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            var separator = line.indexOf(':');
+            headers.putIfAbsent(line.substring(0, separator), line.substring(separator + 1));
+        }
+
+        var contentLength = headers.get("content-length");
+        if (contentLength != null) {
+            var body = in.readNBytes(Integer.parseInt(contentLength));
+            in.read();
+            return new Frame(command, headers, body);
+        }
+        var body = new ByteArrayOutputStream();
+        int next;
+        while ((next = in.read()) > 0) {
+            body.write(next);
+        }
+        return new Frame(command, headers, body.toByteArray());
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        var line = new ByteArrayOutputStream();
+        int next;
+        while ((next = in.read()) != '\n') {
+            if (next < 0) {
+                return null;
+            }
+            if (next != '\r') {
+                line.write(next);
+            }
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+    }
+
+    private static class Connection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        Connection(Socket socket, OutputStream out) {
+            this.socket = socket;
+            this.out = out;
+        }
+
+        synchronized void write(String command, Map<String, String> headers, byte[] body) throws IOException {
+            var frame = new StringBuilder(command).append('\n');
+            headers.forEach((name, value) -> frame.append(name).append(':').append(value).append('\n'));
+            frame.append("content-length:").append(body.length).append("\n\n");
+            out.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(body);
+            out.write(0);
+            out.flush();
+        }
+    }
+}
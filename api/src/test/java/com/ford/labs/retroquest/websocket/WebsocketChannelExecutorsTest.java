@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.threads.ConnectionPoolAdmission;
+import com.ford.labs.retroquest.threads.VirtualThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+class WebsocketChannelExecutorsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebsocketChannelExecutors channelExecutors = new WebsocketChannelExecutors(
+        2, 4, 100,
+        1, 1, 1,
+        false,
+        meterRegistry,
+        new StaticListableBeanFactory().getBeanProvider(ConnectionPoolAdmission.class)
+    );
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void inboundExecutor_IsSizedFromSettings() {
+        executor = channelExecutors.inboundExecutor();
+        executor.initialize();
+
+        assertThat(executor.getCorePoolSize()).isEqualTo(2);
+        assertThat(executor.getMaxPoolSize()).isEqualTo(4);
+        assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity()).isEqualTo(100);
+    }
+
+    @Test
+    void outboundExecutor_ReportsActiveThreadsQueueDepthAndRejections() throws InterruptedException {
+        executor = channelExecutors.outboundExecutor();
+        executor.initialize();
+        var started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        started.await();
+        executor.execute(this::awaitRelease);
+
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(gauge("retroquest.websocket.channel.active.threads", "outbound")).isEqualTo(1.0);
+        assertThat(gauge("retroquest.websocket.channel.queue.depth", "outbound")).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("retroquest.websocket.channel.rejected", "channel", "outbound").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void queueDepth_BeforeTheExecutorStarts_IsZero() {
+        executor = channelExecutors.inboundExecutor();
+
+        assertThat(gauge("retroquest.websocket.channel.queue.depth", "inbound")).isZero();
+    }
+
+    @Test
+    void messageCounters_CountMessagesPerChannel() {
+        var message = new GenericMessage<>("payload");
+        var channel = mock(MessageChannel.class);
+
+        channelExecutors.inboundMessageCounter().preSend(message, channel);
+        channelExecutors.outboundMessageCounter().preSend(message, channel);
+        channelExecutors.outboundMessageCounter().preSend(message, channel);
+
+        assertThat(meterRegistry.counter("retroquest.websocket.channel.messages", "channel", "inbound").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("retroquest.websocket.channel.messages", "channel", "outbound").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void virtualExecutors_OnJava21OrNewer_RunOnVirtualThreadsWithinTheirBounds() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        executor = virtualChannelExecutors(new ConnectionPoolAdmission(10, 0, meterRegistry)).outboundExecutor();
+        executor.initialize();
+        var started = new CountDownLatch(1);
+
+        var ranOnVirtualThread = executor.submit(() -> {
+            started.countDown();
+            awaitRelease();
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+        });
+        started.await();
+        executor.execute(this::awaitRelease);
+
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(gauge("retroquest.websocket.channel.active.threads", "outbound")).isEqualTo(1.0);
+        assertThat(gauge("retroquest.websocket.channel.queue.depth", "outbound")).isEqualTo(1.0);
+        release.countDown();
+        assertThat(ranOnVirtualThread.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void virtualInboundExecutor_OnJava21OrNewer_WaitsForConnectionPoolAdmission() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        var admission = new ConnectionPoolAdmission(1, 0, meterRegistry);
+        executor = virtualChannelExecutors(admission).inboundExecutor();
+        executor.initialize();
+        assertThat(admission.tryAcquire()).isTrue();
+        var ran = new CountDownLatch(1);
+
+        executor.execute(ran::countDown);
+
+        assertThat(ran.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        admission.release();
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private WebsocketChannelExecutors virtualChannelExecutors(ConnectionPoolAdmission admission) {
+        var beanFactory = new StaticListableBeanFactory(Map.of("connectionPoolAdmission", admission));
+        return new WebsocketChannelExecutors(
+            2, 4, 100,
+            1, 1, 1,
+            true,
+            meterRegistry,
+            beanFactory.getBeanProvider(ConnectionPoolAdmission.class)
+        );
+    }
+
+    private double gauge(String name, String channel) {
+        return meterRegistry.get(name).tag("channel", channel).gauge().value();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
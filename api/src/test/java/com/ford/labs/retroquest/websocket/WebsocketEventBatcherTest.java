@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022 Ford Motor Company
+ * All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ford.labs.retroquest.websocket;
+
+import com.ford.labs.retroquest.thought.Thought;
+import com.ford.labs.retroquest.thought.ThoughtHearts;
+import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketEventType;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtEvent;
+import com.ford.labs.retroquest.websocket.events.WebsocketThoughtHeartEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.DELETE;
+import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.HEART;
+import static com.ford.labs.retroquest.websocket.events.WebsocketEventType.UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebsocketEventBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, List<List<WebsocketEvent>>> framesByRoute = new ConcurrentHashMap<>();
+    private final WebsocketEventBatcher batcher = new WebsocketEventBatcher(
+        60_000,
+        meterRegistry,
+        (route, events) -> framesByRoute.computeIfAbsent(route, r -> new CopyOnWriteArrayList<>()).add(events)
+    );
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void add_ManyHeartUpdatesWithinOneWindow_SendsOneFrameWithLatestStateOfEachThought() throws InterruptedException {
+        var participants = 40;
+        var heartsPerParticipant = 10;
+        var thoughtCount = 5;
+        var done = new CountDownLatch(participants);
+        for (int participant = 0; participant < participants; participant++) {
+            new Thread(() -> {
+                for (int heart = 1; heart <= heartsPerParticipant; heart++) {
+                    for (long thoughtId = 1; thoughtId <= thoughtCount; thoughtId++) {
+                        batcher.add(thoughtEvent("team-1", UPDATE, thoughtId, heart));
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+        batcher.flushAll();
+
+        var frames = framesByRoute.get("/topic/team-1/thoughts");
+        assertThat(frames).hasSize(1);
+        assertThat(frames.get(0)).hasSize(thoughtCount);
+        assertThat(meterRegistry.summary("retroquest.websocket.batch.size").totalAmount()).isEqualTo(thoughtCount);
+        assertThat(meterRegistry.timer("retroquest.websocket.batch.flush.latency").count()).isEqualTo(1);
+    }
+
+    @Test
+    void add_EventsForDifferentTeams_AreBatchedSeparately() {
+        batcher.add(thoughtEvent("team-1", UPDATE, 1L, 0));
+        batcher.add(thoughtEvent("team-2", UPDATE, 1L, 0));
+
+        batcher.flushAll();
+
+        assertThat(framesByRoute).containsOnlyKeys("/topic/team-1/thoughts", "/topic/team-2/thoughts");
+    }
+
+    @Test
+    void add_DeleteAfterUpdate_DropsPendingUpdateAndKeepsDelete() {
+        batcher.add(thoughtEvent("team-1", UPDATE, 1L, 3));
+        batcher.add(thoughtEvent("team-1", UPDATE, 2L, 0));
+        batcher.add(thoughtEvent("team-1", DELETE, 1L, 0));
+
+        batcher.flushAll();
+
+        var frame = framesByRoute.get("/topic/team-1/thoughts").get(0);
+        assertThat(frame).extracting(WebsocketEvent::getType).containsExactly(UPDATE, DELETE);
+        assertThat(frame).extracting(WebsocketEvent::getEntityId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void add_HeartsAfterAnUpdate_KeepsBothWithTheLatestHeartCountLast() {
+        batcher.add(thoughtEvent("team-1", UPDATE, 1L, 0));
+        batcher.add(new WebsocketThoughtHeartEvent("team-1", new ThoughtHearts(1L, 1)));
+        batcher.add(new WebsocketThoughtHeartEvent("team-1", new ThoughtHearts(1L, 2)));
+
+        batcher.flushAll();
+
+        var frame = framesByRoute.get("/topic/team-1/thoughts").get(0);
+        assertThat(frame).extracting(WebsocketEvent::getType).containsExactly(UPDATE, HEART);
+        assertThat(frame.get(1).getPayload()).isEqualTo(new ThoughtHearts(1L, 2));
+    }
+
+    @Test
+    void add_UpdateAfterHearts_ReplacesThePendingHearts() {
+        batcher.add(new WebsocketThoughtHeartEvent("team-1", new ThoughtHearts(1L, 1)));
+        batcher.add(thoughtEvent("team-1", UPDATE, 1L, 1));
+
+        batcher.flushAll();
+
+        var frame = framesByRoute.get("/topic/team-1/thoughts").get(0);
+        assertThat(frame).extracting(WebsocketEvent::getType).containsExactly(UPDATE);
+    }
+
+    @Test
+    void add_FlushesOnceTheWindowElapses() throws InterruptedException {
+        var flushed = new CountDownLatch(1);
+        var shortWindowBatcher = new WebsocketEventBatcher(10, meterRegistry, (route, events) -> flushed.countDown());
+
+        shortWindowBatcher.add(thoughtEvent("team-1", UPDATE, 1L, 0));
+
+        assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+        shortWindowBatcher.shutdown();
+    }
+
+    private static WebsocketThoughtEvent thoughtEvent(String teamId, WebsocketEventType type, long thoughtId, int hearts) {
+        return new WebsocketThoughtEvent(teamId, type, Thought.builder().id(thoughtId).hearts(hearts).build());
+    }
+}
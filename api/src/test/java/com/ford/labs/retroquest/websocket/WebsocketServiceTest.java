@@ -18,13 +18,33 @@
 package com.ford.labs.retroquest.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ford.labs.retroquest.metrics.OperationTimings;
+import com.ford.labs.retroquest.metrics.TeamActivityTracker;
+import com.ford.labs.retroquest.team.Team;
 import com.ford.labs.retroquest.websocket.events.WebsocketEvent;
 import com.ford.labs.retroquest.websocket.events.WebsocketEventType;
+import com.ford.labs.retroquest.websocket.events.WebsocketTeamEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeType;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class WebsocketServiceTest {
@@ -32,11 +52,73 @@ class WebsocketServiceTest {
     private final SimpMessagingTemplate mockMessageTemplate = mock(SimpMessagingTemplate.class);
     private final ObjectMapper mapper = new ObjectMapper();
 
+    @AfterEach
+    void clearTransactionSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     public void publishEvent_WithWebsocketEvent_ShouldConvertAndSendToCorrectRoute() {
-        var service = new WebsocketService(mockMessageTemplate, mapper);
+        var service = newService();
         service.publishEvent(new FakeEvent(WebsocketEventType.DELETE, "Thing to Delete"));
-        verify(mockMessageTemplate).convertAndSend(eq("send/to/route"), eq("{\"type\":\"delete\",\"payload\":\"Thing to Delete\"}"));
+        var message = ArgumentCaptor.forClass(Message.class);
+        verify(mockMessageTemplate).send(eq("send/to/route"), message.capture());
+        assertThat(new String((byte[]) message.getValue().getPayload(), StandardCharsets.UTF_8))
+            .isEqualTo("{\"type\":\"delete\",\"payload\":\"Thing to Delete\"}");
+        assertThat(message.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE))
+            .isEqualTo(new MimeType("application", "json", StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void publishEvent_WithTwoDifferentEvents_SerializesEachPayloadSeparately() {
+        var service = newService();
+        service.publishEvent(new FakeEvent(WebsocketEventType.UPDATE, "first"));
+        service.publishEvent(new FakeEvent(WebsocketEventType.UPDATE, "second"));
+
+        var message = ArgumentCaptor.forClass(Message.class);
+        verify(mockMessageTemplate, times(2)).send(eq("send/to/route"), message.capture());
+        assertThat(message.getAllValues())
+            .extracting(sent -> new String((byte[]) sent.getPayload(), StandardCharsets.UTF_8))
+            .containsExactly("{\"type\":\"put\",\"payload\":\"first\"}", "{\"type\":\"put\",\"payload\":\"second\"}");
+    }
+
+    @Test
+    public void publishEvent_InsideATransaction_SendsTheSequencedEventOnlyAfterCommit() {
+        var changeLog = new ChangeLog(10, 10, new SimpleMeterRegistry());
+        var teamActivityTracker = new TeamActivityTracker(10, new SimpleMeterRegistry());
+        var service = new WebsocketService(
+            new LocalWebsocketBroadcaster(mockMessageTemplate), mapper, changeLog,
+            new OperationTimings(5, new SimpleMeterRegistry()), teamActivityTracker, new SimpleMeterRegistry(), false, 50
+        );
+        var event = new WebsocketTeamEvent("team", WebsocketEventType.UPDATE, new Team("team", "Team", "password"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.publishEvent(event);
+
+        verify(mockMessageTemplate, never()).send(any(String.class), any(Message.class));
+        assertThat(changeLog.getEventsSince("team", changeLog.getLatestSequence())).contains(List.of());
+        assertThat(teamActivityTracker.getTeamActivity(10).mutationsPerMinute()).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        var message = ArgumentCaptor.forClass(Message.class);
+        verify(mockMessageTemplate).send(eq("/topic/team/team"), message.capture());
+        assertThat(new String((byte[]) message.getValue().getPayload(), StandardCharsets.UTF_8))
+            .endsWith(",\"sequence\":" + event.getSequence() + "}");
+        assertThat(changeLog.getEventsSince("team", event.getSequence() - 1)).contains(List.of(event));
+        assertThat(teamActivityTracker.getTeamActivity(10).mutationsPerMinute())
+            .extracting(TeamActivityTracker.TeamCount::teamId, TeamActivityTracker.TeamCount::count)
+            .containsExactly(tuple("team", 1L));
+    }
+
+    private WebsocketService newService() {
+        return new WebsocketService(
+            new LocalWebsocketBroadcaster(mockMessageTemplate), mapper, new ChangeLog(10, 10, new SimpleMeterRegistry()),
+            new OperationTimings(5, new SimpleMeterRegistry()), new TeamActivityTracker(10, new SimpleMeterRegistry()),
+            new SimpleMeterRegistry(), false, 50
+        );
     }
 
     private static class FakeEvent extends WebsocketEvent {
@@ -61,7 +61,7 @@ function ArchivedBoardTile(props: Readonly<Props>): React.ReactElement {
 					className="archived-board-tile-checkbox"
 					aria-label="Select Board"
 				/>
-				<span className="thought-count">{board.thoughts.length}</span>
+				<span className="thought-count">{board.thoughtCount}</span>
 			</div>
 			<span className="date-label">
 				{moment(board.dateCreated).format('MMMM Do, yyyy')}
@@ -16,8 +16,10 @@
  */
 
 import React, { ReactElement, useEffect } from 'react';
-import { screen } from '@testing-library/react';
+import { screen, waitFor } from '@testing-library/react';
 import { useRecoilValue } from 'recoil';
+import ActionItemService from 'Services/Api/ActionItemService';
+import ThoughtService from 'Services/Api/ThoughtService';
 import { getMockActionItem } from 'Services/Api/__mocks__/ActionItemService';
 import { getMockThought } from 'Services/Api/__mocks__/ThoughtService';
 import { ActionItemState } from 'State/ActionItemState';
@@ -31,13 +33,18 @@ import renderWithRecoilRoot from 'Utils/renderWithRecoilRoot';
 
 import useWebSocketMessageHandler from './useWebSocketMessageHandler';
 
+jest.mock('Services/Api/ThoughtService');
+jest.mock('Services/Api/ActionItemService');
+
 type WebsocketMessageBody = { type: string; payload: unknown };
 
 interface TestComponentProps {
-	websocketMessageBody: WebsocketMessageBody;
+	websocketMessageBody: WebsocketMessageBody | WebsocketMessageBody[];
 }
 
-const formatWebsocketMessage = (body: WebsocketMessageBody) => ({
+const formatWebsocketMessage = (
+	body: WebsocketMessageBody | WebsocketMessageBody[]
+) => ({
 	body: JSON.stringify(body),
 });
 
@@ -116,6 +123,79 @@ describe('useWebsocketMessageHandler Hook', () => {
 				screen.getByText(JSON.stringify([thoughtNotToDelete]))
 			).toBeDefined();
 		});
+
+		it('should apply every event in a batched frame', async () => {
+			const thoughtToDelete = getMockThought(1, false);
+			const newThought = getMockThought(2, false);
+
+			renderWithRecoilRoot(
+				<ThoughtsTestComponent
+					websocketMessageBody={[
+						{ type: 'delete', payload: thoughtToDelete },
+						{ type: 'put', payload: newThought },
+					]}
+				/>,
+				({ set }) => {
+					set(ThoughtsState, [thoughtToDelete]);
+				}
+			);
+
+			expect(screen.getByText(JSON.stringify([newThought]))).toBeDefined();
+		});
+
+		it('should only update the heart count for a heart event', async () => {
+			const likedThought = getMockThought(1, false);
+			const otherThought = getMockThought(2, false);
+
+			renderWithRecoilRoot(
+				<ThoughtsTestComponent
+					websocketMessageBody={{
+						type: 'heart',
+						payload: { id: likedThought.id, hearts: 42 },
+					}}
+				/>,
+				({ set }) => {
+					set(ThoughtsState, [likedThought, otherThought]);
+				}
+			);
+
+			expect(
+				screen.getByText(
+					JSON.stringify([{ ...likedThought, hearts: 42 }, otherThought])
+				)
+			).toBeDefined();
+		});
+
+		it('should reload thoughts and action items after an import event', async () => {
+			const importedThought = getMockThought(1, false);
+			ThoughtService.getThoughts = jest
+				.fn()
+				.mockResolvedValue([importedThought]);
+
+			renderWithRecoilRoot(
+				<ThoughtsTestComponent
+					websocketMessageBody={{
+						type: 'import',
+						payload: {
+							teamId: 'team-id',
+							thoughtCount: 1,
+							actionItemCount: 0,
+						},
+					}}
+				/>,
+				({ set }) => {
+					set(ThoughtsState, []);
+				}
+			);
+
+			await waitFor(() =>
+				expect(
+					screen.getByText(JSON.stringify([importedThought]))
+				).toBeDefined()
+			);
+			expect(ThoughtService.getThoughts).toHaveBeenCalledWith('team-id');
+			expect(ActionItemService.get).toHaveBeenCalledWith('team-id', false);
+		});
 	});
 
 	describe('actionItemMessageHandler', () => {
@@ -18,6 +18,8 @@
 import { useCallback } from 'react';
 import { IMessage } from '@stomp/stompjs';
 import { useSetRecoilState } from 'recoil';
+import ActionItemService from 'Services/Api/ActionItemService';
+import ThoughtService from 'Services/Api/ThoughtService';
 import { ActionItemState } from 'State/ActionItemState';
 import { ColumnsState } from 'State/ColumnsState';
 import { TeamState } from 'State/TeamState';
@@ -30,6 +32,19 @@ import Thought from 'Types/Thought';
 enum MessageType {
 	PUT = 'put',
 	DELETE = 'delete',
+	HEART = 'heart',
+	IMPORT = 'import',
+}
+
+interface ThoughtHearts {
+	id: number;
+	hearts: number;
+}
+
+interface ImportResult {
+	teamId: string;
+	thoughtCount: number;
+	actionItemCount: number;
 }
 
 interface IncomingMessage {
@@ -37,6 +52,13 @@ interface IncomingMessage {
 	payload: unknown;
 }
 
+const parseIncomingMessages = (body?: string): IncomingMessage[] => {
+	const parsedBody: IncomingMessage | IncomingMessage[] = JSON.parse(
+		body ?? ''
+	);
+	return Array.isArray(parsedBody) ? parsedBody : [parsedBody];
+};
+
 export type WebsocketMessageHandlerType = ({ body }: Partial<IMessage>) => void;
 
 export interface UseWebsocketHandlerResponse {
@@ -76,19 +98,20 @@ function useWebSocketMessageHandler(): UseWebsocketHandlerResponse {
 
 	const columnMessageHandler = useCallback(
 		({ body }: Partial<IMessage>) => {
-			const incomingMessage: IncomingMessage = JSON.parse(body ?? '');
-			const newColumn = incomingMessage.payload as Column;
-			setColumns((currentState) => {
-				const updateItem =
-					currentState.findIndex((i) => i.id === newColumn.id) > -1;
-				if (updateItem)
-					return currentState.map((column) =>
-						column.id === newColumn.id
-							? { ...column, title: newColumn.title }
-							: column
-					);
-
-				return [...currentState];
+			parseIncomingMessages(body).forEach((incomingMessage) => {
+				const newColumn = incomingMessage.payload as Column;
+				setColumns((currentState) => {
+					const updateItem =
+						currentState.findIndex((i) => i.id === newColumn.id) > -1;
+					if (updateItem)
+						return currentState.map((column) =>
+							column.id === newColumn.id
+								? { ...column, title: newColumn.title }
+								: column
+						);
+
+					return [...currentState];
+				});
 			});
 		},
 		[setColumns]
@@ -96,20 +119,39 @@ function useWebSocketMessageHandler(): UseWebsocketHandlerResponse {
 
 	const thoughtMessageHandler = useCallback(
 		({ body }: Partial<IMessage>) => {
-			const incomingMessage: IncomingMessage = JSON.parse(body ?? '');
-			const thought = incomingMessage.payload as Thought;
+			parseIncomingMessages(body).forEach((incomingMessage) => {
+				if (incomingMessage.type === MessageType.HEART) {
+					const { id, hearts } = incomingMessage.payload as ThoughtHearts;
+					setThoughts((currentState) =>
+						currentState.map((thought) =>
+							thought.id === id ? { ...thought, hearts } : thought
+						)
+					);
+					return;
+				}
+
+				if (incomingMessage.type === MessageType.IMPORT) {
+					const { teamId } = incomingMessage.payload as ImportResult;
+					ThoughtService.getThoughts(teamId).then(setThoughts);
+					ActionItemService.get(teamId, false).then(setActionItems);
+					return;
+				}
 
-			recoilStateUpdater(setThoughts, thought, incomingMessage.type);
+				const thought = incomingMessage.payload as Thought;
+
+				recoilStateUpdater(setThoughts, thought, incomingMessage.type);
+			});
 		},
-		[setThoughts]
+		[setThoughts, setActionItems]
 	);
 
 	const actionItemMessageHandler = useCallback(
 		({ body }: Partial<IMessage>) => {
-			const incomingMessage: IncomingMessage = JSON.parse(body ?? '');
-			const action = incomingMessage.payload as Action;
+			parseIncomingMessages(body).forEach((incomingMessage) => {
+				const action = incomingMessage.payload as Action;
 
-			recoilStateUpdater(setActionItems, action, incomingMessage.type);
+				recoilStateUpdater(setActionItems, action, incomingMessage.type);
+			});
 		},
 		[setActionItems]
 	);
@@ -123,8 +165,9 @@ function useWebSocketMessageHandler(): UseWebsocketHandlerResponse {
 
 	const teamMessageHandler = useCallback(
 		({ body }: Partial<IMessage>) => {
-			const incomingMessage: IncomingMessage = JSON.parse(body ?? '');
-			const updatedTeam = incomingMessage.payload as Team;
+			const incomingMessages = parseIncomingMessages(body);
+			const updatedTeam = incomingMessages[incomingMessages.length - 1]
+				.payload as Team;
 
 			setTeam({ ...updatedTeam });
 		},
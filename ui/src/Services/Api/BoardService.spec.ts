@@ -32,7 +32,9 @@ describe('Board Service', () => {
 		id: boardId,
 		teamId,
 		dateCreated: new Date(),
-		thoughts: [],
+		thoughtCount: 0,
+		topThought: null,
+		topThoughtHearts: null,
 	};
 
 	beforeAll(() => {
@@ -31,22 +31,18 @@ export const mockBoard1: Board = {
 	id: 1,
 	dateCreated: new Date(1982, 9, 1),
 	teamId: 'teamId',
-	thoughts: [
-		{
-			id: 100,
-			message: 'I am a message',
-			hearts: 0,
-			discussed: false,
-			columnId: 1,
-		},
-	],
+	thoughtCount: 1,
+	topThought: 'I am a message',
+	topThoughtHearts: 0,
 };
 
 export const mockBoard2: Board = {
 	id: 2,
 	dateCreated: new Date(1998, 3, 22),
 	teamId: 'teamId',
-	thoughts: [],
+	thoughtCount: 0,
+	topThought: null,
+	topThoughtHearts: null,
 };
 
 export const mockBoards: Board[] = [mockBoard1, mockBoard2];
@@ -15,13 +15,13 @@
  * limitations under the License.
  */
 
-import Thought from './Thought';
-
 interface Board {
 	id: number;
 	teamId: string;
 	dateCreated: Date;
-	thoughts: Thought[];
+	thoughtCount: number;
+	topThought: string | null;
+	topThoughtHearts: number | null;
 }
 
 export default Board;